@@ -0,0 +1,65 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Builds the in-memory fixtures shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static List<Book> books(int size) {
+        List<Book> books = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Book book = new Book((long) i + 1, "Title " + i, "Author " + (i % 100));
+            book.setPages(100 + i % 900);
+            book.setPrice(5.0 + i % 50);
+            book.setPublicationYear(1900 + i % 125);
+            book.setAvailable(i % 3 != 0);
+            book.setInsertDate(new Date());
+            books.add(book);
+        }
+
+        return books;
+    }
+
+    public static List<Patron> patrons(int size) {
+        List<Patron> patrons = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            Patron patron = new Patron();
+            patron.setId((long) i + 1);
+            patron.setName("Patron " + i);
+            patron.setPhoneNumber(String.format("+9639%08d", i));
+            patron.setAddress("Street " + i);
+            patron.setInsertDate(new Date());
+            patrons.add(patron);
+        }
+
+        return patrons;
+    }
+
+    public static List<BorrowingRecord> borrowingRecords(List<Book> books, List<Patron> patrons) {
+        List<BorrowingRecord> records = new ArrayList<>(books.size());
+
+        for (int i = 0; i < books.size(); i++) {
+            BorrowingRecord record = new BorrowingRecord();
+            record.setId((long) i + 1);
+            record.setBookId(books.get(i));
+            record.setPatronId(patrons.get(i % patrons.size()));
+            record.setBorrowDate(new Date());
+            records.add(record);
+        }
+
+        return records;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.MaidsTestApplication;
+import com.example.MaidsTest.Template.API.Request.Book.CBookFilterRequest;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Available books from 2010-2020 under 30, cheapest first, first page of 20", answered by the filtered query
+ * of {@link BookService#findBooks} and by fetching every book and filtering in memory (what clients did before).
+ * <p>
+ * Runs the whole application on the in-memory H2 database of the test configuration, so the numbers compare the
+ * two approaches, not a production MySQL server (which adds network transfer to the fetch-all side).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookFilterBenchmark {
+
+    private static final int IMPORT_CHUNK = 50_000;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    private CBookFilterRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MaidsTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        bookService = context.getBean(BookService.class);
+
+        List<Book> books = BenchmarkData.books(size);
+        books.forEach(book -> book.setId(null));
+        for (int from = 0; from < books.size(); from += IMPORT_CHUNK) {
+            bookService.importBooks(books.subList(from, Math.min(from + IMPORT_CHUNK, books.size())));
+        }
+
+        request = new CBookFilterRequest();
+        request.setAvailable(true);
+        request.setYearFrom(2010);
+        request.setYearTo(2020);
+        request.setMaxPrice(30.0);
+        request.setSort("price");
+        request.setSize(20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CBookDTO> filterInDatabase() {
+        Slice<CBookDTO> books = bookService.findBooks(request);
+        return books.getContent();
+    }
+
+    @Benchmark
+    public List<Book> fetchAllThenFilter() {
+        return bookService.getAllBooks().stream()
+                .filter(book -> book.getAvailable() == null || book.getAvailable())
+                .filter(book -> book.getPublicationYear() != null
+                        && book.getPublicationYear() >= 2010 && book.getPublicationYear() <= 2020)
+                .filter(book -> book.getPrice() != null && book.getPrice() <= 30.0)
+                .sorted(Comparator.comparing(Book::getPrice).thenComparing(Book::getId))
+                .limit(20)
+                .toList();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.MaidsTest.Benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load test against a running instance of the application.
+ * <p>
+ * Each client sends a request, waits for the response and immediately sends the next one, cycling through the
+ * given URLs, so the offered load is bounded by the number of clients. Requests are sent asynchronously through a
+ * single {@link HttpClient}, which keeps thousands of clients cheap on the load generator side. Latencies of the
+ * warmup period are discarded; the report gives throughput, p50, p99 and max latency of the measured period.
+ * </p>
+ * <p>
+ * Used to compare platform threads with virtual threads ({@code spring.threads.virtual.enabled}) on the server:
+ * run the same command against both modes.
+ * </p>
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.main=com.example.MaidsTest.Benchmark.LoadTest \
+ *     -Djmh.args="--clients 1000 --duration 60 --url http://localhost:8080/MaidsTest/api/books?size=20"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final List<URI> uris;
+
+    private final long measureFromNanos;
+
+    private final long stopAtNanos;
+
+    private LoadTest(List<URI> uris, int warmupSeconds, int durationSeconds) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.uris = uris;
+        long now = System.nanoTime();
+        this.measureFromNanos = now + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.stopAtNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+
+    public static void main(String[] args) {
+        List<URI> uris = new ArrayList<>();
+        int clients = 1000;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--url" -> uris.add(URI.create(value));
+                case "--clients" -> clients = Integer.parseInt(value);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(value);
+                case "--duration" -> durationSeconds = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]
+                        + ", expected --url <url> [--url <url> ...] [--clients n] [--warmup s] [--duration s]");
+            }
+            i++;
+        }
+        if (uris.isEmpty()) {
+            uris.add(URI.create("http://localhost:8080/MaidsTest/api/books?size=20"));
+        }
+
+        System.out.println(new LoadTest(uris, warmupSeconds, durationSeconds).run(clients).format(clients, durationSeconds));
+    }
+
+    private Report run(int clients) {
+        List<Client> running = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(i);
+            client.next();
+            running.add(client);
+        }
+
+        Report report = new Report();
+        for (Client client : running) {
+            report.add(client.done.join());
+        }
+        return report;
+    }
+
+    /** One closed-loop client; its callbacks never overlap, so it records without synchronization. */
+    private final class Client {
+
+        private final CompletableFuture<Client> done = new CompletableFuture<>();
+
+        private int position;
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private int errors;
+
+        private Client(int offset) {
+            this.position = offset;
+        }
+
+        private void next() {
+            long start = System.nanoTime();
+            if (start >= stopAtNanos) {
+                done.complete(this);
+                return;
+            }
+
+            HttpRequest request = HttpRequest.newBuilder(uris.get(position++ % uris.size()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        record(start, System.nanoTime(), error == null && response.statusCode() < 400);
+                        next();
+                    });
+        }
+
+        private void record(long start, long end, boolean success) {
+            if (start < measureFromNanos || end > stopAtNanos) return;
+
+            if (!success) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = end - start;
+        }
+    }
+
+    private static final class Report {
+
+        private final List<long[]> latencies = new ArrayList<>();
+
+        private long requests;
+
+        private long errors;
+
+        private void add(Client client) {
+            latencies.add(Arrays.copyOf(client.latencies, client.count));
+            requests += client.count;
+            errors += client.errors;
+        }
+
+        private String format(int clients, int durationSeconds) {
+            long[] all = new long[(int) requests];
+            int offset = 0;
+            for (long[] part : latencies) {
+                System.arraycopy(part, 0, all, offset, part.length);
+                offset += part.length;
+            }
+            Arrays.sort(all);
+
+            return String.format("clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s "
+                            + "p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                    clients, durationSeconds, requests, errors, (double) requests / durationSeconds,
+                    millis(percentile(all, 0.50)), millis(percentile(all, 0.99)),
+                    millis(all.length == 0 ? 0 : all[all.length - 1]));
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) return 0;
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
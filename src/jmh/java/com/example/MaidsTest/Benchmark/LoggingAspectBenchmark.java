@@ -0,0 +1,82 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.Base.Config.LoggableProperties;
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import com.example.MaidsTest.Template.Aspect.LoggableMetrics;
+import com.example.MaidsTest.Template.Aspect.LoggingAspect;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the {@link LoggingAspect} around a {@code @Loggable} method returning a list of books,
+ * compared with calling the same method without the advice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAspectBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    private CatalogService plain;
+
+    private CatalogService advised;
+
+    @Setup
+    public void setUp() {
+        CatalogService target = new CatalogService(BenchmarkData.books(size));
+
+        LoggableProperties properties = new LoggableProperties();
+
+        LoggableMetrics loggableMetrics = new LoggableMetrics();
+        ReflectionTestUtils.setField(loggableMetrics, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loggableMetrics, "properties", properties);
+
+        LoggingAspect loggingAspect = new LoggingAspect();
+        ReflectionTestUtils.setField(loggingAspect, "loggableMetrics", loggableMetrics);
+        ReflectionTestUtils.setField(loggingAspect, "properties", properties);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(loggingAspect);
+
+        plain = target;
+        advised = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public List<Book> withoutAdvice() {
+        return plain.getAllBooks();
+    }
+
+    @Benchmark
+    public List<Book> withAdvice() {
+        return advised.getAllBooks();
+    }
+
+    /**
+     * Stand-in for a service whose {@code @Loggable} method returns a large result.
+     */
+    public static class CatalogService {
+
+        private final List<Book> books;
+
+        public CatalogService(List<Book> books) {
+            this.books = books;
+        }
+
+        @Loggable
+        public List<Book> getAllBooks() {
+            return books;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBookMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBorrowingRecordMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPatronMapper;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity to DTO mappers used by the list and borrowing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Book> books;
+
+    private List<Patron> patrons;
+
+    private List<BorrowingRecord> borrowingRecords;
+
+    @Setup
+    public void setUp() {
+        books = BenchmarkData.books(size);
+        patrons = BenchmarkData.patrons(size);
+        borrowingRecords = BenchmarkData.borrowingRecords(books, patrons);
+    }
+
+    @Benchmark
+    public List<CBookDTO> parseBookList() {
+        return CBookMapper.parse(books);
+    }
+
+    @Benchmark
+    public List<CPatronDTO> parsePatronList() {
+        return CPatronMapper.parse(patrons);
+    }
+
+    @Benchmark
+    public void parseBorrowingRecords(Blackhole blackhole) {
+        for (BorrowingRecord record : borrowingRecords) {
+            blackhole.consume(CBorrowingRecordMapper.parse(record));
+        }
+    }
+}
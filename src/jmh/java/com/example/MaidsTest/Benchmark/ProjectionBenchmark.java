@@ -0,0 +1,70 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.MaidsTestApplication;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBookMapper;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/books} without paging, answered by loading every book as an entity and copying it with
+ * {@link CBookMapper} (the previous read path) and by the constructor-expression projection of
+ * {@link BookService#getAllBookDTOs()}.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation per call as well as the latency. Like
+ * {@link BookFilterBenchmark}, it runs the whole application on the in-memory H2 database of the test configuration.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectionBenchmark {
+
+    private static final int IMPORT_CHUNK = 50_000;
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MaidsTestApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+        bookService = context.getBean(BookService.class);
+
+        List<Book> books = BenchmarkData.books(size);
+        books.forEach(book -> book.setId(null));
+        for (int from = 0; from < books.size(); from += IMPORT_CHUNK) {
+            bookService.importBooks(books.subList(from, Math.min(from + IMPORT_CHUNK, books.size())));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CBookDTO> entitiesThenMapper() {
+        return CBookMapper.parse(bookService.getAllBooks());
+    }
+
+    @Benchmark
+    public List<CBookDTO> projection() {
+        return bookService.getAllBookDTOs();
+    }
+}
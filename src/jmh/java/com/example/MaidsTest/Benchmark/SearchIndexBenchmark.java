@@ -0,0 +1,99 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.Template.Service.Search.BookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the catalog search index on a synthetic catalog.
+ * <p>
+ * Titles are three to six words and authors two words, drawn with a skewed distribution from a vocabulary of
+ * generated words, so some terms are very common (long posting lists) and most are rare.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "lo", "mi", "ra", "ten", "vor", "sa", "qui", "del", "an", "or", "be", "ul", "ny", "sha", "tor"
+    };
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private BookSearchIndex index;
+
+    private String[] vocabulary;
+
+    private String commonWord;
+
+    private String rareWord;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, 2 + random.nextInt(3));
+        }
+
+        index = new BookSearchIndex();
+        for (int i = 1; i <= size; i++) {
+            index.put(i, words(random, 3 + random.nextInt(4)), words(random, 2));
+        }
+
+        commonWord = vocabulary[0];
+        rareWord = vocabulary[vocabulary.length / 2];
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> exactRareTerm() {
+        return index.search(rareWord, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> exactCommonTerm() {
+        return index.search(commonWord, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> twoTerms() {
+        return index.search(commonWord + " " + rareWord, 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> prefix() {
+        return index.search(rareWord.substring(0, 4), 20);
+    }
+
+    @Benchmark
+    public List<BookSearchIndex.Hit> typo() {
+        return index.search(rareWord.substring(1), 20);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // Skewed towards the start of the vocabulary
+            double skew = random.nextDouble();
+            text.append(i == 0 ? "" : " ").append(vocabulary[(int) (skew * skew * skew * vocabulary.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.MaidsTest.Benchmark;
+
+import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Template.API.Response.Book.CGetBookResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBookMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing the {@code GET /api/books} response body with the same Jackson defaults as Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private CGetBookResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        response = new CGetBookResponse();
+        response.setBookList(CBookMapper.parse(BenchmarkData.books(size)));
+        response.setStatus(HttpStatus.OK);
+        response.setSuccessMessage(ESuccess.GET_ALL_BOOK_SUCCESSFULLY.toString());
+    }
+
+    @Benchmark
+    public byte[] serializeBookResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.MaidsTest.Base.API.Request;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Reads CSV request bodies into objects.
+ * <p>
+ * The first line is a header naming the properties of the target class (e.g. {@code title,author,pages});
+ * unknown columns are ignored.
+ * </p>
+ */
+public class CCsvReader
+{
+	private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.build();
+
+	/**
+	 * @param inputStream the CSV content
+	 * @param type        the class of a row
+	 * @return one object per data line
+	 * @throws IllegalArgumentException if the content is not valid CSV for the given type
+	 */
+	public static <T> List<T> read(InputStream inputStream, Class<T> type)
+	{
+		ObjectReader reader = CSV_MAPPER.readerFor(type).with(CsvSchema.emptySchema().withHeader());
+
+		try
+		{
+			return reader.<T>readValues(inputStream).readAll();
+		}
+		catch (IOException ex)
+		{
+			throw new IllegalArgumentException("Invalid CSV content: " + ex.getMessage(), ex);
+		}
+	}
+}
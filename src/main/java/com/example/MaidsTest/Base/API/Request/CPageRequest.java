@@ -0,0 +1,63 @@
+package com.example.MaidsTest.Base.API.Request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Paging parameters shared by the list endpoints.
+ * <p>
+ * Two modes are supported, both ordered by id:
+ * - offset paging with {@code page} and {@code size}
+ * - keyset (cursor) paging with {@code after} (the last id of the previous page) and {@code size}
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CPageRequest extends CAPIRequest
+{
+	public static final int DEFAULT_SIZE = 20;
+
+	public static final int MAX_SIZE = 500;
+
+	private Integer page;
+
+	private Integer size;
+
+	private Long after;
+
+	/**
+	 * @return true if the client asked for any kind of paging.
+	 */
+	public boolean isPaged()
+	{
+		return page != null || size != null || after != null;
+	}
+
+	/**
+	 * @return true if the client asked for keyset paging.
+	 */
+	public boolean isKeyset()
+	{
+		return after != null;
+	}
+
+	/**
+	 * Builds the {@link Pageable} pushed down to the repository. The size is capped at {@link #MAX_SIZE},
+	 * and keyset requests always read the first page after the cursor.
+	 *
+	 * @return the page request ordered by id
+	 * @throws IllegalArgumentException if page is negative or size is lower than one
+	 */
+	public Pageable toPageable()
+	{
+		int resolvedSize = size == null ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+		int resolvedPage = (page == null || isKeyset()) ? 0 : page;
+
+		return PageRequest.of(resolvedPage, resolvedSize, Sort.by("id"));
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.MaidsTest.Base.API.Response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes values as newline delimited JSON (one JSON document per line).
+ * <p>
+ * Used by the streaming export endpoints: every value is serialized and written straight to the
+ * response stream, so nothing but the current row is held in memory.
+ * </p>
+ */
+public class CNdjsonWriter implements Consumer<Object>
+{
+	private static final int NEW_LINE = '\n';
+
+	private final ObjectMapper objectMapper;
+
+	private final OutputStream outputStream;
+
+	public CNdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream)
+	{
+		this.objectMapper = objectMapper;
+		this.outputStream = outputStream;
+	}
+
+	@Override
+	public void accept(Object value)
+	{
+		try
+		{
+			outputStream.write(objectMapper.writeValueAsBytes(value));
+			outputStream.write(NEW_LINE);
+		}
+		catch (IOException ex)
+		{
+			throw new UncheckedIOException(ex);
+		}
+	}
+}
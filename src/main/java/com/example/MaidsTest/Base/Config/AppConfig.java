@@ -1,9 +1,14 @@
 package com.example.MaidsTest.Base.Config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableAspectJAutoProxy
+@EnableScheduling
+@EnableConfigurationProperties({LoggableProperties.class, ImportProperties.class, LoanProperties.class,
+        FineProperties.class, OutboxProperties.class, AuditProperties.class})
 public class AppConfig {
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Audit log settings bound from the {@code app.audit.*} properties.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    /** Entries the ring buffer holds, rounded up to a power of two; entries beyond it are dropped. */
+    private int bufferSize = 16384;
+
+    /** Entries written per JDBC batch. */
+    private int batchSize = 500;
+
+    /** Time the flusher sleeps when the buffer is empty. */
+    private long flushIntervalMs = 100;
+}
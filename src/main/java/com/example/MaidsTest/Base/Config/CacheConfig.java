@@ -0,0 +1,40 @@
+package com.example.MaidsTest.Base.Config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration.
+ * <p>
+ * Replaces the unbounded default cache manager with a Caffeine one (W-TinyLFU eviction).
+ * Each cache gets its own size limit and expiry policy from {@link CacheSpecProperties};
+ * caches declared with {@code recordStats} publish hit/miss/eviction counters to the actuator metrics.
+ * </p>
+ * <p>
+ * The manager is transaction aware: puts and evictions issued inside a transaction are applied only after
+ * it commits, so a rolled back mutation never touches the cache and readers never see a value the database
+ * does not hold yet.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Caches that are not declared below are created on demand with the default spec.
+        cacheManager.setCacheSpecification(properties.getDefaultSpec());
+
+        properties.getSpecs().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
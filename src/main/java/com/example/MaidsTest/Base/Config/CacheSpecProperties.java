@@ -0,0 +1,29 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache settings bound from the {@code app.cache.*} properties.
+ * <p>
+ * Every value is a Caffeine specification string, for example
+ * {@code maximumSize=10000,expireAfterWrite=10m,recordStats}.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheSpecProperties {
+
+    /** Specification applied to caches that have no entry in {@link #specs}. */
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+
+    /** Specification per cache name (e.g. {@code book}, {@code patron}). */
+    private Map<String, String> specs = new LinkedHashMap<>();
+}
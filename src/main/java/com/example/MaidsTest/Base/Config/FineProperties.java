@@ -0,0 +1,33 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Fine batch settings bound from the {@code app.fine.*} properties.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.fine")
+public class FineProperties {
+
+    /** Fine per day overdue. */
+    private BigDecimal dailyRate = new BigDecimal("0.25");
+
+    /** Highest fine of a single loan. */
+    private BigDecimal maxFine = new BigDecimal("20.00");
+
+    /** Loans read, and written in one JDBC batch, per chunk. */
+    private int chunkSize = 1000;
+
+    /** Loan id ranges a run is split into. */
+    private int partitions = 8;
+
+    /** Threads processing the partitions. */
+    private int workers = 4;
+}
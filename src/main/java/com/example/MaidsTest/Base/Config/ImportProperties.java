@@ -0,0 +1,22 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk import settings bound from the {@code app.import.*} properties.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+    /** Rows sent to the database per JDBC batch. */
+    private int batchSize = 1000;
+
+    /** Maximum number of rows accepted by a single import request. */
+    private int maxRows = 100000;
+}
@@ -0,0 +1,33 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loan settings bound from the {@code app.loan.*} properties.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.loan")
+public class LoanProperties {
+
+    /** Days a loan may last before it is overdue. */
+    private int periodDays = 14;
+
+    /** Open loans read and flagged per statement by the overdue scan. */
+    private int overdueChunkSize = 500;
+
+    /**
+     * @param borrowDate The borrow date of a loan
+     * @return The date the loan is due
+     */
+    public Date dueDate(Date borrowDate) {
+        return new Date(borrowDate.getTime() + TimeUnit.DAYS.toMillis(periodDays));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@code @Loggable} aspect bound from the {@code app.loggable.*} properties.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.loggable")
+public class LoggableProperties {
+
+    /** Percentiles published for every {@code @Loggable} method timer. */
+    private double[] percentiles = {0.5, 0.99};
+
+    /**
+     * Fraction (0..1) of calls whose arguments and return value are logged.
+     * Payloads are only rendered when the aspect logger is at DEBUG level.
+     */
+    private double payloadSampleRate = 0.01;
+}
@@ -0,0 +1,28 @@
+package com.example.MaidsTest.Base.Config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Outbox settings bound from the {@code app.outbox.*} properties.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /** Sink the relay publishes to: {@code memory} or {@code file}. */
+    private String sink = "memory";
+
+    /** Pending events published, and marked, per relay transaction. */
+    private int batchSize = 500;
+
+    /** Most recent events kept by the in-memory sink. */
+    private int memoryCapacity = 10000;
+
+    /** NDJSON file the file sink appends to. */
+    private String file = "outbox/events.ndjson";
+}
@@ -1,12 +1,18 @@
 package com.example.MaidsTest.Base.Config;
 
+import com.example.MaidsTest.Template.Filter.IdempotencyFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
 @Configuration
+@Profile("!reactive")
 public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
@@ -22,4 +28,16 @@ public class WebConfig implements WebMvcConfigurer {
         return resolver;
     }
 
+    /**
+     * {@code Idempotency-Key} support for the POST and PUT endpoints of books, patrons and borrowings, with the
+     * responses kept in the {@code idempotency} cache.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(CacheManager cacheManager, ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(cacheManager.getCache("idempotency"), objectMapper));
+        registration.addUrlPatterns("/api/books/*", "/api/patrons/*", "/api/borrowings/*");
+        return registration;
+    }
+
 }
@@ -6,5 +6,11 @@ public enum EError {
     PATRON_NOT_FOUND,
     BORROWING_RECORD_NOT_FOUND,
     BOOK_IS_ALREADY_BORROWED,
-    BOOK_IS_ALREADY_RETURNED
+    BOOK_IS_ALREADY_RETURNED,
+    BOOK_IS_AVAILABLE,
+    BOOK_IS_ALREADY_HELD,
+    IDEMPOTENCY_KEY_INVALID,
+    IDEMPOTENCY_KEY_IN_PROGRESS,
+    IDEMPOTENCY_KEY_REUSED,
+    IDEMPOTENCY_USER_REQUIRED
 }
@@ -6,16 +6,28 @@ public enum ESuccess {
     BOOK_DELETED_SUCCESSFULLY,
     GET_BOOK_SUCCESSFULLY,
     GET_ALL_BOOK_SUCCESSFULLY,
+    BOOKS_IMPORTED_SUCCESSFULLY,
+    SEARCH_BOOKS_SUCCESSFULLY,
+    GET_BOOK_AVAILABILITY_SUCCESSFULLY,
+    GET_BOOK_COPIES_SUCCESSFULLY,
+    BOOK_COPIES_ADDED_SUCCESSFULLY,
+    BOOK_HOLD_PLACED_SUCCESSFULLY,
 
     PATRON_ADDED_SUCCESSFULLY,
     PATRON_UPDATED_SUCCESSFULLY,
     PATRON_DELETED_SUCCESSFULLY,
     GET_PATRON_SUCCESSFULLY,
     GET_ALL_PATRON_SUCCESSFULLY,
+    PATRONS_IMPORTED_SUCCESSFULLY,
 
     BOOK_BORROWED_SUCCESSFULLY,
     BOOK_RETURNED_SUCCESSFULLY,
     BORROWING_RECORD_DELETED_SUCCESSFULLY,
     GET_BORROWING_RECORD_SUCCESSFULLY,
     GET_ALL_BORROWING_RECORD_SUCCESSFULLY,
+    GET_OVERDUE_BORROWING_RECORD_SUCCESSFULLY,
+    BATCH_BORROW_PROCESSED,
+    BATCH_RETURN_PROCESSED,
+    FINE_RUN_COMPLETED,
+    GET_EVENTS_SUCCESSFULLY,
 }
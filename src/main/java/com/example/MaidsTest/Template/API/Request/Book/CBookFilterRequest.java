@@ -0,0 +1,128 @@
+package com.example.MaidsTest.Template.API.Request.Book;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter and sort parameters of the book list, on top of the paging parameters.
+ * <p>
+ * Every bound is optional and inclusive. {@code sort} is a comma separated list of fields, each optionally
+ * prefixed with {@code -} for descending order, e.g. {@code sort=-publicationYear,price}.
+ * Only indexed fields can be sorted on; the id is always appended as the last key so pages are stable.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CBookFilterRequest extends CPageRequest {
+
+    /** Sortable request fields and the entity property they map to. */
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "id", "id",
+            "price", "price",
+            "pages", "pages",
+            "publicationYear", "publicationYear",
+            "year", "publicationYear");
+
+    private Boolean available;
+
+    private Integer yearFrom;
+
+    private Integer yearTo;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+
+    private Integer minPages;
+
+    private Integer maxPages;
+
+    private String sort;
+
+    /**
+     * @return true if any filter is set.
+     */
+    public boolean isFiltered() {
+        return available != null || yearFrom != null || yearTo != null || minPrice != null || maxPrice != null
+                || minPages != null || maxPages != null;
+    }
+
+    /**
+     * @return true if an explicit sort order is requested.
+     */
+    public boolean isSorted() {
+        return sort != null && !sort.isBlank();
+    }
+
+    /**
+     * Checks that the ranges are not inverted and that keyset paging is only combined with the default order.
+     *
+     * @throws IllegalArgumentException if the request is inconsistent
+     */
+    public void validate() {
+        checkRange("year", yearFrom, yearTo);
+        checkRange("price", minPrice, maxPrice);
+        checkRange("pages", minPages, maxPages);
+
+        if (isKeyset() && isSorted()) {
+            throw new IllegalArgumentException("after can only be used with the default (id) order");
+        }
+    }
+
+    /**
+     * Builds the requested order, with the id as last key.
+     *
+     * @return the sort pushed down to the query
+     * @throws IllegalArgumentException if a field is unknown or not sortable
+     */
+    public Sort toSort() {
+        List<Sort.Order> orders = new ArrayList<>();
+
+        if (isSorted()) {
+            for (String field : sort.split(",")) {
+                String name = field.trim();
+                boolean descending = name.startsWith("-");
+                if (descending) {
+                    name = name.substring(1);
+                }
+
+                String property = SORTABLE_FIELDS.get(name);
+                if (property == null) {
+                    throw new IllegalArgumentException("Cannot sort by '" + name + "', sortable fields are "
+                            + "id, price, pages, publicationYear");
+                }
+                orders.add(descending ? Sort.Order.desc(property) : Sort.Order.asc(property));
+            }
+        }
+
+        if (orders.stream().noneMatch(order -> order.getProperty().equals("id"))) {
+            orders.add(Sort.Order.asc("id"));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Same as {@link CPageRequest#toPageable()}, with the requested order.
+     */
+    @Override
+    public Pageable toPageable() {
+        Pageable pageable = super.toPageable();
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), toSort());
+    }
+
+    private static <T extends Comparable<T>> void checkRange(String name, T from, T to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Invalid " + name + " range: " + from + " > " + to);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.MaidsTest.Template.API.Request.BorrowingRecord;
+
+import com.example.MaidsTest.Base.API.Request.CAPIRequest;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CBatchBorrowingRequest extends CAPIRequest {
+
+    public static final int MAX_ITEMS = 500;
+
+    private List<CBorrowingItem> items;
+}
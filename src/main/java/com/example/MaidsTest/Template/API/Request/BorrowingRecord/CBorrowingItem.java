@@ -0,0 +1,17 @@
+package com.example.MaidsTest.Template.API.Request.BorrowingRecord;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CBorrowingItem {
+
+    private Long bookId;
+
+    private Long patronId;
+}
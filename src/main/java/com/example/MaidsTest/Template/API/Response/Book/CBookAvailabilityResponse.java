@@ -0,0 +1,21 @@
+package com.example.MaidsTest.Template.API.Response.Book;
+
+import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CBookAvailabilityResponse extends CAPIResponse {
+
+    /** Whether each existing book is available, by book id in request order. */
+    Map<Long, Boolean> availability;
+
+    /** The requested ids of books that do not exist. */
+    List<Long> notFound;
+}
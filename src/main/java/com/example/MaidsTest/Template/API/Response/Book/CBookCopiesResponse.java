@@ -0,0 +1,15 @@
+package com.example.MaidsTest.Template.API.Response.Book;
+
+import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookCopiesDTO;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CBookCopiesResponse extends CAPIResponse {
+
+    CBookCopiesDTO inventory;
+}
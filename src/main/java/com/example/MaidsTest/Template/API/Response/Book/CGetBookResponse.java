@@ -2,6 +2,8 @@ package com.example.MaidsTest.Template.API.Response.Book;
 
 import com.example.MaidsTest.Base.API.Response.CAPIResponse;
 import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPageDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,4 +17,7 @@ public class CGetBookResponse extends CAPIResponse {
     CBookDTO book;
 
     List<CBookDTO> bookList;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    CPageDTO pagination;
 }
@@ -0,0 +1,21 @@
+package com.example.MaidsTest.Template.API.Response.BorrowingRecord;
+
+import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingResultDTO;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CBatchBorrowingRecordResponse extends CAPIResponse {
+
+    Integer succeeded;
+
+    Integer failed;
+
+    List<CBorrowingResultDTO> results;
+}
@@ -2,14 +2,25 @@ package com.example.MaidsTest.Template.API.Response.BorrowingRecord;
 
 import com.example.MaidsTest.Base.API.Response.CAPIResponse;
 import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPageDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
 public class CGetBorrowingRecordResponse extends CAPIResponse {
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     CBorrowingRecordDTO borrowingRecord;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<CBorrowingRecordDTO> borrowingRecordList;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    CPageDTO pagination;
 }
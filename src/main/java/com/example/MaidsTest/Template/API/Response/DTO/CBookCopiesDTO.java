@@ -0,0 +1,19 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CBookCopiesDTO {
+
+    private Long bookId;
+
+    private Long copies;
+
+    private Long availableCopies;
+}
@@ -0,0 +1,28 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CBookHoldDTO {
+
+    private Long id;
+
+    private Long bookId;
+
+    private Long patronId;
+
+    /** Place in the queue of the book, 1 for the next patron served. */
+    private Long position;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private Date insertDate;
+}
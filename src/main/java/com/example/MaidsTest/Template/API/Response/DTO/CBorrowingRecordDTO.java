@@ -1,14 +1,22 @@
 package com.example.MaidsTest.Template.API.Response.DTO;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+import java.util.Date;
+
 @Getter
 @Setter
 @NoArgsConstructor
+@AllArgsConstructor
 public class CBorrowingRecordDTO {
 
+    private Long id;
+
     private String title;
 
     private String author;
@@ -16,4 +24,15 @@ public class CBorrowingRecordDTO {
     private String name;
 
     private String phoneNumber;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private Date borrowDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private Date returnDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    private Date dueDate;
+
+    private BigDecimal fine;
 }
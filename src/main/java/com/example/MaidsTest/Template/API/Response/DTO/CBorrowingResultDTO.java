@@ -0,0 +1,24 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CBorrowingResultDTO {
+
+    private Long bookId;
+
+    private Long patronId;
+
+    private Boolean success;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CBorrowingRecordDTO borrowingRecord;
+}
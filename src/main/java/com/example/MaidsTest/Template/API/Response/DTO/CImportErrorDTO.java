@@ -0,0 +1,17 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CImportErrorDTO {
+
+    private Integer row;
+
+    private List<String> errors;
+}
@@ -0,0 +1,25 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CMethodMetricsDTO {
+
+    private String method;
+
+    private Long count;
+
+    private Double errors;
+
+    private Double meanMs;
+
+    private Double maxMs;
+
+    private Map<String, Double> percentilesMs;
+}
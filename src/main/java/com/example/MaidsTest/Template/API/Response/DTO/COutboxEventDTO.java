@@ -0,0 +1,35 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class COutboxEventDTO {
+
+    /** Position in the stream; resume after the last one read. */
+    private Long sequenceNo;
+
+    private Long id;
+
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    private String eventType;
+
+    /** The event data, a JSON object written as is. */
+    @JsonRawValue
+    private String payload;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
+    private Date insertDate;
+}
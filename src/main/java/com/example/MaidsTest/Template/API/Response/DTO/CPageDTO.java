@@ -0,0 +1,23 @@
+package com.example.MaidsTest.Template.API.Response.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CPageDTO {
+
+    private Integer page;
+
+    private Integer size;
+
+    private Integer numberOfElements;
+
+    private Boolean hasNext;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.example.MaidsTest.Template.API.Response.DTO;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -7,8 +8,11 @@ import lombok.Setter;
 @Getter
 @Setter
 @NoArgsConstructor
+@AllArgsConstructor
 public class CPatronDTO {
 
+    private Long id;
+
     private String name;
 
     private String phoneNumber;
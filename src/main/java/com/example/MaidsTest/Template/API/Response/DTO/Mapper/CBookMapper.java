@@ -23,6 +23,7 @@ public class CBookMapper {
 
             bookDTO = new CBookDTO();
 
+            bookDTO.setId(book.getId());
             bookDTO.setAuthor(book.getAuthor());
             bookDTO.setPages(book.getPages());
             bookDTO.setTitle(book.getTitle());
@@ -52,11 +53,13 @@ public class CBookMapper {
 
                 bookDTO = new CBookDTO();
 
-                bookDTO.setAuthor(book.getAuthor());
+                bookDTO.setId(book.getId());
+            bookDTO.setAuthor(book.getAuthor());
                 bookDTO.setPages(book.getPages());
                 bookDTO.setTitle(book.getTitle());
                 bookDTO.setPrice(book.getPrice());
                 bookDTO.setAvailable(book.getAvailable());
+                bookDTO.setPublicationYear(book.getPublicationYear());
 
                 bookDTOList.add(bookDTO);
             }
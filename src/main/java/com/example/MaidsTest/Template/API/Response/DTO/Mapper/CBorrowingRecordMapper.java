@@ -2,9 +2,14 @@ package com.example.MaidsTest.Template.API.Response.DTO.Mapper;
 
 import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
 import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingResultDTO;
 import com.example.MaidsTest.Template.Model.Table.Book;
 import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
 import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Service.Table.BorrowingResult;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class CBorrowingRecordMapper {
 
@@ -18,13 +23,50 @@ public class CBorrowingRecordMapper {
 
             borrowingRecordDTO = new CBorrowingRecordDTO();
 
+            borrowingRecordDTO.setId(borrowingRecord.getId());
             borrowingRecordDTO.setAuthor(borrowingRecord.getBookId().getAuthor());
             borrowingRecordDTO.setName(borrowingRecord.getPatronId().getName());
             borrowingRecordDTO.setTitle(borrowingRecord.getBookId().getTitle());
             borrowingRecordDTO.setPhoneNumber(borrowingRecord.getPatronId().getPhoneNumber());
+            borrowingRecordDTO.setBorrowDate(borrowingRecord.getBorrowDate());
+            borrowingRecordDTO.setReturnDate(borrowingRecord.getReturnDate());
+            borrowingRecordDTO.setDueDate(borrowingRecord.getDueDate());
+            borrowingRecordDTO.setFine(borrowingRecord.getFine());
         }
         while (false);
 
         return borrowingRecordDTO;
     }
+
+    public static List<CBorrowingResultDTO> parse(List<BorrowingResult> borrowingResultList)
+    {
+        CBorrowingResultDTO borrowingResultDTO = null;
+
+        List<CBorrowingResultDTO> borrowingResultDTOList = null;
+
+        do
+        {
+            if(borrowingResultList == null) break;
+
+            borrowingResultDTOList = new ArrayList<>();
+
+            for(BorrowingResult borrowingResult : borrowingResultList){
+
+                borrowingResultDTO = new CBorrowingResultDTO();
+
+                borrowingResultDTO.setBookId(borrowingResult.getBookId());
+                borrowingResultDTO.setPatronId(borrowingResult.getPatronId());
+                borrowingResultDTO.setSuccess(borrowingResult.isSuccess());
+                borrowingResultDTO.setBorrowingRecord(parse(borrowingResult.getBorrowingRecord()));
+
+                if(!borrowingResult.isSuccess()) borrowingResultDTO.setError(borrowingResult.getError().name());
+
+                borrowingResultDTOList.add(borrowingResultDTO);
+            }
+
+        }
+        while (false);
+
+        return borrowingResultDTOList;
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.MaidsTest.Template.API.Response.DTO.Mapper;
+
+import com.example.MaidsTest.Template.API.Response.Fine.CFineRunResponse;
+import com.example.MaidsTest.Template.Service.Fine.FineRunReport;
+
+public class CFineRunMapper {
+
+    /**
+     * Copies the report of a fine run into the response.
+     *
+     * @param report      The report of the run
+     * @param apiResponse The response to fill
+     */
+    public static void parse(FineRunReport report, CFineRunResponse apiResponse)
+    {
+        do
+        {
+            if(report == null) break;
+
+            apiResponse.setFineDate(report.getFineDate());
+            apiResponse.setPartitions(report.getPartitions());
+            apiResponse.setResumedPartitions(report.getResumedPartitions());
+            apiResponse.setRows(report.getRows());
+            apiResponse.setMillis(report.getMillis());
+            apiResponse.setRowsPerSecond(report.getRowsPerSecond());
+        }
+        while (false);
+    }
+}
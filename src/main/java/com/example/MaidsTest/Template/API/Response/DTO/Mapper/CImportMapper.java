@@ -0,0 +1,47 @@
+package com.example.MaidsTest.Template.API.Response.DTO.Mapper;
+
+import com.example.MaidsTest.Template.API.Response.DTO.CImportErrorDTO;
+import com.example.MaidsTest.Template.API.Response.Import.CImportResponse;
+import com.example.MaidsTest.Template.Service.Import.ImportResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CImportMapper {
+
+    /**
+     * Copies the import summary and the per-row errors into the response.
+     *
+     * @param importResult The result of the import
+     * @param apiResponse  The response to fill
+     */
+    public static void parse(ImportResult importResult, CImportResponse apiResponse)
+    {
+        CImportErrorDTO importErrorDTO = null;
+
+        List<CImportErrorDTO> importErrorDTOList = null;
+
+        do
+        {
+            if(importResult == null) break;
+
+            importErrorDTOList = new ArrayList<>();
+
+            for(ImportResult.RowError rowError : importResult.getErrors()){
+
+                importErrorDTO = new CImportErrorDTO();
+
+                importErrorDTO.setRow(rowError.row());
+                importErrorDTO.setErrors(rowError.messages());
+
+                importErrorDTOList.add(importErrorDTO);
+            }
+
+            apiResponse.setReceived(importResult.getReceived());
+            apiResponse.setImported(importResult.getImported());
+            apiResponse.setFailed(importResult.getErrors().size());
+            apiResponse.setRowErrors(importErrorDTOList);
+        }
+        while (false);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.MaidsTest.Template.API.Response.DTO.Mapper;
+
+import com.example.MaidsTest.Template.API.Response.DTO.COutboxEventDTO;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class COutboxEventMapper {
+
+    public static COutboxEventDTO parse(OutboxEvent event)
+    {
+        COutboxEventDTO eventDTO = null;
+
+        do
+        {
+            if(event == null) break;
+
+            eventDTO = new COutboxEventDTO(event.sequenceNo(), event.id(), event.aggregateType(), event.aggregateId(),
+                    event.eventType(), event.payload(), event.insertDate());
+        }
+        while (false);
+
+        return eventDTO;
+    }
+
+    public static List<COutboxEventDTO> parse(List<OutboxEvent> events)
+    {
+        List<COutboxEventDTO> eventDTOs = new ArrayList<>();
+
+        do
+        {
+            if(events == null) break;
+
+            for (OutboxEvent event : events)
+            {
+                eventDTOs.add(parse(event));
+            }
+        }
+        while (false);
+
+        return eventDTOs;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.MaidsTest.Template.API.Response.DTO.Mapper;
+
+import com.example.MaidsTest.Template.API.Response.DTO.CPageDTO;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class CPageMapper {
+
+    /**
+     * Maps a slice to the paging metadata of a list response.
+     *
+     * @param slice      The slice returned by the repository
+     * @param idSupplier Extracts the id of an element, used to build the next keyset cursor;
+     *                   null when the slice is not in id order and has no cursor
+     * @return The paging metadata, or null if the slice is null
+     */
+    public static <T> CPageDTO parse(Slice<T> slice, Function<T, Long> idSupplier)
+    {
+        CPageDTO pageDTO = null;
+
+        do
+        {
+            if(slice == null) break;
+
+            pageDTO = new CPageDTO();
+
+            pageDTO.setPage(slice.getNumber());
+            pageDTO.setSize(slice.getSize());
+            pageDTO.setNumberOfElements(slice.getNumberOfElements());
+            pageDTO.setHasNext(slice.hasNext());
+
+            if(!slice.hasNext() || !slice.hasContent() || idSupplier == null) break;
+
+            List<T> content = slice.getContent();
+            pageDTO.setNextCursor(idSupplier.apply(content.get(content.size() - 1)));
+        }
+        while (false);
+
+        return pageDTO;
+    }
+}
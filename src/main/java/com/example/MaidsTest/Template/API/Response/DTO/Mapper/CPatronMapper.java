@@ -23,6 +23,7 @@ public class CPatronMapper {
 
             patronDTO = new CPatronDTO();
 
+            patronDTO.setId(patron.getId());
             patronDTO.setName(patron.getName());
             patronDTO.setAddress(patron.getAddress());
             patronDTO.setPhoneNumber(patron.getPhoneNumber());
@@ -49,7 +50,8 @@ public class CPatronMapper {
 
                 patronDTO = new CPatronDTO();
 
-                patronDTO.setName(patron.getName());
+                patronDTO.setId(patron.getId());
+            patronDTO.setName(patron.getName());
                 patronDTO.setAddress(patron.getAddress());
                 patronDTO.setPhoneNumber(patron.getPhoneNumber());
 
@@ -0,0 +1,20 @@
+package com.example.MaidsTest.Template.API.Response.Event;
+
+import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.COutboxEventDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPageDTO;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CGetOutboxEventResponse extends CAPIResponse {
+
+    List<COutboxEventDTO> events;
+
+    CPageDTO pagination;
+}
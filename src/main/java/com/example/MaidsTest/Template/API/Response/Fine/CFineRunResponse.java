@@ -0,0 +1,26 @@
+package com.example.MaidsTest.Template.API.Response.Fine;
+
+import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CFineRunResponse extends CAPIResponse {
+
+    LocalDate fineDate;
+
+    Integer partitions;
+
+    Integer resumedPartitions;
+
+    Long rows;
+
+    Long millis;
+
+    Double rowsPerSecond;
+}
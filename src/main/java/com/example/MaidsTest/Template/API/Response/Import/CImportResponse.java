@@ -0,0 +1,23 @@
+package com.example.MaidsTest.Template.API.Response.Import;
+
+import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CImportErrorDTO;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CImportResponse extends CAPIResponse {
+
+    Integer received;
+
+    Integer imported;
+
+    Integer failed;
+
+    List<CImportErrorDTO> rowErrors;
+}
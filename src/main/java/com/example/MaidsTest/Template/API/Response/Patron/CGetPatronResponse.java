@@ -1,7 +1,9 @@
 package com.example.MaidsTest.Template.API.Response.Patron;
 
 import com.example.MaidsTest.Base.API.Response.CAPIResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CPageDTO;
 import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -16,4 +18,7 @@ public class CGetPatronResponse extends CAPIResponse {
     CPatronDTO patron;
 
     List<CPatronDTO> patronList;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    CPageDTO pagination;
 }
@@ -9,7 +9,8 @@ import java.lang.annotation.Target;
  * Custom annotation to mark methods for logging.
  * <p>
  * The {@link Loggable} annotation is used to indicate that the annotated method should have its execution
- * logged by the {@link LoggingAspect}. This includes logging method arguments, execution time, and return value.
+ * measured by the {@link LoggingAspect}. This includes a latency histogram and an error counter per method,
+ * plus sampled DEBUG logging of the method arguments and return value.
  * It is primarily used in conjunction with the {@code LoggingAspect} class to enable method-level logging.
  * </p>
  */
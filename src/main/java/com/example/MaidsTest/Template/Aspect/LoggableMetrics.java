@@ -0,0 +1,106 @@
+package com.example.MaidsTest.Template.Aspect;
+
+import com.example.MaidsTest.Base.Config.LoggableProperties;
+import com.example.MaidsTest.Template.API.Response.DTO.CMethodMetricsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the per-method meters recorded by the {@link LoggingAspect}.
+ * <p>
+ * Every {@code @Loggable} method gets a Micrometer timer ({@value #TIMER_NAME}) publishing the configured
+ * percentiles and max, and an error counter ({@value #ERROR_COUNTER_NAME}). The meters are created once per
+ * method and looked up by {@link Method}, so the hot path does not build names or tags.
+ * </p>
+ */
+@Component
+public class LoggableMetrics {
+
+    public static final String TIMER_NAME = "loggable.method";
+
+    public static final String ERROR_COUNTER_NAME = "loggable.method.errors";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private LoggableProperties properties;
+
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the meters of the intercepted method, registering them on first use.
+     *
+     * @param signature The signature of the intercepted method
+     * @return The meters of the method
+     */
+    public MethodMeters forMethod(MethodSignature signature) {
+        return meters.computeIfAbsent(signature.getMethod(), method -> register(signature.toShortString()));
+    }
+
+    /**
+     * Takes a snapshot of the latency distribution and error count of every intercepted method.
+     *
+     * @return One entry per method, in no particular order
+     */
+    public List<CMethodMetricsDTO> snapshot() {
+        List<CMethodMetricsDTO> snapshot = new ArrayList<>();
+
+        for (MethodMeters methodMeters : meters.values()) {
+            HistogramSnapshot histogram = methodMeters.timer().takeSnapshot();
+
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile value : histogram.percentileValues()) {
+                percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+            }
+
+            CMethodMetricsDTO methodMetricsDTO = new CMethodMetricsDTO();
+            methodMetricsDTO.setMethod(methodMeters.name());
+            methodMetricsDTO.setCount(histogram.count());
+            methodMetricsDTO.setErrors(methodMeters.errors().count());
+            methodMetricsDTO.setMeanMs(histogram.mean(TimeUnit.MILLISECONDS));
+            methodMetricsDTO.setMaxMs(histogram.max(TimeUnit.MILLISECONDS));
+            methodMetricsDTO.setPercentilesMs(percentiles);
+
+            snapshot.add(methodMetricsDTO);
+        }
+
+        return snapshot;
+    }
+
+    private MethodMeters register(String name) {
+        Timer timer = Timer.builder(TIMER_NAME)
+                .description("Execution time of @Loggable methods")
+                .tag("method", name)
+                .publishPercentiles(properties.getPercentiles())
+                .register(meterRegistry);
+
+        Counter errors = Counter.builder(ERROR_COUNTER_NAME)
+                .description("Exceptions thrown by @Loggable methods")
+                .tag("method", name)
+                .register(meterRegistry);
+
+        return new MethodMeters(name, timer, errors);
+    }
+
+    /**
+     * Meters of a single {@code @Loggable} method.
+     */
+    public record MethodMeters(String name, Timer timer, Counter errors) {
+    }
+}
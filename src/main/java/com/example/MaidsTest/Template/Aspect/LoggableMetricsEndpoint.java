@@ -0,0 +1,34 @@
+package com.example.MaidsTest.Template.Aspect;
+
+import com.example.MaidsTest.Template.API.Response.DTO.CMethodMetricsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the latency and error summary of every {@code @Loggable} method
+ * under {@code /actuator/loggable}, slowest p99 first.
+ * <p>
+ * The raw meters are also available through {@code /actuator/metrics/loggable.method}.
+ * </p>
+ */
+@Component
+@Endpoint(id = "loggable")
+public class LoggableMetricsEndpoint {
+
+    @Autowired
+    private LoggableMetrics loggableMetrics;
+
+    @ReadOperation
+    public List<CMethodMetricsDTO> methods() {
+        List<CMethodMetricsDTO> methods = loggableMetrics.snapshot();
+        methods.sort(Comparator.comparing(
+                (CMethodMetricsDTO method) -> method.getPercentilesMs().getOrDefault("p99", method.getMaxMs()))
+                .reversed());
+        return methods;
+    }
+}
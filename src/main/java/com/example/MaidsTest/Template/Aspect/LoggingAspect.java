@@ -1,19 +1,26 @@
 package com.example.MaidsTest.Template.Aspect;
 
+import com.example.MaidsTest.Base.Config.LoggableProperties;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Aspect class responsible for logging method execution details.
+ * Aspect class responsible for measuring and logging method execution.
  * <p>
- * This class utilizes Aspect-Oriented Programming (AOP) to log the execution of methods annotated with {@link Loggable}.
- * It logs the method name, arguments, execution time, and the return value of the method.
- * The aspect ensures that any method annotated with {@code @Loggable} will have detailed logging.
+ * This class utilizes Aspect-Oriented Programming (AOP) to time the execution of methods annotated with {@link Loggable}.
+ * Every call is recorded with a nanosecond timer into the per-method latency histogram and error counter held by
+ * {@link LoggableMetrics}. The method arguments and return value are only rendered for a sampled fraction of calls,
+ * and only when DEBUG logging is enabled for this class, so large results (e.g. a full book list) are never
+ * converted to strings on the normal path.
  * </p>
  */
 @Aspect  // Defines this class as an aspect for Aspect-Oriented Programming.
@@ -23,14 +30,21 @@ public class LoggingAspect {
     // Logger instance for logging method details.
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    /** Per-method timers and error counters. */
+    @Autowired
+    private LoggableMetrics loggableMetrics;
+
+    /** Payload sampling settings. */
+    @Autowired
+    private LoggableProperties properties;
+
     /**
      * Around advice for methods annotated with {@code @Loggable}.
      * <p>
-     * This advice intercepts method executions and logs method details such as:
-     * - Method name
-     * - Arguments passed to the method
-     * - Time taken for execution
-     * - Return value of the method
+     * This advice intercepts method executions and records:
+     * - Time taken for execution (always, into the method timer)
+     * - Exceptions thrown (always, into the method error counter)
+     * - Arguments and return value (sampled, DEBUG level only)
      * </p>
      *
      * @param joinPoint The join point that provides details about the method being intercepted.
@@ -40,26 +54,36 @@ public class LoggingAspect {
     @Around("@annotation(com.example.MaidsTest.Template.Aspect.Loggable)")  // Trigger this advice for methods annotated with @Loggable.
     public Object logMethodExecution(ProceedingJoinPoint joinPoint) throws Throwable {
 
-        // Get the method name and arguments.
-        String methodName = joinPoint.getSignature().toShortString();
-        Object[] methodArgs = joinPoint.getArgs();
+        // Resolve the meters of the method (created once, then looked up by method).
+        LoggableMetrics.MethodMeters meters = loggableMetrics.forMethod((MethodSignature) joinPoint.getSignature());
 
-        // Log the method name and arguments before execution.
-        logger.info("Executing method: {} with arguments: {}", methodName, Arrays.toString(methodArgs));
+        // Decide once whether this call's payload is logged.
+        boolean logPayload = logger.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < properties.getPayloadSampleRate();
 
-        // Record the start time of the method execution.
-        long startTime = System.currentTimeMillis();
+        if (logPayload) {
+            logger.debug("Executing method: {} with arguments: {}", meters.name(), Arrays.toString(joinPoint.getArgs()));
+        }
 
-        // Proceed with the method execution.
-        Object result = joinPoint.proceed();
+        // Record the start time of the method execution.
+        long startTime = System.nanoTime();
 
-        // Calculate the time taken for the method execution.
-        long elapsedTime = System.currentTimeMillis() - startTime;
+        try {
+            // Proceed with the method execution.
+            Object result = joinPoint.proceed();
 
-        // Log the successful execution and the method's return value.
-        logger.info("Method {} executed successfully in {} ms - Return Value: {}", methodName, elapsedTime, result);
+            if (logPayload) {
+                logger.debug("Method {} executed successfully in {} ns - Return Value: {}",
+                        meters.name(), System.nanoTime() - startTime, result);
+            }
 
-        // Return the result of the method execution.
-        return result;
+            // Return the result of the method execution.
+            return result;
+        } catch (Throwable ex) {
+            meters.errors().increment();
+            throw ex;
+        } finally {
+            meters.timer().record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
     }
 }
@@ -0,0 +1,7 @@
+package com.example.MaidsTest.Template.Exception;
+
+public class BookHoldException extends RuntimeException {
+    public BookHoldException(String message) {
+        super(message);
+    }
+}
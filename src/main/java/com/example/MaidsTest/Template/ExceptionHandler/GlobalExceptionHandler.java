@@ -3,6 +3,7 @@ package com.example.MaidsTest.Template.ExceptionHandler;
 import com.example.MaidsTest.Base.Enum.EBase;
 import com.example.MaidsTest.Base.Enum.EError;
 import com.example.MaidsTest.Template.Exception.BookAlreadyBorrowedException;
+import com.example.MaidsTest.Template.Exception.BookHoldException;
 import com.example.MaidsTest.Template.Exception.BookNotFoundException;
 import com.example.MaidsTest.Template.Exception.BorrowingRecordNotFoundException;
 import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
@@ -84,6 +85,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Handles the case when a hold cannot be placed (the book has a free copy, or the patron already holds it).
+     *
+     * @param ex BookHoldException thrown exception
+     * @return ResponseEntity with error details
+     */
+    @ExceptionHandler(BookHoldException.class)
+    public ResponseEntity<Map<String, Object>> handleHold(BookHoldException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(EBase.STATUS_CODE.name(), 400);
+        response.put(EBase.ERROR.name(), ex.getMessage());
+        response.put(EBase.ERROR_MESSAGE.name(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     /**
      * Handles validation exceptions from invalid method arguments.
      *
@@ -0,0 +1,223 @@
+package com.example.MaidsTest.Template.Filter;
+
+import com.example.MaidsTest.Base.Enum.EBase;
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.Service.Audit.AuditUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Makes {@code POST} and {@code PUT} requests carrying an {@value #HEADER} header safe to retry.
+ * <p>
+ * The first request with a key marks the key as in flight in the {@code idempotency} cache (bounded and expiring,
+ * see {@code app.cache.specs.idempotency}) with an atomic {@code putIfAbsent}, then runs and stores its response
+ * under the key. A retry with the same key and the same request gets the stored response back, with the
+ * {@value #REPLAYED_HEADER} header, without reaching the controller or the database. Any request with the key
+ * gets 409 while the first one is still running, and the same key used for a different request (method, URI or
+ * body) gets 422 afterwards. Server errors (5xx) are not stored: the key is released and the retry runs again.
+ * </p>
+ * <p>
+ * Keys are scoped to the {@code X-User-Id} of the request, which a request with a key must carry (400 otherwise):
+ * callers without a user would all share one key space and be sent each other's responses. The request
+ * body is read up front to fingerprint it; the endpoints covered take JSON or CSV bodies and no form parameters.
+ * </p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache responses;
+
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(Cache responses, ObjectMapper objectMapper) {
+        this.responses = responses;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("POST".equals(method) || "PUT".equals(method)) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, EError.IDEMPOTENCY_KEY_INVALID,
+                    HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        Integer userId = AuditUser.of(request);
+        if (userId == null) {
+            writeError(response, HttpStatus.BAD_REQUEST, EError.IDEMPOTENCY_USER_REQUIRED,
+                    HEADER + " requires a numeric " + AuditUser.HEADER + " header");
+            return;
+        }
+
+        BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request);
+        String fingerprint = fingerprint(bufferedRequest);
+        Key cacheKey = new Key(userId, key);
+
+        Cache.ValueWrapper existing = responses.putIfAbsent(cacheKey, IdempotentResponse.inFlight(fingerprint));
+        if (existing != null && existing.get() instanceof IdempotentResponse stored) {
+            if (!stored.completed()) {
+                writeError(response, HttpStatus.CONFLICT, EError.IDEMPOTENCY_KEY_IN_PROGRESS,
+                        "A request with " + HEADER + " " + key + " is still being processed");
+            } else if (!stored.fingerprint().equals(fingerprint)) {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, EError.IDEMPOTENCY_KEY_REUSED,
+                        HEADER + " " + key + " was used for a different request");
+            } else {
+                replay(stored, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(bufferedRequest, cachingResponse);
+
+            if (cachingResponse.getStatus() < 500 && !bufferedRequest.isAsyncStarted()) {
+                responses.put(cacheKey, IdempotentResponse.completed(fingerprint, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                responses.evict(cacheKey);  // Let the retry run again
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, EError error, String message)
+            throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put(EBase.STATUS_CODE.name(), status.value());
+        body.put(EBase.ERROR.name(), error.name());
+        body.put(EBase.ERROR_MESSAGE.name(), message);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String fingerprint(BufferedBodyRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            if (request.getQueryString() != null) {
+                digest.update((byte) '?');
+                digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) '\n');
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);  // Every JVM has SHA-256
+        }
+    }
+
+    /**
+     * Key of the {@code idempotency} cache.
+     *
+     * @param userId The {@code X-User-Id} of the request
+     * @param key    The {@value #HEADER} of the request
+     */
+    public record Key(int userId, String key) {
+    }
+
+    /** Request whose body is read once into memory, so it can be fingerprinted and then read by the controller. */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("The body is already in memory");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null
+                    ? StandardCharsets.UTF_8
+                    : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.MaidsTest.Template.Filter;
+
+/**
+ * What the {@link IdempotencyFilter} keeps for an idempotency key: the request it was first used with and, once that
+ * request completed, its response.
+ *
+ * @param fingerprint The hash of the method, URI and body of the first request
+ * @param completed   Whether the first request completed; false while it is being processed
+ * @param status      The HTTP status of the response
+ * @param contentType The content type of the response
+ * @param body        The response body
+ */
+public record IdempotentResponse(String fingerprint, boolean completed, int status, String contentType, byte[] body) {
+
+    public static IdempotentResponse inFlight(String fingerprint) {
+        return new IdempotentResponse(fingerprint, false, 0, null, null);
+    }
+
+    public static IdempotentResponse completed(String fingerprint, int status, String contentType, byte[] body) {
+        return new IdempotentResponse(fingerprint, true, status, contentType, body);
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.util.Date;
@@ -13,6 +14,7 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate  // Updates write the changed columns only, never an availability read before a borrow or return
 @ToString
 @Table(name = "Book")
 public class Book {
@@ -45,7 +47,7 @@ public class Book {
     @Column(name = "publication_year")
     private Integer publicationYear;
 
-    @Column(name = "available")
+    @Column(name = "available", nullable = false)
     private Boolean available;
 
     @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
@@ -59,6 +61,9 @@ public class Book {
     @PrePersist
     void createdAt() {
         this.insertDate = new Date();
+        if (this.available == null) {
+            this.available = true;  // NOT NULL since V11; a new book's copies start free
+        }
     }
 
     public Book(Long id, String title, String author) {
@@ -0,0 +1,48 @@
+package com.example.MaidsTest.Template.Model.Table;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * One physical copy of a {@link Book}. The book row describes the title; borrowing takes any free copy of it.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@ToString
+@Table(name = "book_copy")
+public class BookCopy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book bookId;
+
+    @Column(name = "available", nullable = false)
+    private Boolean available;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    @Column(name = "insert_date")
+    private Date insertDate;
+
+    @PrePersist
+    void createdAt() {
+        this.insertDate = new Date();
+    }
+
+    public BookCopy(Book bookId) {
+        this.bookId = bookId;
+        this.available = true;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.MaidsTest.Template.Model.Table;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+/**
+ * A patron waiting for a {@link Book} that has no free copy. The hold is fulfilled when a returned copy is lent
+ * to the patron.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@ToString
+@Table(name = "book_hold")
+public class BookHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book bookId;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "patron_id", nullable = false)
+    private Patron patronId;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    @Column(name = "insert_date")
+    private Date insertDate;
+
+    // Null while the patron is waiting
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    @Column(name = "fulfilled_date")
+    private Date fulfilledDate;
+
+    @PrePersist
+    void createdAt() {
+        this.insertDate = new Date();
+    }
+
+    public BookHold(Book bookId, Patron patronId) {
+        this.bookId = bookId;
+        this.patronId = patronId;
+    }
+}
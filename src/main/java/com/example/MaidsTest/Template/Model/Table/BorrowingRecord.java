@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import java.math.BigDecimal;
 import java.util.Date;
 
 @Setter(AccessLevel.PUBLIC)
@@ -20,14 +21,23 @@ public class BorrowingRecord {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    // Lazy: queries that need the book or the patron fetch-join them
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book bookId;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patron_id", nullable = false)
     private Patron patronId;
 
+    // The copy taken by this loan (V4 gave the older loans the single copy of their book)
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "copy_id")
+    private BookCopy copyId;
+
     @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
     @Column(name = "return_date")
@@ -37,4 +47,24 @@ public class BorrowingRecord {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
     @Column(name = "borrow_date")
     private Date borrowDate;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    @Column(name = "due_date")
+    private Date dueDate;
+
+    // Set by the overdue scan when it finds the loan open past its due date
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm")
+    @Column(name = "overdue_date")
+    private Date overdueDate;
+
+    // Set by the fine batch while the loan is open and overdue
+    @Column(name = "fine", precision = 10, scale = 2)
+    private BigDecimal fine;
+
+    // Generated by the database (V6): the due date while the loan is open, null once returned
+    @ToString.Exclude
+    @Column(name = "open_due_date", insertable = false, updatable = false)
+    private Date openDueDate;
 }
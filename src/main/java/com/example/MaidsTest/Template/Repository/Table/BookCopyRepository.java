@@ -0,0 +1,35 @@
+package com.example.MaidsTest.Template.Repository.Table;
+
+import com.example.MaidsTest.Template.Model.Table.BookCopy;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
+
+    /**
+     * Locks the first free copy of the book that no other transaction has locked, in a single
+     * {@code SELECT ... LIMIT 1 FOR UPDATE SKIP LOCKED}. Concurrent borrowers of the same title each get a
+     * different copy without waiting for each other; when every free copy is locked or borrowed, nothing is returned.
+     * The copy's book is not joined, so the book row is never locked here. Dialects without {@code SKIP LOCKED}
+     * (Hibernate's H2 dialect among them) render a plain {@code FOR UPDATE}: borrowers then queue on the copy
+     * instead of skipping it, which is slower under contention but still allocates each copy once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))  // LockOptions.SKIP_LOCKED
+    Optional<BookCopy> findFirstByBookIdIdAndAvailableTrueOrderByIdAsc(Long bookId);
+
+    /** Whether the book has a free copy, as last committed; a plain read that waits for no lock. */
+    boolean existsByBookIdIdAndAvailableTrue(Long bookId);
+
+    long countByBookIdId(Long bookId);
+
+    long countByBookIdIdAndAvailableTrue(Long bookId);
+}
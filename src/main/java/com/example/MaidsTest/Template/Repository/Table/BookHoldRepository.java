@@ -0,0 +1,34 @@
+package com.example.MaidsTest.Template.Repository.Table;
+
+import com.example.MaidsTest.Template.Model.Table.BookHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface BookHoldRepository extends JpaRepository<BookHold, Long> {
+
+    boolean existsByBookIdIdAndPatronIdIdAndFulfilledDateIsNull(Long bookId, Long patronId);
+
+    /** Position of a waiting hold in the queue of its book, 1 for the next one served. */
+    long countByBookIdIdAndFulfilledDateIsNullAndIdLessThanEqual(Long bookId, Long id);
+
+    /** Book id, hold id and patron id of every waiting hold, in queue order, to rebuild the in-memory queues. */
+    @Query("SELECT h.bookId.id, h.id, h.patronId.id FROM BookHold h WHERE h.fulfilledDate IS NULL ORDER BY h.id")
+    List<Object[]> findWaiting();
+
+    /**
+     * Fulfils the hold if it is still waiting; the condition makes sure a hold is served once even when several
+     * instances of the application share the database.
+     *
+     * @return 1 if the hold was fulfilled, 0 if it was already fulfilled or deleted
+     */
+    @Modifying
+    @Query("UPDATE BookHold h SET h.fulfilledDate = :date WHERE h.id = :id AND h.fulfilledDate IS NULL")
+    int fulfil(@Param("id") Long id, @Param("date") Date date);
+}
@@ -1,9 +1,102 @@
 package com.example.MaidsTest.Template.Repository.Table;
 
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
 import com.example.MaidsTest.Template.Model.Table.Book;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+    String BOOK_DTO = "new com.example.MaidsTest.Template.API.Response.DTO.CBookDTO("
+            + "b.id, b.title, b.author, b.pages, b.price, b.publicationYear, b.available)";
+
+    /**
+     * All books, projected straight into {@link CBookDTO}: only the listed columns are selected and
+     * nothing enters the persistence context.
+     */
+    @Query("SELECT " + BOOK_DTO + " FROM Book b ORDER BY b.id")
+    List<CBookDTO> findAllDtos();
+
+    /** Offset page of the projection; a slice reads one extra row instead of running a count query. */
+    @Query("SELECT " + BOOK_DTO + " FROM Book b")
+    Slice<CBookDTO> findDtos(Pageable pageable);
+
+    /** Keyset page of the projection: rows after the given id, so deep pages cost the same as the first one. */
+    @Query("SELECT " + BOOK_DTO + " FROM Book b WHERE b.id > :id")
+    Slice<CBookDTO> findDtosAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Streams the whole table ordered by id. Rows are fetched from the JDBC cursor in chunks of the fetch size
+     * (MySQL needs {@code useCursorFetch=true}); the stream must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAll();
+
+    /** Streams the ids after the given one, in id order, for the availability index; same cursor fetch as {@link #streamAll()}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b.id FROM Book b WHERE b.id > :id ORDER BY b.id")
+    Stream<Long> streamIdsAfter(@Param("id") Long id);
+
+    /** Ids of the borrowed books after the given one; far fewer than the books, so read as a list. */
+    @Query("SELECT b.id FROM Book b WHERE b.id > :id AND b.available = false")
+    List<Long> findBorrowedIdsAfter(@Param("id") Long id);
+
+    /** Locks the book row until the end of the transaction ({@code SELECT ... FOR UPDATE}). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id = :id")
+    Optional<Book> findByIdForUpdate(@Param("id") Long id);
+
+    /** Locks the book rows in id order, so that concurrent callers locking several books cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
+    List<Book> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Marks the book as borrowed once its last free copy is taken, in a single conditional UPDATE. The condition
+     * is checked by this statement, so it must run after {@link #findByIdForUpdate}: a return committing at the
+     * same time holds the book row until its freed copy is visible, and the book stays available. Every borrow runs
+     * it, so concurrent borrows of the last copies check them one after the other.
+     *
+     * @return 1 if the book became unavailable, 0 if it still has a free copy
+     */
+    @Modifying
+    @Query("UPDATE Book b SET b.available = false WHERE b.id = :id AND NOT EXISTS "
+            + "(SELECT c.id FROM BookCopy c WHERE c.bookId.id = :id AND c.available = true)")
+    int markBorrowedIfNoFreeCopy(@Param("id") Long id);
+
+    /**
+     * Marks the books as available again once a copy is freed, in a single UPDATE. The book entity loaded with the
+     * loan may be older than a concurrent {@link #markBorrowedIfNoFreeCopy}, so the flag is not left to dirty
+     * checking. The row is written even when it is already available: the row lock is what makes a concurrent
+     * borrow of the last copy wait and re-check for the copy freed here (flushed before this statement runs).
+     *
+     * @return The number of books updated
+     */
+    @Modifying
+    @Query("UPDATE Book b SET b.available = true WHERE b.id IN :ids")
+    int markAvailable(@Param("ids") Collection<Long> ids);
+
+    /** Deletes without loading the entity first; returns the number of deleted rows (0 or 1). */
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBookById(@Param("id") Long id);
 }
@@ -0,0 +1,19 @@
+package com.example.MaidsTest.Template.Repository.Table;
+
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Queries of {@link BookRepository} that Spring Data cannot derive.
+ */
+public interface BookRepositoryCustom {
+
+    /**
+     * Reads one page of the books matching the specification, in the order of the pageable, projected into
+     * {@link CBookDTO}. Like the derived slice queries, it reads one extra row instead of running a count query.
+     */
+    Slice<CBookDTO> findDtoSlice(Specification<Book> specification, Pageable pageable);
+}
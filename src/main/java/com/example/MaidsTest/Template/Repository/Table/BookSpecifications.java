@@ -0,0 +1,49 @@
+package com.example.MaidsTest.Template.Repository.Table;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicates of the book list filters. Every factory returns null (no restriction) for a null argument, so they
+ * can be combined with {@link Specification#where} and {@code and} whatever the client sent.
+ */
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    /** Available books (with a free copy), or borrowed ones; an equality on the leading column of the V3 indexes. */
+    public static Specification<Book> isAvailable(Boolean available) {
+        return available == null ? null : (root, query, cb) -> cb.equal(root.get("available"), available);
+    }
+
+    public static Specification<Book> publishedBetween(Integer from, Integer to) {
+        return between("publicationYear", from, to);
+    }
+
+    public static Specification<Book> priceBetween(Double min, Double max) {
+        return between("price", min, max);
+    }
+
+    public static Specification<Book> pagesBetween(Integer min, Integer max) {
+        return between("pages", min, max);
+    }
+
+    /** Keyset cursor: the books after the given id. */
+    public static Specification<Book> idGreaterThan(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static <T extends Comparable<? super T>> Specification<Book> between(String property, T from, T to) {
+        if (from != null && to != null) {
+            return (root, query, cb) -> cb.between(root.get(property), from, to);
+        }
+        if (from != null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(property), from);
+        }
+        if (to != null) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(property), to);
+        }
+        return null;
+    }
+}
@@ -1,18 +1,82 @@
 package com.example.MaidsTest.Template.Repository.Table;
 
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
 import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 
 @Repository
 public interface BorrowingRecordRepository extends JpaRepository<BorrowingRecord, Long> {
-    @Query("SELECT A FROM BorrowingRecord A WHERE A.bookId.id = :bookId AND A.patronId.id = :patronId AND A.bookId.available = FALSE AND A.returnDate IS NULL")
-    Optional<BorrowingRecord> findByBookIdAndPatronId(@Param("bookId") Long bookId, @Param("patronId") Long patronId);
+    /** Open loans of a book by a patron (one per copy taken), oldest first, with their book, patron and copy. */
+    @Query("SELECT A FROM BorrowingRecord A JOIN FETCH A.bookId JOIN FETCH A.patronId JOIN FETCH A.copyId WHERE A.bookId.id = :bookId AND A.patronId.id = :patronId AND A.returnDate IS NULL ORDER BY A.id")
+    List<BorrowingRecord> findOpenByBookIdAndPatronId(@Param("bookId") Long bookId, @Param("patronId") Long patronId);
 
-    @Query("SELECT b FROM BorrowingRecord b WHERE b.bookId.id = :bookId AND b.returnDate IS NULL")
-    Optional<BorrowingRecord> findByBookIdAndReturnDateIsNull(@Param("bookId") Long bookId);
+    /** Open loans of a book, one per copy taken, oldest first. */
+    @Query("SELECT b FROM BorrowingRecord b WHERE b.bookId.id = :bookId AND b.returnDate IS NULL ORDER BY b.id")
+    List<BorrowingRecord> findOpenByBookId(@Param("bookId") Long bookId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BorrowingRecord b JOIN FETCH b.bookId JOIN FETCH b.patronId JOIN FETCH b.copyId WHERE b.bookId.id IN :bookIds AND b.returnDate IS NULL ORDER BY b.bookId.id, b.id")
+    List<BorrowingRecord> findOpenByBookIdsForUpdate(@Param("bookIds") Collection<Long> bookIds);
+
+    String RECORD_DTO = "new com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO("
+            + "r.id, b.title, b.author, p.name, p.phoneNumber, r.borrowDate, r.returnDate, r.dueDate, r.fine)";
+
+    /**
+     * Loan history of a patron, projected into {@link CBorrowingRecordDTO}. The book and the patron are inner-joined
+     * (both to-one), so a page is one query selecting only the displayed columns, and the LIMIT still applies in SQL.
+     */
+    @Query("SELECT " + RECORD_DTO + " FROM BorrowingRecord r JOIN r.bookId b JOIN r.patronId p WHERE p.id = :patronId")
+    Slice<CBorrowingRecordDTO> findDtosByPatronId(@Param("patronId") Long patronId, Pageable pageable);
+
+    /** Keyset page of the loan history of a patron: records after the given id. */
+    @Query("SELECT " + RECORD_DTO + " FROM BorrowingRecord r JOIN r.bookId b JOIN r.patronId p WHERE p.id = :patronId AND r.id > :after")
+    Slice<CBorrowingRecordDTO> findDtosByPatronIdAfter(@Param("patronId") Long patronId, @Param("after") Long after, Pageable pageable);
+
+    /** Loan history of a book, same projection as {@link #findDtosByPatronId}. */
+    @Query("SELECT " + RECORD_DTO + " FROM BorrowingRecord r JOIN r.bookId b JOIN r.patronId p WHERE b.id = :bookId")
+    Slice<CBorrowingRecordDTO> findDtosByBookId(@Param("bookId") Long bookId, Pageable pageable);
+
+    /** Keyset page of the loan history of a book: records after the given id. */
+    @Query("SELECT " + RECORD_DTO + " FROM BorrowingRecord r JOIN r.bookId b JOIN r.patronId p WHERE b.id = :bookId AND r.id > :after")
+    Slice<CBorrowingRecordDTO> findDtosByBookIdAfter(@Param("bookId") Long bookId, @Param("after") Long after, Pageable pageable);
+
+    /** Open loans past their due date, same projection as {@link #findDtosByPatronId}; read through the open due date index. */
+    @Query("SELECT " + RECORD_DTO + " FROM BorrowingRecord r JOIN r.bookId b JOIN r.patronId p WHERE r.openDueDate < :now")
+    Slice<CBorrowingRecordDTO> findOverdueDtos(@Param("now") Date now, Pageable pageable);
+
+    /** Keyset page of the overdue loans: records after the given id. */
+    @Query("SELECT " + RECORD_DTO + " FROM BorrowingRecord r JOIN r.bookId b JOIN r.patronId p WHERE r.openDueDate < :now AND r.id > :after")
+    Slice<CBorrowingRecordDTO> findOverdueDtosAfter(@Param("now") Date now, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Id and due date of the open loans due after the (due date, id) cursor and no later than {@code to}, in due
+     * date order; a range scan of the open due date index that never reads returned loans or loans not yet due.
+     */
+    @Query("SELECT r.id, r.openDueDate FROM BorrowingRecord r WHERE r.openDueDate <= :to "
+            + "AND (r.openDueDate > :from OR (r.openDueDate = :from AND r.id > :afterId)) ORDER BY r.openDueDate, r.id")
+    List<Object[]> findOpenDueBetween(@Param("from") Date from, @Param("afterId") Long afterId, @Param("to") Date to,
+                                      Pageable pageable);
+
+    /**
+     * Flags the given loans as overdue, skipping those returned or flagged in the meantime.
+     *
+     * @return The number of loans flagged
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE BorrowingRecord r SET r.overdueDate = :date WHERE r.id IN :ids AND r.returnDate IS NULL AND r.overdueDate IS NULL")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("date") Date date);
 }
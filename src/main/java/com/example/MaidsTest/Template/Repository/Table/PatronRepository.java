@@ -1,9 +1,43 @@
 package com.example.MaidsTest.Template.Repository.Table;
 
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
 import com.example.MaidsTest.Template.Model.Table.Patron;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface PatronRepository extends JpaRepository<Patron, Long> {
+    String PATRON_DTO = "new com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO("
+            + "p.id, p.name, p.phoneNumber, p.address)";
+
+    @Query("SELECT " + PATRON_DTO + " FROM Patron p ORDER BY p.id")
+    List<CPatronDTO> findAllDtos();
+
+    @Query("SELECT " + PATRON_DTO + " FROM Patron p")
+    Slice<CPatronDTO> findDtos(Pageable pageable);
+
+    @Query("SELECT " + PATRON_DTO + " FROM Patron p WHERE p.id > :id")
+    Slice<CPatronDTO> findDtosAfter(@Param("id") Long id, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Patron p ORDER BY p.id")
+    Stream<Patron> streamAll();
+
+    @Modifying
+    @Query("DELETE FROM Patron p WHERE p.id = :id")
+    int deletePatronById(@Param("id") Long id);
 }
@@ -1,15 +1,45 @@
 package com.example.MaidsTest.Template.RestController.Table;
 
+import com.example.MaidsTest.Base.API.Request.CCsvReader;
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.API.Response.CNdjsonWriter;
 import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Template.API.Request.Book.CBookFilterRequest;
+import com.example.MaidsTest.Template.API.Response.Book.CBookAvailabilityResponse;
+import com.example.MaidsTest.Template.API.Response.Book.CBookCopiesResponse;
+import com.example.MaidsTest.Template.API.Response.Book.CBookHoldResponse;
 import com.example.MaidsTest.Template.API.Response.Book.CGetBookResponse;
+import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CGetBorrowingRecordResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookCopiesDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
 import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBookMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CImportMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPageMapper;
+import com.example.MaidsTest.Template.API.Response.Import.CImportResponse;
 import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Service.Availability.BookAvailabilityIndex;
+import com.example.MaidsTest.Template.Service.Availability.BookAvailabilityService;
+import com.example.MaidsTest.Template.Service.Hold.BookHoldService;
+import com.example.MaidsTest.Template.Service.Import.ImportResult;
+import com.example.MaidsTest.Template.Service.Search.BookSearchService;
 import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for managing books.
@@ -20,6 +50,7 @@ import java.util.List;
  * </p>
  */
 @RestController
+@Profile("!reactive")  // Replaced by the WebFlux controllers of the reactive variant
 @RequestMapping("/api/books")  // Endpoint mapping for book-related API
 public class BookRestController {
 
@@ -27,31 +58,155 @@ public class BookRestController {
     @Autowired
     private BookService bookService;
 
+    /** Service for the loan history of a book. */
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    /** Service for the in-memory availability checks. */
+    @Autowired
+    private BookAvailabilityService bookAvailabilityService;
+
+    /** Service for the hold queues. */
+    @Autowired
+    private BookHoldService bookHoldService;
+
+    /** Service for the title/author search. */
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    /** Serializes the rows of the streaming export. */
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Endpoint for retrieving all books.
+     * Endpoint for retrieving books.
      * <p>
-     * This method handles HTTP GET requests to {@code /api/books}. It retrieves all books
-     * from the database through the {@link BookService} and returns them in a response.
+     * This method handles HTTP GET requests to {@code /api/books}. With {@code page}/{@code size}
+     * or {@code after}/{@code size} query parameters it returns a single page of books together with
+     * the paging metadata (the {@code nextCursor} can be passed as {@code after} to read the next page).
+     * With filters ({@code available}, {@code yearFrom}/{@code yearTo}, {@code minPrice}/{@code maxPrice},
+     * {@code minPages}/{@code maxPages}) or a {@code sort} it returns a page of the matching books, filtered and
+     * ordered by the database; a {@code nextCursor} is only given in the default id order.
+     * Without any of these parameters it retrieves all books through the {@link BookService}.
      * </p>
      *
+     * @param filterRequest The optional filter, sort and paging parameters.
      * @return A {@link CGetBookResponse} containing a list of books and success information.
      */
     @GetMapping
-    public CGetBookResponse getAllBooks() {
+    public CGetBookResponse getAllBooks(@ModelAttribute CBookFilterRequest filterRequest) {
 
         CGetBookResponse apiResponse = new CGetBookResponse();
 
-        // Fetching all books using the service
-        List<Book> books = bookService.getAllBooks();
+        if (filterRequest.isFiltered() || filterRequest.isSorted()) {
+            // Fetching a single page of the matching books using the service
+            Slice<CBookDTO> books = bookService.findBooks(filterRequest);
+
+            apiResponse.setBookList(books.getContent());
+            apiResponse.setPagination(CPageMapper.parse(books, filterRequest.isSorted() ? null : CBookDTO::getId));
+        } else if (filterRequest.isPaged()) {
+            // Fetching a single page of books using the service
+            Slice<CBookDTO> books = bookService.getBooks(filterRequest);
+
+            apiResponse.setBookList(books.getContent());
+            apiResponse.setPagination(CPageMapper.parse(books, CBookDTO::getId));
+        } else {
+            // Fetching all books using the service, already projected to the response format
+            apiResponse.setBookList(bookService.getAllBookDTOs());
+        }
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.GET_ALL_BOOK_SUCCESSFULLY.toString());  // Success message
+
+        return apiResponse;
+    }
+
+    /**
+     * Endpoint for searching books by title or author.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/books/search?q=}. Every word of the query must match
+     * the title or the author, as a whole word, a prefix, a substring or with a typo. The books are ordered by
+     * relevance, title matches first.
+     * </p>
+     *
+     * @param q    The search query.
+     * @param size The optional maximum number of books (default 20, at most 100).
+     * @return A {@link CGetBookResponse} containing the matching books and success information.
+     */
+    @GetMapping("/search")
+    public CGetBookResponse searchBooks(@RequestParam String q, @RequestParam(required = false) Integer size) {
+
+        CGetBookResponse apiResponse = new CGetBookResponse();
+
+        // Searching the books using the search index
+        List<Book> books = bookSearchService.search(q, size);
 
         // Mapping the list of books to the response format
         apiResponse.setBookList(CBookMapper.parse(books));
         apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
-        apiResponse.setSuccessMessage(ESuccess.GET_ALL_BOOK_SUCCESSFULLY.toString());  // Success message
+        apiResponse.setSuccessMessage(ESuccess.SEARCH_BOOKS_SUCCESSFULLY.toString());  // Success message
+
+        return apiResponse;
+    }
+
+    /**
+     * Endpoint for checking the availability of several books at once.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/books/availability?ids=1,2,3}. The answer comes from
+     * the in-memory availability index, without a database query; ids of books that do not exist are listed
+     * under {@code notFound}.
+     * </p>
+     *
+     * @param ids The book IDs (at most 1000).
+     * @return A {@link CBookAvailabilityResponse} with the availability of each book and success information.
+     */
+    @GetMapping("/availability")
+    public CBookAvailabilityResponse getAvailability(@RequestParam List<Long> ids) {
+
+        CBookAvailabilityResponse apiResponse = new CBookAvailabilityResponse();
+        Map<Long, Boolean> availability = new LinkedHashMap<>();
+        List<Long> notFound = new ArrayList<>();
+
+        // Splitting the indexed states into the response format
+        bookAvailabilityService.getAvailability(ids).forEach((id, state) -> {
+            if (state == BookAvailabilityIndex.State.UNKNOWN) {
+                notFound.add(id);
+            } else {
+                availability.put(id, state == BookAvailabilityIndex.State.AVAILABLE);
+            }
+        });
+
+        apiResponse.setAvailability(availability);
+        apiResponse.setNotFound(notFound);
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.GET_BOOK_AVAILABILITY_SUCCESSFULLY.toString());  // Success message
 
         return apiResponse;
     }
 
+    /**
+     * Endpoint for exporting the whole book catalog.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/books/export}. The books are read from a
+     * database cursor and written one JSON document per line (NDJSON) while the response is streamed,
+     * so memory use stays constant whatever the number of rows.
+     * </p>
+     *
+     * @return A streaming response body producing {@code application/x-ndjson}.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+
+        // Streaming the books straight from the database cursor to the response
+        StreamingResponseBody body = outputStream -> {
+            CNdjsonWriter writer = new CNdjsonWriter(objectMapper, outputStream);
+            bookService.exportBooks(book -> writer.accept(CBookMapper.parse(book)));
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Endpoint for retrieving a specific book by its ID.
      * <p>
@@ -78,6 +233,35 @@ public class BookRestController {
         return apiResponse;
     }
 
+    /**
+     * Endpoint for retrieving the loan history of a book.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/books/{id}/borrowings}. It returns one page of the
+     * book's borrowing records, ordered by record ID, with the paging parameters and metadata of the list endpoints.
+     * Each page is read with a single query.
+     * </p>
+     *
+     * @param id          The ID of the book.
+     * @param pageRequest The optional paging parameters.
+     * @return A {@link CGetBorrowingRecordResponse} containing the borrowing records and success information.
+     */
+    @GetMapping("/{id}/borrowings")
+    public CGetBorrowingRecordResponse getBookBorrowings(@PathVariable Long id, @ModelAttribute CPageRequest pageRequest) {
+
+        CGetBorrowingRecordResponse apiResponse = new CGetBorrowingRecordResponse();
+
+        // Fetching one page of the loan history using the service
+        Slice<CBorrowingRecordDTO> records = borrowingRecordService.getBookBorrowings(id, pageRequest);
+
+        // Mapping the paging metadata to the response format
+        apiResponse.setBorrowingRecordList(records.getContent());
+        apiResponse.setPagination(CPageMapper.parse(records, CBorrowingRecordDTO::getId));
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.GET_ALL_BORROWING_RECORD_SUCCESSFULLY.name());  // Success message
+
+        return apiResponse;
+    }
+
     /**
      * Endpoint for adding a new book.
      * <p>
@@ -104,6 +288,93 @@ public class BookRestController {
         return apiResponse;
     }
 
+    /**
+     * Endpoint for importing many books at once from a JSON array.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/books/import} with a JSON body. Every row is
+     * validated; valid rows are inserted in JDBC batches and invalid rows are reported with their errors.
+     * </p>
+     *
+     * @param books The books to import, provided in the request body.
+     * @return A {@link CImportResponse} containing the import summary and the per-row errors.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CImportResponse importBooks(@RequestBody List<Book> books) {
+
+        return toImportResponse(bookService.importBooks(books));
+    }
+
+    /**
+     * Endpoint for importing many books at once from CSV.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/books/import} with a {@code text/csv} body whose
+     * header names the book fields, e.g. {@code title,author,pages,price,publicationYear}.
+     * </p>
+     *
+     * @param inputStream The CSV request body.
+     * @return A {@link CImportResponse} containing the import summary and the per-row errors.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public CImportResponse importBooksCsv(InputStream inputStream) {
+
+        return toImportResponse(bookService.importBooks(CCsvReader.read(inputStream, Book.class)));
+    }
+
+    /**
+     * Endpoint for counting the copies of a book.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/books/{id}/copies}. Borrowing takes any free copy,
+     * so a book stays available while {@code availableCopies} is above zero.
+     * </p>
+     *
+     * @param id The ID of the book.
+     * @return A {@link CBookCopiesResponse} with the number of copies and free copies, and success information.
+     */
+    @GetMapping("/{id}/copies")
+    public CBookCopiesResponse getCopies(@PathVariable Long id) {
+        return toCopiesResponse(bookService.getCopies(id), ESuccess.GET_BOOK_COPIES_SUCCESSFULLY);
+    }
+
+    /**
+     * Endpoint for adding copies of a book.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/books/{id}/copies?count=}. {@code count} is optional
+     * (default 1, at most 100); the new copies are free.
+     * </p>
+     *
+     * @param id    The ID of the book.
+     * @param count The number of copies to add.
+     * @return A {@link CBookCopiesResponse} with the copy counts after the change, and success information.
+     */
+    @PostMapping("/{id}/copies")
+    public CBookCopiesResponse addCopies(@PathVariable Long id, @RequestParam(defaultValue = "1") int count) {
+        return toCopiesResponse(bookService.addCopies(id, count), ESuccess.BOOK_COPIES_ADDED_SUCCESSFULLY);
+    }
+
+    /**
+     * Endpoint for placing a hold on a book.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/books/{id}/holds?patronId=}. Only a book with no free
+     * copy can be held; the next returned copy is lent to the oldest hold, so the patron does not have to retry
+     * the borrow.
+     * </p>
+     *
+     * @param id       The ID of the book.
+     * @param patronId The ID of the waiting patron.
+     * @return A {@link CBookHoldResponse} with the hold and its position in the queue, and success information.
+     */
+    @PostMapping("/{id}/holds")
+    public CBookHoldResponse placeHold(@PathVariable Long id, @RequestParam Long patronId) {
+
+        CBookHoldResponse apiResponse = new CBookHoldResponse();
+
+        apiResponse.setHold(bookHoldService.placeHold(id, patronId));
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.BOOK_HOLD_PLACED_SUCCESSFULLY.toString());  // Success message
+
+        return apiResponse;
+    }
+
     /**
      * Endpoint for updating an existing book.
      * <p>
@@ -155,4 +426,24 @@ public class BookRestController {
 
         return apiResponse;
     }
+
+    private CImportResponse toImportResponse(ImportResult importResult) {
+
+        CImportResponse apiResponse = new CImportResponse();
+
+        // Mapping the import summary to the response format
+        CImportMapper.parse(importResult, apiResponse);
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.BOOKS_IMPORTED_SUCCESSFULLY.name());  // Success message
+
+        return apiResponse;
+    }
+
+    private CBookCopiesResponse toCopiesResponse(CBookCopiesDTO inventory, ESuccess success) {
+        CBookCopiesResponse apiResponse = new CBookCopiesResponse();
+        apiResponse.setInventory(inventory);
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(success.toString());  // Success message
+        return apiResponse;
+    }
 }
@@ -1,14 +1,31 @@
 package com.example.MaidsTest.Template.RestController.Table;
 
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
 import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Template.API.Request.BorrowingRecord.CBatchBorrowingRequest;
+import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CBatchBorrowingRecordResponse;
 import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CGetBorrowingRecordResponse;
+import com.example.MaidsTest.Template.API.Response.Fine.CFineRunResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
 import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBorrowingRecordMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CFineRunMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPageMapper;
 import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Service.Fine.FineBatchJob;
+import com.example.MaidsTest.Template.Service.Fine.FineRunReport;
+import com.example.MaidsTest.Template.Service.Overdue.OverdueLoanService;
 import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * REST controller for managing borrowing records.
  * <p>
@@ -18,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
  * </p>
  */
 @RestController
+@Profile("!reactive")  // Replaced by the WebFlux controllers of the reactive variant
 @RequestMapping("/api/borrowings")  // Endpoint mapping for borrowing-related operations
 public class BorrowingRecordRestController {
 
@@ -25,6 +43,14 @@ public class BorrowingRecordRestController {
     @Autowired
     private BorrowingRecordService borrowingRecordService;
 
+    /** Service for the overdue loans. */
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    /** Batch computing the fines of the overdue loans. */
+    @Autowired
+    private FineBatchJob fineBatchJob;
+
     /**
      * Endpoint for borrowing a book.
      * <p>
@@ -78,4 +104,112 @@ public class BorrowingRecordRestController {
 
         return apiResponse;
     }
+
+    /**
+     * Endpoint for borrowing several books at once.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/borrowings/batch}. All items are processed in a
+     * single transaction; an item that cannot be borrowed is reported in the results without failing the others.
+     * </p>
+     *
+     * @param request The (bookId, patronId) pairs to borrow.
+     * @return A {@link CBatchBorrowingRecordResponse} containing one result per item.
+     */
+    @PostMapping("/batch")
+    public CBatchBorrowingRecordResponse borrowBooks(@RequestBody CBatchBorrowingRequest request) {
+
+        // Borrowing the books using the service
+        List<BorrowingResult> results = borrowingRecordService.borrowBooks(request.getItems());
+
+        return toBatchResponse(results, ESuccess.BATCH_BORROW_PROCESSED);
+    }
+
+    /**
+     * Endpoint for returning several borrowed books at once.
+     * <p>
+     * This method handles HTTP PUT requests to {@code /api/borrowings/return/batch}. All items are processed in
+     * a single transaction; an item without an open borrowing record is reported in the results.
+     * </p>
+     *
+     * @param request The (bookId, patronId) pairs to return.
+     * @return A {@link CBatchBorrowingRecordResponse} containing one result per item.
+     */
+    @PutMapping("/return/batch")
+    public CBatchBorrowingRecordResponse returnBooks(@RequestBody CBatchBorrowingRequest request) {
+
+        // Returning the books using the service
+        List<BorrowingResult> results = borrowingRecordService.returnBooks(request.getItems());
+
+        return toBatchResponse(results, ESuccess.BATCH_RETURN_PROCESSED);
+    }
+
+    /**
+     * Endpoint for retrieving the overdue loans.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/borrowings/overdue}. It returns one page of the open
+     * loans past their due date, ordered by record ID, with the paging parameters and metadata of the list endpoints.
+     * </p>
+     *
+     * @param pageRequest The optional paging parameters.
+     * @return A {@link CGetBorrowingRecordResponse} containing the overdue loans and success information.
+     */
+    @GetMapping("/overdue")
+    public CGetBorrowingRecordResponse getOverdueLoans(@ModelAttribute CPageRequest pageRequest) {
+
+        CGetBorrowingRecordResponse apiResponse = new CGetBorrowingRecordResponse();
+
+        // Fetching one page of the overdue loans using the service
+        Slice<CBorrowingRecordDTO> records = overdueLoanService.getOverdueLoans(pageRequest);
+
+        // Mapping the paging metadata to the response format
+        apiResponse.setBorrowingRecordList(records.getContent());
+        apiResponse.setPagination(CPageMapper.parse(records, CBorrowingRecordDTO::getId));
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.GET_OVERDUE_BORROWING_RECORD_SUCCESSFULLY.name());  // Success message
+
+        return apiResponse;
+    }
+
+    /**
+     * Endpoint for running the fine batch.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/borrowings/fines/run?date=}. {@code date} is optional
+     * (ISO format, default today). The batch also runs every night; calling it for a date that already completed
+     * does nothing, and calling it for a date whose run failed resumes that run.
+     * </p>
+     *
+     * @param date The date the fines are computed for.
+     * @return A {@link CFineRunResponse} containing the rows written and the throughput of the run.
+     */
+    @PostMapping("/fines/run")
+    public CFineRunResponse runFines(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        CFineRunResponse apiResponse = new CFineRunResponse();
+
+        // Running (or resuming) the fine batch using the service
+        FineRunReport report = fineBatchJob.run(date == null ? LocalDate.now() : date);
+
+        // Mapping the report to the response format
+        CFineRunMapper.parse(report, apiResponse);
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.FINE_RUN_COMPLETED.name());  // Success message
+
+        return apiResponse;
+    }
+
+    private CBatchBorrowingRecordResponse toBatchResponse(List<BorrowingResult> results, ESuccess successMessage) {
+
+        CBatchBorrowingRecordResponse apiResponse = new CBatchBorrowingRecordResponse();
+
+        int succeeded = (int) results.stream().filter(BorrowingResult::isSuccess).count();
+
+        // Mapping the per-item results to the response format
+        apiResponse.setResults(CBorrowingRecordMapper.parse(results));
+        apiResponse.setSucceeded(succeeded);
+        apiResponse.setFailed(results.size() - succeeded);
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(successMessage.name());  // Success message
+
+        return apiResponse;
+    }
 }
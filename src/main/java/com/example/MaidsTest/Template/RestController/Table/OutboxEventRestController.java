@@ -0,0 +1,60 @@
+package com.example.MaidsTest.Template.RestController.Table;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.COutboxEventMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPageMapper;
+import com.example.MaidsTest.Template.API.Response.Event.CGetOutboxEventResponse;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEvent;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the change stream.
+ * <p>
+ * This class exposes the events published from the outbox by {@link OutboxService}, so that downstream systems can
+ * follow the changes to books and loans incrementally instead of polling the book list.
+ * </p>
+ */
+@RestController
+@Profile("!reactive")  // Replaced by the WebFlux controllers of the reactive variant
+@RequestMapping("/api/events")  // Endpoint mapping for the change stream
+public class OutboxEventRestController {
+
+    /** Service for the outbox and its published events. */
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Endpoint for reading the change stream.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/events?after=&size=}. It returns the published events
+     * after the sequence number {@code after} (0 or absent for the start of the stream), in sequence order. The
+     * {@code nextCursor} of the pagination is the {@code after} of the next call.
+     * </p>
+     *
+     * @param pageRequest The cursor and page size; {@code page} is ignored.
+     * @return A {@link CGetOutboxEventResponse} containing the events and success information.
+     */
+    @GetMapping
+    public CGetOutboxEventResponse getEvents(@ModelAttribute CPageRequest pageRequest) {
+
+        CGetOutboxEventResponse apiResponse = new CGetOutboxEventResponse();
+
+        // Fetching the events after the cursor using the service
+        long after = pageRequest.isKeyset() ? pageRequest.getAfter() : 0;
+        Slice<OutboxEvent> events = outboxService.getEventsAfter(after, pageRequest.toPageable().getPageSize());
+
+        // Mapping the events and the paging metadata to the response format
+        apiResponse.setEvents(COutboxEventMapper.parse(events.getContent()));
+        apiResponse.setPagination(CPageMapper.parse(events, OutboxEvent::sequenceNo));
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.GET_EVENTS_SUCCESSFULLY.name());  // Success message
+
+        return apiResponse;
+    }
+}
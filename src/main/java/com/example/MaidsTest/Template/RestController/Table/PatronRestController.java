@@ -1,17 +1,34 @@
 package com.example.MaidsTest.Template.RestController.Table;
 
+import com.example.MaidsTest.Base.API.Request.CCsvReader;
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.API.Response.CNdjsonWriter;
 import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CGetBorrowingRecordResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
 import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBookMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CImportMapper;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPageMapper;
 import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPatronMapper;
 import com.example.MaidsTest.Template.API.Response.Patron.CGetPatronResponse;
+import com.example.MaidsTest.Template.API.Response.Import.CImportResponse;
 import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Service.Import.ImportResult;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
 import com.example.MaidsTest.Template.Service.Table.PatronService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +41,7 @@ import java.util.Map;
  * </p>
  */
 @RestController
+@Profile("!reactive")  // Replaced by the WebFlux controllers of the reactive variant
 @RequestMapping("/api/patrons")  // Defines the base URL for all patron-related operations.
 public class PatronRestController {
 
@@ -31,31 +49,69 @@ public class PatronRestController {
     @Autowired
     private PatronService patronService;
 
+    /** Service for the loan history of a patron. */
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    /** Serializes the rows of the streaming export. */
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Endpoint for retrieving all patrons.
+     * Endpoint for retrieving patrons.
      * <p>
      * This method handles HTTP GET requests to {@code /api/patrons}.
-     * It retrieves a list of all patrons in the library system.
+     * It returns one page of patrons when {@code page}, {@code size} or {@code after} is given,
+     * otherwise a list of all patrons in the library system.
      * </p>
      *
+     * @param pageRequest The optional paging parameters.
      * @return A {@link CGetPatronResponse} containing a list of patrons and success status.
      */
     @GetMapping
-    public CGetPatronResponse getAllPatrons() {
+    public CGetPatronResponse getAllPatrons(@ModelAttribute CPageRequest pageRequest) {
 
         CGetPatronResponse apiResponse = new CGetPatronResponse();
 
-        // Retrieve the list of all patrons using the service
-        List<Patron> patrons = patronService.getAllPatrons();
+        if (pageRequest.isPaged()) {
+            // Retrieve a single page of patrons using the service
+            Slice<CPatronDTO> patrons = patronService.getPatrons(pageRequest);
 
-        // Map the patron list to the response format
-        apiResponse.setPatronList(CPatronMapper.parse(patrons));
+            apiResponse.setPatronList(patrons.getContent());
+            apiResponse.setPagination(CPageMapper.parse(patrons, CPatronDTO::getId));
+        } else {
+            // Retrieve the list of all patrons using the service, already projected to the response format
+            apiResponse.setPatronList(patronService.getAllPatronDTOs());
+        }
         apiResponse.setStatus(HttpStatus.OK);  // HTTP status for success
         apiResponse.setSuccessMessage(ESuccess.GET_ALL_PATRON_SUCCESSFULLY.name());  // Success message
 
         return apiResponse;
     }
 
+    /**
+     * Endpoint for exporting all patrons.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/patrons/export}.
+     * It streams every patron as NDJSON without building the full list in memory.
+     * </p>
+     *
+     * @return A streaming response body producing {@code application/x-ndjson}.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPatrons() {
+
+        // Stream the patrons straight from the database cursor to the response
+        StreamingResponseBody body = outputStream -> {
+            CNdjsonWriter writer = new CNdjsonWriter(objectMapper, outputStream);
+            patronService.exportPatrons(patron -> writer.accept(CPatronMapper.parse(patron)));
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Endpoint for retrieving a patron by their ID.
      * <p>
@@ -82,6 +138,35 @@ public class PatronRestController {
         return apiResponse;
     }
 
+    /**
+     * Endpoint for retrieving the loan history of a patron.
+     * <p>
+     * This method handles HTTP GET requests to {@code /api/patrons/{id}/borrowings}. It returns one page of the
+     * patron's borrowing records, ordered by record ID, with the paging parameters and metadata of the list endpoints.
+     * Each page is read with a single query.
+     * </p>
+     *
+     * @param id          The ID of the patron.
+     * @param pageRequest The optional paging parameters.
+     * @return A {@link CGetBorrowingRecordResponse} containing the borrowing records and success information.
+     */
+    @GetMapping("/{id}/borrowings")
+    public CGetBorrowingRecordResponse getPatronBorrowings(@PathVariable Long id, @ModelAttribute CPageRequest pageRequest) {
+
+        CGetBorrowingRecordResponse apiResponse = new CGetBorrowingRecordResponse();
+
+        // Fetching one page of the loan history using the service
+        Slice<CBorrowingRecordDTO> records = borrowingRecordService.getPatronBorrowings(id, pageRequest);
+
+        // Mapping the paging metadata to the response format
+        apiResponse.setBorrowingRecordList(records.getContent());
+        apiResponse.setPagination(CPageMapper.parse(records, CBorrowingRecordDTO::getId));
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.GET_ALL_BORROWING_RECORD_SUCCESSFULLY.name());  // Success message
+
+        return apiResponse;
+    }
+
     /**
      * Endpoint for adding a new patron to the system.
      * <p>
@@ -108,6 +193,37 @@ public class PatronRestController {
         return apiResponse;
     }
 
+    /**
+     * Endpoint for importing many patrons at once.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/patrons/import} with a JSON array body.
+     * </p>
+     *
+     * @param patrons The patrons to import.
+     * @return A {@link CImportResponse} containing the import summary and the per-row errors.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CImportResponse importPatrons(@RequestBody List<Patron> patrons) {
+
+        return toImportResponse(patronService.importPatrons(patrons));
+    }
+
+    /**
+     * Endpoint for importing many patrons at once from CSV.
+     * <p>
+     * This method handles HTTP POST requests to {@code /api/patrons/import} with a {@code text/csv} body
+     * whose header is {@code name,phoneNumber,address}.
+     * </p>
+     *
+     * @param inputStream The CSV request body.
+     * @return A {@link CImportResponse} containing the import summary and the per-row errors.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public CImportResponse importPatronsCsv(InputStream inputStream) {
+
+        return toImportResponse(patronService.importPatrons(CCsvReader.read(inputStream, Patron.class)));
+    }
+
     /**
      * Endpoint for updating an existing patron's information.
      * <p>
@@ -159,4 +275,16 @@ public class PatronRestController {
 
         return apiResponse;
     }
+
+    private CImportResponse toImportResponse(ImportResult importResult) {
+
+        CImportResponse apiResponse = new CImportResponse();
+
+        // Mapping the import summary to the response format
+        CImportMapper.parse(importResult, apiResponse);
+        apiResponse.setStatus(HttpStatus.OK);  // HTTP status code for success
+        apiResponse.setSuccessMessage(ESuccess.PATRONS_IMPORTED_SUCCESSFULLY.name());  // Success message
+
+        return apiResponse;
+    }
 }
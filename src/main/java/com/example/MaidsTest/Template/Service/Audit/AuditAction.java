@@ -0,0 +1,12 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+/**
+ * Kinds of audited changes.
+ */
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE,
+    BORROW,
+    RETURN
+}
@@ -0,0 +1,24 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+import java.util.Date;
+
+/**
+ * One audited change.
+ *
+ * @param entityType The changed entity
+ * @param entityId   Its id, null for changes of several rows (bulk import)
+ * @param action     What was done
+ * @param userId     Who did it, null if unknown
+ * @param detail     Free text, e.g. the book and patron of a loan
+ * @param insertDate When it was done
+ */
+public record AuditEntry(String entityType, Long entityId, AuditAction action, Integer userId, String detail,
+                         Date insertDate) {
+
+    /**
+     * @return An entry made now by the user of the current request
+     */
+    public static AuditEntry of(String entityType, Long entityId, AuditAction action, String detail) {
+        return new AuditEntry(entityType, entityId, action, AuditUser.current(), detail, new Date());
+    }
+}
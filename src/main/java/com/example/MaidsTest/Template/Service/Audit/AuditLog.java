@@ -0,0 +1,180 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+import com.example.MaidsTest.Base.Config.AuditProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Audit log of the changes made through the services, written to the append-only {@code audit_log} table.
+ * <p>
+ * The services call {@link #record} while they make a change. The entries are put into an {@link AuditRingBuffer}
+ * once the transaction commits (rolled back changes are not audited), which costs the request a CAS and no lock,
+ * statement or allocation beyond the entry. A background thread drains the buffer and writes the entries with
+ * JDBC batches of {@code app.audit.batch-size}. When the buffer is full, entries are dropped and counted rather than
+ * slowing requests down; stopping the application writes what is left.
+ * </p>
+ */
+@Service
+public class AuditLog implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(entity_type, entity_id, action, user_id, detail, insert_date) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AuditProperties auditProperties;
+
+    private final AuditRingBuffer buffer;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Flushes never overlap: the buffer has a single consumer
+    private final Lock flushLock = new ReentrantLock();
+
+    private volatile Thread flusher;
+
+    private volatile boolean running;
+
+    public AuditLog(AuditProperties auditProperties) {
+        this.auditProperties = auditProperties;
+        this.buffer = new AuditRingBuffer(auditProperties.getBufferSize());
+    }
+
+    /**
+     * Records one change; see {@link #recordAll}.
+     */
+    public void record(String entityType, Long entityId, AuditAction action, String detail) {
+        recordAll(List.of(AuditEntry.of(entityType, entityId, action, detail)));
+    }
+
+    /**
+     * Records changes made in the current transaction, if any: the entries are buffered once it commits, and
+     * forgotten if it rolls back. Without a transaction they are buffered right away.
+     *
+     * @param entries The entries, in the order they are written
+     */
+    public void recordAll(List<AuditEntry> entries) {
+        if (entries.isEmpty()) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(entries);
+            }
+        });
+    }
+
+    /**
+     * Writes every buffered entry. Called by the flusher thread; also callable directly, e.g. by tests.
+     *
+     * @return The number of entries written
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushUnlocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int flushUnlocked() {
+        int written = 0;
+        List<AuditEntry> batch = new ArrayList<>(auditProperties.getBatchSize());
+        while (buffer.drainTo(batch, auditProperties.getBatchSize()) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                    ps.setString(1, entry.entityType());
+                    ps.setObject(2, entry.entityId());
+                    ps.setString(3, entry.action().name());
+                    ps.setObject(4, entry.userId());
+                    ps.setString(5, entry.detail());
+                    ps.setTimestamp(6, new Timestamp(entry.insertDate().getTime()));
+                });
+                written += batch.size();
+            } catch (RuntimeException e) {
+                // The buffer must keep draining: a failed batch is logged, not retried
+                logger.error("Could not write {} audit entries: {}", batch.size(), batch, e);
+            }
+            batch.clear();
+        }
+        return written;
+    }
+
+    /**
+     * @return The number of entries dropped because the buffer was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();  // Whatever was buffered after the last run
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(auditProperties.getFlushIntervalMs());
+        while (running) {
+            if (flush() == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+    }
+
+    private void offer(List<AuditEntry> entries) {
+        for (AuditEntry entry : entries) {
+            if (!buffer.offer(entry)) {
+                long count = dropped.incrementAndGet();
+                if (count == 1 || count % 1000 == 0) {
+                    logger.warn("Audit buffer full ({} entries), {} entries dropped so far", buffer.capacity(), count);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of audit entries for many producers and a single consumer, on the model of the LMAX
+ * Disruptor ring buffer.
+ * <p>
+ * The slots are a preallocated array indexed by sequence number modulo the capacity. A producer claims the next
+ * sequence with a CAS on {@code claimed}, writes its entry into the slot, then publishes it by storing the sequence
+ * into the slot's entry of {@code published} (a volatile write). The consumer reads the slots in sequence order while
+ * their published sequence matches, and frees them by moving {@code consumed}. Producers never wait: when every slot
+ * is taken, {@link #offer} fails.
+ * </p>
+ */
+class AuditRingBuffer {
+
+    private final AuditEntry[] entries;
+
+    private final AtomicLongArray published;
+
+    private final int mask;
+
+    /** Last sequence claimed by a producer. */
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    /** Last sequence read by the consumer; only the consumer writes it. */
+    private volatile long consumed = -1;
+
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;  // Next power of two
+        entries = new AuditEntry[size];
+        published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an entry; safe to call from any thread.
+     *
+     * @return false if the buffer is full and the entry was not added
+     */
+    boolean offer(AuditEntry entry) {
+        long sequence;
+        do {
+            sequence = claimed.get() + 1;
+            if (sequence - consumed > entries.length) return false;  // The slot still holds an unread entry
+        }
+        while (!claimed.compareAndSet(sequence - 1, sequence));
+
+        int index = (int) sequence & mask;
+        entries[index] = entry;
+        published.set(index, sequence);  // Makes the entry visible to the consumer
+        return true;
+    }
+
+    /**
+     * Moves the published entries, in sequence order, to the given list. Must not be called concurrently.
+     *
+     * @param batch Receives the entries
+     * @param max   The most entries to move
+     * @return The number of entries moved
+     */
+    int drainTo(List<AuditEntry> batch, int max) {
+        long next = consumed + 1;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) break;  // Not written yet
+
+            batch.add(entries[index]);
+            entries[index] = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed = next - 1;  // Frees the slots for the producers
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * The user a change is made by, taken from the {@value #HEADER} header of the current request. The application has
+ * no authentication of its own; the header is set by the gateway or client in front of it.
+ */
+public final class AuditUser {
+
+    public static final String HEADER = "X-User-Id";
+
+    private AuditUser() {
+    }
+
+    /**
+     * @return The user id of the current request, or null outside of a request (scheduled jobs) or without a
+     * numeric header
+     */
+    public static Integer current() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        return of(attributes.getRequest());
+    }
+
+    /**
+     * @param request The request
+     * @return The user id of the request, or null without a numeric header
+     */
+    public static Integer of(HttpServletRequest request) {
+        return parse(request.getHeader(HEADER));
+    }
+
+    /**
+     * @param header The value of the header, or null
+     * @return The user id, or null if the value is missing or not numeric
+     */
+    public static Integer parse(String header) {
+        if (header == null || header.isBlank()) return null;
+
+        try {
+            return Integer.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.MaidsTest.Template.Service.Availability;
+
+import com.example.MaidsTest.Template.Service.Search.BookChangeSequence;
+
+import java.util.List;
+
+/**
+ * Published by {@code BorrowingRecordService} when books are borrowed or returned, while it holds the locks of
+ * their rows. Listeners see it once the surrounding transaction has committed.
+ *
+ * @param bookIds   The borrowed or returned books
+ * @param available Whether the books became available (returned) or not (borrowed)
+ * @param version   The number of the change (see {@link BookChangeSequence})
+ */
+public record BookAvailabilityChangedEvent(List<Long> bookIds, boolean available, long version) {
+
+    public static BookAvailabilityChangedEvent borrowed(List<Long> bookIds) {
+        return new BookAvailabilityChangedEvent(bookIds, false, BookChangeSequence.next());
+    }
+
+    public static BookAvailabilityChangedEvent returned(List<Long> bookIds) {
+        return new BookAvailabilityChangedEvent(bookIds, true, BookChangeSequence.next());
+    }
+}
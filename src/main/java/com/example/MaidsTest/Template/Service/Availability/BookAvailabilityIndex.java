@@ -0,0 +1,207 @@
+package com.example.MaidsTest.Template.Service.Availability;
+
+import com.example.MaidsTest.Template.Service.Search.BookChangeSequence;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory availability of every book, keyed by book id.
+ * <p>
+ * Two compressed 64-bit bitmaps hold the ids of the existing books and of the borrowed ones, so a lookup is a
+ * constant time bit test without boxing, and the whole catalog takes a few bytes per book (ids are dense).
+ * </p>
+ * <p>
+ * Changes carry the version of their event (see {@link BookChangeSequence}), and a change older than the last one
+ * applied to the book is ignored. Only books changed since the index was
+ * built have a version, in a map next to the bitmaps; deleted books keep theirs, so a late update cannot bring
+ * them back. The books of the build itself have version 0.
+ * </p>
+ * <p>
+ * Lookups run concurrently; writes take an exclusive lock.
+ * </p>
+ */
+public class BookAvailabilityIndex {
+
+    /** Availability of one book id; {@link #UNKNOWN} when the index has no such book. */
+    public enum State {
+        AVAILABLE,
+        BORROWED,
+        UNKNOWN
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Roaring64Bitmap books = new Roaring64Bitmap();
+
+    private final Roaring64Bitmap borrowed = new Roaring64Bitmap();
+
+    /** Version of the last change applied, per book changed since the build. */
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    /**
+     * Adds a book while the index is built, as of version 0.
+     *
+     * @param bookId    The book id
+     * @param available Whether the book is available
+     */
+    public void put(long bookId, boolean available) {
+        put(bookId, available, 0);
+    }
+
+    /**
+     * Adds or replaces a book, unless a newer change was applied to it.
+     *
+     * @param bookId    The book id
+     * @param available Whether the book is available
+     * @param version   The version of the change
+     */
+    public void put(long bookId, boolean available, long version) {
+        lock.writeLock().lock();
+        try {
+            if (!advance(bookId, version)) return;
+
+            books.addLong(bookId);
+            setBorrowed(bookId, !available);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the availability of several books at once, as one atomic change; unknown ids and books with a newer
+     * change are left as they are.
+     *
+     * @param bookIds   The book ids
+     * @param available Whether the books are available
+     * @param version   The version of the change
+     */
+    public void setAvailable(Iterable<Long> bookIds, boolean available, long version) {
+        lock.writeLock().lock();
+        try {
+            for (Long bookId : bookIds) {
+                if (books.contains(bookId) && advance(bookId, version)) {
+                    setBorrowed(bookId, !available);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the book from the index, unless a newer change was applied to it; unknown ids are ignored.
+     *
+     * @param bookId  The book id
+     * @param version The version of the change
+     */
+    public void remove(long bookId, long version) {
+        lock.writeLock().lock();
+        try {
+            if (!advance(bookId, version)) return;
+
+            books.removeLong(bookId);
+            borrowed.removeLong(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            borrowed.clear();
+            versions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param bookId The book id
+     * @return the availability of the book
+     */
+    public State get(long bookId) {
+        lock.readLock().lock();
+        try {
+            if (!books.contains(bookId)) {
+                return State.UNKNOWN;
+            }
+            return borrowed.contains(bookId) ? State.BORROWED : State.AVAILABLE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Looks several books up under one read lock, so the answers are consistent with each other.
+     *
+     * @param bookIds The book ids
+     * @return the availability of each book, in the order of the ids
+     */
+    public State[] getAll(long[] bookIds) {
+        State[] states = new State[bookIds.length];
+
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < bookIds.length; i++) {
+                long bookId = bookIds[i];
+                states[i] = !books.contains(bookId) ? State.UNKNOWN
+                        : borrowed.contains(bookId) ? State.BORROWED : State.AVAILABLE;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return states;
+    }
+
+    /**
+     * @return the number of indexed books
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return books.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of borrowed books
+     */
+    public long borrowedCount() {
+        lock.readLock().lock();
+        try {
+            return borrowed.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called with the write lock held: records the version if it is newer than the book's last one
+    private boolean advance(long bookId, long version) {
+        Long last = versions.get(bookId);
+        if (last != null && last >= version) return false;
+
+        if (version > 0) {
+            versions.put(bookId, version);
+        }
+        return true;
+    }
+
+    private void setBorrowed(long bookId, boolean isBorrowed) {
+        if (isBorrowed) {
+            borrowed.addLong(bookId);
+        } else {
+            borrowed.removeLong(bookId);
+        }
+    }
+}
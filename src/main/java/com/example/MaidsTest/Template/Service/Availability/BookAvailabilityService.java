@@ -0,0 +1,114 @@
+package com.example.MaidsTest.Template.Service.Availability;
+
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import com.example.MaidsTest.Template.Service.Search.BookChangedEvent;
+import com.example.MaidsTest.Template.Service.Search.BooksImportedEvent;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service answering whether books are available without touching the database.
+ * <p>
+ * Lookups run against the in-memory {@link BookAvailabilityIndex}. The index is built from the database when the
+ * application starts, before the web server accepts requests, and is then kept in sync by the
+ * {@link BookChangedEvent}/{@link BooksImportedEvent} of {@link BookService} and the
+ * {@link BookAvailabilityChangedEvent} of the borrowing service, applied after the transaction commits.
+ * </p>
+ * <p>
+ * The database stays authoritative: a book the index sees as available is still claimed by the conditional
+ * update when borrowed. The listeners of concurrent transactions may run in another order than their commits;
+ * the events carry the version of their change and the index ignores the older ones, so it ends up with the last
+ * committed state of every book and a "borrowed" answer rejects a borrow without a query. The index follows the
+ * commits of this instance only.
+ * </p>
+ */
+@Service
+public class BookAvailabilityService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookAvailabilityService.class);
+
+    public static final int MAX_IDS = 1000;
+
+    private final BookAvailabilityIndex index = new BookAvailabilityIndex();
+
+    @Autowired
+    private BookService bookService;
+
+    /**
+     * Builds the index from the whole catalog.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+
+        index.clear();
+        bookService.exportAvailability(0L, index::put);
+
+        logger.info("Book availability index built with {} books ({} borrowed) in {} ms",
+                index.size(), index.borrowedCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param bookId The book id
+     * @return true if the book is known to be borrowed; false if it is available or unknown to the index
+     */
+    public boolean isBorrowed(Long bookId) {
+        return bookId != null && index.get(bookId) == BookAvailabilityIndex.State.BORROWED;
+    }
+
+    /**
+     * Looks up the availability of several books at once.
+     *
+     * @param bookIds The book ids, at most {@link #MAX_IDS}
+     * @return The availability of each distinct id, in request order
+     * @throws IllegalArgumentException If no id or more than {@link #MAX_IDS} ids are given
+     */
+    @Loggable
+    public Map<Long, BookAvailabilityIndex.State> getAvailability(List<Long> bookIds) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one book id is required");
+        }
+        if (bookIds.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " book ids are allowed");
+        }
+
+        long[] ids = bookIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).toArray();
+        BookAvailabilityIndex.State[] states = index.getAll(ids);
+
+        Map<Long, BookAvailabilityIndex.State> availability = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            availability.put(ids[i], states[i]);
+        }
+        return availability;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.deleted()) {
+            index.remove(event.bookId(), event.version());
+        } else {
+            index.put(event.bookId(), event.available(), event.version());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        // Imported books are inserted available, with one free copy; a borrow after the commit sends its own event
+        event.bookIds().forEach(bookId -> index.put(bookId, true, event.version()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(BookAvailabilityChangedEvent event) {
+        index.setAvailable(event.bookIds(), event.available(), event.version());
+    }
+}
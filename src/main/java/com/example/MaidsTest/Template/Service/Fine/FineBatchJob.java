@@ -0,0 +1,130 @@
+package com.example.MaidsTest.Template.Service.Fine;
+
+import com.example.MaidsTest.Base.Config.FineProperties;
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Daily batch computing the fine of every open overdue loan.
+ * <p>
+ * A run covers one fine date. It splits the ids of the loans overdue on that date into
+ * {@code app.fine.partitions} ranges, and a pool of {@code app.fine.workers} threads processes the ranges in
+ * parallel, chunk by chunk ({@link FineChunkProcessor}): each chunk is one keyset read, one batched UPDATE of the
+ * fines and one checkpoint, committed together. A run that fails keeps its checkpoints; running the same date
+ * again resumes the unfinished partitions after their last committed chunk, and a completed date is not run twice.
+ * </p>
+ */
+@Service
+public class FineBatchJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FineBatchJob.class);
+
+    @Autowired
+    private FineRunStore fineRunStore;
+
+    @Autowired
+    private FineChunkProcessor fineChunkProcessor;
+
+    @Autowired
+    private FineProperties fineProperties;
+
+    // Runs never overlap
+    private final Lock runLock = new ReentrantLock();
+
+    @Scheduled(cron = "${app.fine.cron:0 30 2 * * *}")
+    public void scheduledRun() {
+        run(LocalDate.now());  // Waits for a run still going rather than skipping the date
+    }
+
+    /**
+     * Computes the fines of the given date, or resumes the unfinished run of that date.
+     *
+     * @param fineDate The date the fines are computed for: loans due before that day are overdue
+     * @return The rows written by this call and the throughput
+     * @throws IllegalStateException If a partition fails; the run can be resumed by running the date again
+     */
+    @Loggable
+    public FineRunReport run(LocalDate fineDate) {
+        runLock.lock();
+        try {
+            return runUnlocked(fineDate);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private FineRunReport runUnlocked(LocalDate fineDate) {
+        long start = System.nanoTime();
+
+        FineRunStore.FineRun run = fineRunStore.findRun(fineDate);
+        if (run != null && FineRunStore.COMPLETED.equals(run.status())) {
+            return new FineRunReport(fineDate, fineRunStore.findPartitions(run.id()).size(), 0, 0, 0, 0);
+        }
+
+        long runId = run != null ? run.id()
+                : fineRunStore.createRun(fineDate, Timestamp.valueOf(fineDate.atStartOfDay()), fineProperties.getPartitions());
+        if (run != null) {
+            fineRunStore.setStatus(runId, FineRunStore.RUNNING);
+        }
+
+        List<FinePartition> partitions = fineRunStore.findPartitions(runId);
+        List<FinePartition> pending = partitions.stream().filter(partition -> !partition.completed()).toList();
+        int resumed = run != null ? pending.size() : 0;
+
+        long rows = 0;
+        if (!pending.isEmpty()) {
+            ExecutorService workers = Executors.newFixedThreadPool(Math.min(fineProperties.getWorkers(), pending.size()));
+            try {
+                List<Future<Long>> futures = new ArrayList<>(pending.size());
+                for (FinePartition partition : pending) {
+                    futures.add(workers.submit(() -> processPartition(partition, fineDate)));
+                }
+                for (Future<Long> future : futures) {
+                    rows += future.get();
+                }
+            } catch (ExecutionException | InterruptedException ex) {
+                fineRunStore.setStatus(runId, FineRunStore.FAILED);
+                if (ex instanceof InterruptedException) Thread.currentThread().interrupt();
+                throw new IllegalStateException("Fine run of " + fineDate + " failed, run it again to resume", ex);
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+        fineRunStore.setStatus(runId, FineRunStore.COMPLETED);
+
+        long nanos = System.nanoTime() - start;
+        double rowsPerSecond = nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+        logger.info("Fine run of {}: {} rows in {} partitions ({} resumed) in {} ms, {} rows/s",
+                fineDate, rows, partitions.size(), resumed, nanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return new FineRunReport(fineDate, partitions.size(), resumed, rows, nanos / 1_000_000, rowsPerSecond);
+    }
+
+    private long processPartition(FinePartition partition, LocalDate fineDate) {
+        long rows = 0;
+        long lastId = partition.lastId();
+        FineChunkProcessor.Chunk chunk;
+        do {
+            chunk = fineChunkProcessor.process(partition, lastId, fineDate);
+            rows += chunk.rows();
+            lastId = chunk.lastId();
+        }
+        while (!chunk.completed());
+        return rows;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.MaidsTest.Template.Service.Fine;
+
+import com.example.MaidsTest.Base.Config.FineProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Reads, prices and writes one chunk of a fine partition, and moves the partition checkpoint, in one transaction.
+ * <p>
+ * The reader pages through the loan ids of the partition after its checkpoint, keeping only the open loans overdue
+ * on the fine date; the processor turns the days overdue into a fine; the writer sends all the fines of the chunk
+ * as one JDBC batch. A chunk that fails rolls back with its checkpoint, so a resumed run starts again right after
+ * the last committed chunk.
+ * </p>
+ */
+@Service
+public class FineChunkProcessor {
+
+    /** An open overdue loan read from the partition. */
+    record Loan(long id, LocalDateTime dueDate) {
+    }
+
+    /**
+     * @param lastId    The new checkpoint of the partition
+     * @param rows      The loans written
+     * @param completed Whether the partition has no loan left
+     */
+    public record Chunk(long lastId, int rows, boolean completed) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FineRunStore fineRunStore;
+
+    @Autowired
+    private FineProperties fineProperties;
+
+    /**
+     * @param partition The partition, with its checkpoint
+     * @param lastId    The checkpoint to read after
+     * @param fineDate  The date the fines are computed for
+     * @return The new checkpoint and the number of loans written
+     */
+    @Transactional
+    public Chunk process(FinePartition partition, long lastId, LocalDate fineDate) {
+        int chunkSize = fineProperties.getChunkSize();
+
+        // Reader
+        List<Loan> loans = jdbcTemplate.query("SELECT id, due_date FROM borrowing_record "
+                        + "WHERE id > ? AND id <= ? AND open_due_date < ? ORDER BY id LIMIT ?",
+                (rs, row) -> new Loan(rs.getLong("id"), rs.getTimestamp("due_date").toLocalDateTime()),
+                lastId, partition.toId(), Timestamp.valueOf(fineDate.atStartOfDay()), chunkSize);
+
+        // Processor and writer
+        jdbcTemplate.batchUpdate("UPDATE borrowing_record SET fine = ? WHERE id = ?", loans, chunkSize,
+                (statement, loan) -> {
+                    statement.setBigDecimal(1, fine(loan.dueDate(), fineDate));
+                    statement.setLong(2, loan.id());
+                });
+
+        boolean completed = loans.size() < chunkSize;
+        long checkpoint = completed ? partition.toId() : loans.get(loans.size() - 1).id();
+        fineRunStore.checkpoint(partition, checkpoint, loans.size(), completed);
+
+        return new Chunk(checkpoint, loans.size(), completed);
+    }
+
+    /**
+     * @return The daily rate times the days between the due date and the fine date, capped at the maximum fine
+     */
+    BigDecimal fine(LocalDateTime dueDate, LocalDate fineDate) {
+        long days = Math.max(0, ChronoUnit.DAYS.between(dueDate.toLocalDate(), fineDate));
+        return fineProperties.getDailyRate()
+                .multiply(BigDecimal.valueOf(days))
+                .min(fineProperties.getMaxFine())
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
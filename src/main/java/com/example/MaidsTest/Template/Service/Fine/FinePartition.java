@@ -0,0 +1,14 @@
+package com.example.MaidsTest.Template.Service.Fine;
+
+/**
+ * One loan id range of a fine run, as stored in {@code fine_run_partition}.
+ *
+ * @param runId       The run
+ * @param partitionNo The position of the range in the run
+ * @param fromId      Exclusive lower bound of the loan ids
+ * @param toId        Inclusive upper bound of the loan ids
+ * @param lastId      Checkpoint: the last loan id written, {@code fromId} before the first chunk
+ * @param completed   Whether every loan of the range has been written
+ */
+public record FinePartition(long runId, int partitionNo, long fromId, long toId, long lastId, boolean completed) {
+}
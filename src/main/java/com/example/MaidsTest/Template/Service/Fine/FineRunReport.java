@@ -0,0 +1,29 @@
+package com.example.MaidsTest.Template.Service.Fine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a fine run: how much of it was done by this call, and how fast.
+ */
+@Getter
+@AllArgsConstructor
+public class FineRunReport {
+
+    private final LocalDate fineDate;
+
+    /** Partitions of the run; 0 when no loan was overdue. */
+    private final int partitions;
+
+    /** Partitions left unfinished by an earlier call and resumed from their checkpoint by this one. */
+    private final int resumedPartitions;
+
+    /** Loans written by this call; 0 when the run had already completed. */
+    private final long rows;
+
+    private final long millis;
+
+    private final double rowsPerSecond;
+}
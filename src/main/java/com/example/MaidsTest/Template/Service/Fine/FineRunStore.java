@@ -0,0 +1,103 @@
+package com.example.MaidsTest.Template.Service.Fine;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Persistent state of the fine runs ({@code fine_run}, {@code fine_run_partition}), read and written with plain JDBC.
+ */
+@Service
+public class FineRunStore {
+
+    public static final String RUNNING = "RUNNING";
+
+    public static final String FAILED = "FAILED";
+
+    public static final String COMPLETED = "COMPLETED";
+
+    /** A row of {@code fine_run}. */
+    public record FineRun(long id, String status) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return The run of the given date, or null if there is none
+     */
+    public FineRun findRun(LocalDate fineDate) {
+        List<FineRun> runs = jdbcTemplate.query("SELECT id, status FROM fine_run WHERE fine_date = ?",
+                (rs, row) -> new FineRun(rs.getLong("id"), rs.getString("status")), Date.valueOf(fineDate));
+        return runs.isEmpty() ? null : runs.get(0);
+    }
+
+    /**
+     * Creates the run of the given date and splits the ids of the loans overdue on that date into at most
+     * {@code partitions} ranges of equal width, in one transaction.
+     *
+     * @return The id of the new run
+     */
+    @Transactional
+    public long createRun(LocalDate fineDate, Timestamp overdueBefore, int partitions) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO fine_run (fine_date, status, insert_date) VALUES (?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setDate(1, Date.valueOf(fineDate));
+            statement.setString(2, RUNNING);
+            statement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            return statement;
+        }, keyHolder);
+        long runId = Objects.requireNonNull(keyHolder.getKey()).longValue();
+
+        // Range of the open_due_date index (V6): only the open overdue loans are read
+        Long[] bounds = jdbcTemplate.queryForObject(
+                "SELECT MIN(id), MAX(id) FROM borrowing_record WHERE open_due_date < ?",
+                (rs, row) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)}, overdueBefore);
+        if (bounds == null || bounds[0] == null) return runId;
+
+        long span = bounds[1] - bounds[0] + 1;
+        long width = (span + partitions - 1) / partitions;
+        List<Object[]> rows = new ArrayList<>();
+        for (long fromId = bounds[0] - 1; fromId < bounds[1]; fromId += width) {
+            rows.add(new Object[]{runId, rows.size(), fromId, Math.min(fromId + width, bounds[1]), fromId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO fine_run_partition "
+                + "(run_id, partition_no, from_id, to_id, last_id, rows_written, completed) VALUES (?, ?, ?, ?, ?, 0, FALSE)", rows);
+        return runId;
+    }
+
+    public List<FinePartition> findPartitions(long runId) {
+        return jdbcTemplate.query("SELECT run_id, partition_no, from_id, to_id, last_id, completed "
+                        + "FROM fine_run_partition WHERE run_id = ? ORDER BY partition_no",
+                (rs, row) -> new FinePartition(rs.getLong("run_id"), rs.getInt("partition_no"), rs.getLong("from_id"),
+                        rs.getLong("to_id"), rs.getLong("last_id"), rs.getBoolean("completed")), runId);
+    }
+
+    /**
+     * Moves the checkpoint of a partition; called in the transaction that wrote the chunk.
+     */
+    public void checkpoint(FinePartition partition, long lastId, int rows, boolean completed) {
+        jdbcTemplate.update("UPDATE fine_run_partition SET last_id = ?, rows_written = rows_written + ?, completed = ? "
+                + "WHERE run_id = ? AND partition_no = ?", lastId, rows, completed, partition.runId(), partition.partitionNo());
+    }
+
+    public void setStatus(long runId, String status) {
+        jdbcTemplate.update("UPDATE fine_run SET status = ?, finish_date = ? WHERE id = ?", status,
+                COMPLETED.equals(status) ? new Timestamp(System.currentTimeMillis()) : null, runId);
+    }
+}
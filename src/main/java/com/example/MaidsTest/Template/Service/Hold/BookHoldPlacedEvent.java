@@ -0,0 +1,13 @@
+package com.example.MaidsTest.Template.Service.Hold;
+
+/**
+ * Published by {@link BookHoldService} when a patron places a hold. The hold joins the in-memory queue of its
+ * book just before the surrounding transaction commits, while the book row is still locked, and leaves it again
+ * if the transaction rolls back.
+ *
+ * @param bookId   The held book
+ * @param holdId   The new hold
+ * @param patronId The waiting patron
+ */
+public record BookHoldPlacedEvent(long bookId, long holdId, long patronId) {
+}
@@ -0,0 +1,87 @@
+package com.example.MaidsTest.Template.Service.Hold;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * In-memory FIFO queues of the waiting holds, one per book.
+ * <p>
+ * Each queue is a lock-free {@link ConcurrentLinkedDeque}: concurrent returns of a hot title each take a
+ * different hold with a single CAS, and a title with thousands of holds costs one node per hold. Queues are
+ * created and dropped inside {@link ConcurrentHashMap#compute}, which only locks the map bin of that book, so no
+ * operation ever blocks the queues of other books. An empty queue is dropped under the same bin lock that adds
+ * to it, so no hold is ever added to a dropped queue.
+ * </p>
+ */
+public class BookHoldQueue {
+
+    /** A waiting hold, with the patron it will lend the copy to. */
+    public record Entry(long holdId, long patronId) {
+    }
+
+    private final ConcurrentHashMap<Long, ConcurrentLinkedDeque<Entry>> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Appends a hold to the queue of its book.
+     */
+    public void add(long bookId, Entry entry) {
+        queues.compute(bookId, (id, queue) -> {
+            ConcurrentLinkedDeque<Entry> target = queue != null ? queue : new ConcurrentLinkedDeque<>();
+            target.offerLast(entry);
+            return target;
+        });
+    }
+
+    /**
+     * Puts a hold back at the head of the queue of its book, when the transaction that took it rolled back.
+     */
+    public void addFirst(long bookId, Entry entry) {
+        queues.compute(bookId, (id, queue) -> {
+            ConcurrentLinkedDeque<Entry> target = queue != null ? queue : new ConcurrentLinkedDeque<>();
+            target.offerFirst(entry);
+            return target;
+        });
+    }
+
+    /**
+     * Takes the oldest hold of a book; each hold is handed out once, whatever the number of concurrent callers.
+     *
+     * @return The hold, or null if nobody is waiting for the book
+     */
+    public Entry poll(long bookId) {
+        ConcurrentLinkedDeque<Entry> queue = queues.get(bookId);
+        if (queue == null) return null;
+
+        Entry entry = queue.pollFirst();
+        if (queue.isEmpty()) {
+            queues.computeIfPresent(bookId, (id, current) -> current.isEmpty() ? null : current);
+        }
+        return entry;
+    }
+
+    /**
+     * @return The number of holds waiting for the book
+     */
+    public int size(long bookId) {
+        ConcurrentLinkedDeque<Entry> queue = queues.get(bookId);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Removes one hold from the queue of its book, when the transaction that placed it rolled back.
+     */
+    public void remove(long bookId, Entry entry) {
+        queues.computeIfPresent(bookId, (id, queue) -> {
+            queue.remove(entry);
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    public void remove(long bookId) {
+        queues.remove(bookId);
+    }
+
+    public void clear() {
+        queues.clear();
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.MaidsTest.Template.Service.Hold;
+
+import com.example.MaidsTest.Base.Config.LoanProperties;
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookHoldDTO;
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import com.example.MaidsTest.Template.Exception.BookHoldException;
+import com.example.MaidsTest.Template.Exception.BookNotFoundException;
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BookCopy;
+import com.example.MaidsTest.Template.Model.Table.BookHold;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BookCopyRepository;
+import com.example.MaidsTest.Template.Repository.Table.BookHoldRepository;
+import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import com.example.MaidsTest.Template.Repository.Table.BorrowingRecordRepository;
+import com.example.MaidsTest.Template.Repository.Table.PatronRepository;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Audit.AuditEntry;
+import com.example.MaidsTest.Template.Service.Audit.AuditLog;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEventType;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService;
+import com.example.MaidsTest.Template.Service.Search.BookChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service managing the hold queues: patrons wait for a book with no free copy, and every returned or added copy
+ * is lent to the oldest waiting patron instead of becoming free.
+ * <p>
+ * Holds are stored in {@code book_hold}; the order in which they are served comes from the in-memory
+ * {@link BookHoldQueue}, rebuilt from the waiting holds when the application starts and appended to just before
+ * each hold commits. A return takes the next hold from the queue without any further statement when nobody is
+ * waiting; otherwise it fulfils the hold with a conditional update and lends the copy in the same transaction,
+ * and puts the hold back at the head of the queue if that transaction rolls back.
+ * </p>
+ * <p>
+ * Placing a hold, returning a copy and adding copies all lock the book row first, so a hold is either queued
+ * before a concurrent return reads the queue, or sees the copy that return freed and is rejected.
+ * </p>
+ */
+@Service
+public class BookHoldService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookHoldService.class);
+
+    private final BookHoldQueue queue = new BookHoldQueue();
+
+    @Autowired
+    private BookHoldRepository bookHoldRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private LoanProperties loanProperties;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Builds the queues from the waiting holds.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        queue.clear();
+        int holds = 0;
+        for (Object[] hold : bookHoldRepository.findWaiting()) {
+            queue.add((Long) hold[0], new BookHoldQueue.Entry((Long) hold[1], (Long) hold[2]));
+            holds++;
+        }
+        logger.info("Book hold queues built with {} waiting holds", holds);
+    }
+
+    /**
+     * Places a hold on a book that has no free copy.
+     *
+     * @param bookId   The ID of the book
+     * @param patronId The ID of the waiting patron
+     * @return The hold with its position in the queue of the book
+     * @throws BookNotFoundException   If the book does not exist
+     * @throws PatronNotFoundException If the patron does not exist
+     * @throws BookHoldException       If the book has a free copy or the patron is already waiting for it
+     */
+    @Transactional
+    @Loggable
+    public CBookHoldDTO placeHold(Long bookId, Long patronId) {
+        Book book = bookRepository.findByIdForUpdate(bookId)  // Held until the hold is queued and committed
+                .orElseThrow(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
+        Patron patron = patronRepository.findById(patronId)
+                .orElseThrow(() -> new PatronNotFoundException(EError.PATRON_NOT_FOUND.name()));
+
+        if (bookCopyRepository.existsByBookIdIdAndAvailableTrue(bookId)) {
+            throw new BookHoldException(EError.BOOK_IS_AVAILABLE.name());
+        }
+        if (bookHoldRepository.existsByBookIdIdAndPatronIdIdAndFulfilledDateIsNull(bookId, patronId)) {
+            throw new BookHoldException(EError.BOOK_IS_ALREADY_HELD.name());
+        }
+
+        BookHold hold = bookHoldRepository.save(new BookHold(book, patron));
+        eventPublisher.publishEvent(new BookHoldPlacedEvent(bookId, hold.getId(), patronId));
+        auditLog.record("BookHold", hold.getId(), AuditAction.CREATE, "book " + bookId + ", patron " + patronId);
+
+        long position = bookHoldRepository.countByBookIdIdAndFulfilledDateIsNullAndIdLessThanEqual(bookId, hold.getId());
+        return new CBookHoldDTO(hold.getId(), bookId, patronId, position, hold.getInsertDate());
+    }
+
+    /**
+     * Lends the copy of a just closed loan to the oldest patron waiting for its book, in the caller's transaction.
+     * The book row is locked first (see the class comment) and the book reloaded with it: the book loaded with the
+     * loan may predate a borrow of its last copy. The copy stays taken and the book keeps its availability.
+     *
+     * @param returned   The loan being returned, already closed
+     * @param borrowDate The borrow date of the new loan
+     * @return The new loan, or empty if nobody is waiting (the caller then frees the copy)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<BorrowingRecord> handOver(BorrowingRecord returned, Date borrowDate) {
+        entityManager.refresh(returned.getBookId(), LockModeType.PESSIMISTIC_WRITE);
+        return lend(returned.getCopyId(), borrowDate);
+    }
+
+    /**
+     * Lends a copy to the oldest patron waiting for its book, in the caller's transaction, which holds the book
+     * row lock. The caller marks the copy taken when a loan is returned.
+     *
+     * @param copy       The copy to lend, saved and not lent to anybody else
+     * @param borrowDate The borrow date of the new loan
+     * @return The new loan, or empty if nobody is waiting
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<BorrowingRecord> lend(BookCopy copy, Date borrowDate) {
+        long bookId = copy.getBookId().getId();
+
+        BookHoldQueue.Entry entry;
+        while ((entry = queue.poll(bookId)) != null) {
+            // Holds of deleted patrons are gone from the table; the update skips them.
+            if (bookHoldRepository.fulfil(entry.holdId(), borrowDate) == 0) continue;
+
+            requeueOnRollback(bookId, entry);
+
+            // A closed loan of the copy must reach the database before the new one takes it.
+            borrowingRecordRepository.flush();
+
+            BorrowingRecord record = new BorrowingRecord();
+            record.setBookId(copy.getBookId());
+            record.setPatronId(patronRepository.getReferenceById(entry.patronId()));
+            record.setCopyId(copy);
+            record.setBorrowDate(borrowDate);
+            record.setDueDate(loanProperties.dueDate(borrowDate));
+            return Optional.of(borrowingRecordRepository.save(record));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Lends new copies of a book to the patrons waiting for it, oldest hold first, in the caller's transaction.
+     * The caller holds the book row lock and saved the copies; the lent copies are marked taken, and the loans are
+     * appended to the outbox and the audit log like the loans of returned copies.
+     *
+     * @param book   The book, locked
+     * @param copies The new copies
+     * @return The new loans, at most one per copy
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<BorrowingRecord> lendToHolds(Book book, List<BookCopy> copies) {
+        List<BorrowingRecord> loans = new ArrayList<>();
+        Date borrowDate = new Date();
+        for (BookCopy copy : copies) {
+            Optional<BorrowingRecord> loan = lend(copy, borrowDate);
+            if (loan.isEmpty()) break;  // Nobody else is waiting
+
+            copy.setAvailable(false);  // Flushed by dirty checking
+            loans.add(loan.get());
+        }
+        if (loans.isEmpty()) return loans;
+
+        boolean bookAvailable = loans.size() < copies.size() || currentAvailability(book);
+        outboxService.appendAll(loans.stream()
+                .map(loan -> OutboxService.Change.loan(OutboxEventType.BOOK_BORROWED, loan, bookAvailable))
+                .toList());
+        auditLog.recordAll(loans.stream()
+                .map(loan -> AuditEntry.of("BorrowingRecord", loan.getId(), AuditAction.BORROW,
+                        "book " + book.getId() + ", patron " + loan.getPatronId().getId()))
+                .toList());
+        return loans;
+    }
+
+    /**
+     * Reloads the flag of a book whose row the caller locked. A locking read, so it is the current row and not a
+     * snapshot taken earlier in the transaction; the managed book may have been loaded before the lock.
+     */
+    private boolean currentAvailability(Book book) {
+        entityManager.refresh(book, LockModeType.PESSIMISTIC_WRITE);
+        return book.getAvailable();
+    }
+
+    /**
+     * @return The number of holds waiting for the book
+     */
+    public int getWaitingHolds(Long bookId) {
+        return queue.size(bookId);
+    }
+
+    // Before the commit releases the book row, so a return waiting for the row finds the hold.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onHoldPlaced(BookHoldPlacedEvent event) {
+        queue.add(event.bookId(), new BookHoldQueue.Entry(event.holdId(), event.patronId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onHoldRolledBack(BookHoldPlacedEvent event) {
+        queue.remove(event.bookId(), new BookHoldQueue.Entry(event.holdId(), event.patronId()));
+    }
+
+    // The table cascades the holds of a deleted book.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.deleted()) {
+            queue.remove(event.bookId());
+        }
+    }
+
+    private void requeueOnRollback(long bookId, BookHoldQueue.Entry entry) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    queue.addFirst(bookId, entry);
+                }
+            }
+        });
+    }
+}
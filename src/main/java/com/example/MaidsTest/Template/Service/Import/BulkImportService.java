@@ -0,0 +1,129 @@
+package com.example.MaidsTest.Template.Service.Import;
+
+import com.example.MaidsTest.Base.Config.ImportProperties;
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Service for inserting large numbers of rows.
+ * <p>
+ * Rows are validated in parallel against their bean validation constraints, then the valid ones are inserted with
+ * plain JDBC batches of {@code app.import.batch-size} rows. This bypasses the persistence context and the
+ * {@code IDENTITY} id generation, which would otherwise force Hibernate to send one INSERT per row. The ids
+ * generated for the inserted rows are read back from the batches.
+ * </p>
+ */
+@Service
+public class BulkImportService {
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    /**
+     * Validates and inserts the given rows in one transaction.
+     *
+     * @param rows      The rows to import
+     * @param insertSql The parameterized INSERT statement
+     * @param setter    Binds one row to the INSERT statement
+     * @return The number of imported rows, their generated ids and the errors of the rejected ones
+     * @throws IllegalArgumentException If there are no rows or more than {@code app.import.max-rows}
+     */
+    @Loggable
+    @Transactional
+    public <T> ImportResult importRows(List<T> rows, String insertSql, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one row is required");
+        }
+        if (rows.size() > importProperties.getMaxRows()) {
+            throw new IllegalArgumentException("At most " + importProperties.getMaxRows() + " rows are allowed");
+        }
+
+        // Validate in parallel; the result keeps the request order.
+        List<ImportResult.RowError> errors = IntStream.range(0, rows.size())
+                .parallel()
+                .mapToObj(index -> validate(index, rows.get(index)))
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<T> validRows = new ArrayList<>(rows.size() - errors.size());
+        int nextError = 0;
+        for (int index = 0; index < rows.size(); index++) {
+            if (nextError < errors.size() && errors.get(nextError).row() == index + 1) {
+                nextError++;
+                continue;
+            }
+            validRows.add(rows.get(index));
+        }
+
+        List<Long> ids = new ArrayList<>(validRows.size());
+        for (int from = 0; from < validRows.size(); from += importProperties.getBatchSize()) {
+            ids.addAll(insertBatch(insertSql, validRows.subList(from,
+                    Math.min(from + importProperties.getBatchSize(), validRows.size())), setter));
+        }
+
+        return new ImportResult(rows.size(), validRows.size(), ids, errors);
+    }
+
+    private <T> List<Long> insertBatch(String insertSql, List<T> batch, ParameterizedPreparedStatementSetter<T> setter) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int index) throws SQLException {
+                        setter.setValues(ps, batch.get(index));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder);
+
+        // One key per row, in insert order; drivers name the column differently (GENERATED_KEY, ID)
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private <T> ImportResult.RowError validate(int index, T row) {
+        if (row == null) {
+            return new ImportResult.RowError(index + 1, List.of("row: must not be null"));
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        List<String> messages = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+
+        return new ImportResult.RowError(index + 1, messages);
+    }
+}
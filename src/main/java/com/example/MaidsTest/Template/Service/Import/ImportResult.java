@@ -0,0 +1,33 @@
+package com.example.MaidsTest.Template.Service.Import;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were received and inserted, the ids generated for the inserted ones, and
+ * why the others were rejected.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportResult {
+
+    private final int received;
+
+    private final int imported;
+
+    /** Generated ids of the inserted rows, in request order. */
+    private final List<Long> ids;
+
+    private final List<RowError> errors;
+
+    /**
+     * Validation errors of one rejected row.
+     *
+     * @param row      1-based position of the row in the request
+     * @param messages One {@code field: message} entry per violated constraint
+     */
+    public record RowError(int row, List<String> messages) {
+    }
+}
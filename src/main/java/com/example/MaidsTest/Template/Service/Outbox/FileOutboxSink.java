@@ -0,0 +1,71 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import com.example.MaidsTest.Base.Config.OutboxProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sink appending the published events to {@code app.outbox.file}, one JSON object per line (NDJSON), in sequence
+ * order. Each batch is forced to disk before the relay marks it published; a batch written twice (the relay could
+ * not mark it) appears twice with the same sequence numbers.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Batches never interleave in the file
+    private final Lock appendLock = new ReentrantLock();
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("sequenceNo", event.sequenceNo());
+            line.put("id", event.id());
+            line.put("aggregateType", event.aggregateType());
+            line.put("aggregateId", event.aggregateId());
+            line.put("eventType", event.eventType());
+            line.put("insertDate", event.insertDate().getTime());
+            line.set("payload", objectMapper.readTree(event.payload()));
+            lines.write(objectMapper.writeValueAsBytes(line));
+            lines.write('\n');
+        }
+
+        Path file = Path.of(outboxProperties.getFile());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        appendLock.lock();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+}
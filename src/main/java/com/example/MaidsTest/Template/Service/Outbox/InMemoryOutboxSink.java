@@ -0,0 +1,42 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import com.example.MaidsTest.Base.Config.OutboxProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Default sink: keeps the last {@code app.outbox.memory-capacity} published events in memory, for consumers inside
+ * the application and for tests. Consumers outside of it read the stream from the outbox itself
+ * ({@code GET /api/events}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    // Guarded by this
+    private final ArrayDeque<OutboxEvent> events = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            if (events.size() == outboxProperties.getMemoryCapacity()) {
+                events.pollFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * @return The retained events, in sequence order
+     */
+    public synchronized List<OutboxEvent> getEvents() {
+        return List.copyOf(events);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import java.util.Date;
+
+/**
+ * A row of {@code outbox_event}.
+ *
+ * @param id            The event id, in append order
+ * @param sequenceNo    The publication order, null while the event is pending
+ * @param aggregateType The type of the changed aggregate
+ * @param aggregateId   The id of the changed aggregate, null for events spanning several (bulk import)
+ * @param eventType     The {@link OutboxEventType} name
+ * @param payload       The event data, as a JSON object
+ * @param insertDate    When the change was made
+ */
+public record OutboxEvent(Long id, Long sequenceNo, String aggregateType, Long aggregateId, String eventType,
+                          String payload, Date insertDate) {
+
+    OutboxEvent withSequenceNo(long sequenceNo) {
+        return new OutboxEvent(id, sequenceNo, aggregateType, aggregateId, eventType, payload, insertDate);
+    }
+}
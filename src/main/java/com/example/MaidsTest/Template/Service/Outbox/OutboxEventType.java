@@ -0,0 +1,26 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+/**
+ * Domain events appended to the outbox, with the type of the aggregate they belong to.
+ */
+public enum OutboxEventType {
+
+    BOOK_CREATED("Book"),
+    BOOK_UPDATED("Book"),
+    BOOK_DELETED("Book"),
+    BOOK_COPIES_ADDED("Book"),
+    /** Books inserted by a bulk import; the payload lists their ids ({@code bookIds}), one event per chunk. */
+    BOOKS_IMPORTED("Book"),
+    BOOK_BORROWED("BorrowingRecord"),
+    BOOK_RETURNED("BorrowingRecord");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+}
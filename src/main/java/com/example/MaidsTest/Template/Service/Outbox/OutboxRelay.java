@@ -0,0 +1,89 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import com.example.MaidsTest.Base.Config.OutboxProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relay publishing the outbox to the configured {@link OutboxSink}.
+ * <p>
+ * Every run publishes the pending events in id order, in batches of {@code app.outbox.batch-size}, until none is
+ * left or the sink fails. Each batch is claimed (stamped with its sequence numbers) in a short transaction, sent to
+ * the sink once that transaction has committed, and marked published after the sink returns. A failed batch stays
+ * claimed and is sent again first by the next run; the batches before it are marked and are not published again.
+ * </p>
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxProperties outboxProperties;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    // Relays never overlap
+    private final Lock relayLock = new ReentrantLock();
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay-delay-ms:1000}")
+    public void scheduledRelay() {
+        if (!relayLock.tryLock()) return;  // A relay is still running: it publishes these events too
+        try {
+            relay();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes every pending event.
+     *
+     * @return The number of events published by this run
+     */
+    public int relay() {
+        relayLock.lock();
+        try {
+            return relayUnlocked();
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private int relayUnlocked() {
+        int published = 0;
+        int batch;
+        do {
+            try {
+                List<OutboxEvent> events = outboxService.claimNextBatch(outboxProperties.getBatchSize());
+                if (!events.isEmpty()) {
+                    outboxSink.publish(events);  // No transaction open: appends never wait for the sink
+                    outboxService.markPublished(events);
+                }
+                batch = events.size();
+            } catch (Exception e) {
+                logger.warn("Outbox relay stopped after {} events, the failed batch is retried on the next run",
+                        published, e);
+                break;
+            }
+            published += batch;
+        }
+        while (batch > 0);  // A re-sent batch can be short and still have pending events behind it
+
+        if (published > 0) {
+            logger.debug("Outbox relay published {} events", published);
+        }
+        return published;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The transactional outbox ({@code outbox_event}), read and written with plain JDBC.
+ * <p>
+ * The services append their changes with {@link #append} or {@link #appendAll} inside their own transaction: the
+ * event commits or rolls back with the change, and no event is lost between a commit and a message broker. The
+ * rows go through {@link JdbcTemplate} on the connection of the JPA transaction, as one batched INSERT per call.
+ * </p>
+ */
+@Service
+public class OutboxService {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_event "
+            + "(aggregate_type, aggregate_id, event_type, payload, insert_date) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String COLUMNS =
+            "id, sequence_no, aggregate_type, aggregate_id, event_type, payload, insert_date";
+
+    private static final RowMapper<OutboxEvent> EVENT_ROW_MAPPER = (rs, row) -> new OutboxEvent(
+            rs.getLong("id"), rs.getObject("sequence_no", Long.class), rs.getString("aggregate_type"),
+            rs.getObject("aggregate_id", Long.class), rs.getString("event_type"), rs.getString("payload"),
+            rs.getTimestamp("insert_date"));
+
+    /**
+     * A change to append.
+     *
+     * @param type        The event type
+     * @param aggregateId The id of the changed aggregate, or null
+     * @param payload     The event data, serialized to a JSON object
+     */
+    public record Change(OutboxEventType type, Long aggregateId, Map<String, Object> payload) {
+
+        /** A change of a book, with its fields as they were written. */
+        public static Change book(OutboxEventType type, Book book) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("bookId", book.getId());
+            payload.put("title", book.getTitle());
+            payload.put("author", book.getAuthor());
+            payload.put("publicationYear", book.getPublicationYear());
+            payload.put("available", book.getAvailable());
+            return new Change(type, book.getId(), payload);
+        }
+
+        /** A change of a loan, with whether its book has a free copy once the change commits. */
+        public static Change loan(OutboxEventType type, BorrowingRecord record, boolean bookAvailable) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("borrowingRecordId", record.getId());
+            payload.put("bookId", record.getBookId().getId());
+            payload.put("patronId", record.getPatronId().getId());
+            payload.put("copyId", record.getCopyId() == null ? null : record.getCopyId().getId());
+            payload.put("borrowDate", record.getBorrowDate());
+            payload.put("dueDate", record.getDueDate());
+            payload.put("returnDate", record.getReturnDate());
+            payload.put("bookAvailable", bookAvailable);
+            return new Change(type, record.getId(), payload);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Appends one change to the outbox, in the transaction of the caller.
+     *
+     * @throws org.springframework.transaction.IllegalTransactionStateException If there is no transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OutboxEventType type, Long aggregateId, Map<String, Object> payload) {
+        appendAll(List.of(new Change(type, aggregateId, payload)));
+    }
+
+    /**
+     * Appends one change to the outbox, in the transaction of the caller.
+     *
+     * @throws org.springframework.transaction.IllegalTransactionStateException If there is no transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Change change) {
+        appendAll(List.of(change));
+    }
+
+    /**
+     * Appends several changes to the outbox in one JDBC batch, in the transaction of the caller and in list order.
+     *
+     * @throws org.springframework.transaction.IllegalTransactionStateException If there is no transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<Change> changes) {
+        if (changes.isEmpty()) return;
+
+        Timestamp insertDate = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            rows.add(new Object[]{change.type().getAggregateType(), change.aggregateId(), change.type().name(),
+                    toJson(change.payload()), insertDate});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Claims the next batch for the sink: the events already stamped but not acknowledged by the sink if there are
+     * any (a failed or interrupted run), otherwise the oldest pending events, stamped with the next sequence numbers.
+     * The row of {@code outbox_sequence} is locked before anything else is read, so a second relay on another
+     * instance waits for this one to commit and then reads its stamps instead of stamping the same numbers again; the
+     * transaction holds no I/O and commits before the sink is called, so appends are never blocked behind the sink.
+     *
+     * @param batchSize The most events to claim
+     * @return The events to publish, in sequence order
+     */
+    @Transactional
+    public List<OutboxEvent> claimNextBatch(int batchSize) {
+        // First statement: a consistent read before it would fix a read view older than the other relay's commit
+        Long lastSequenceNo = jdbcTemplate.queryForObject(
+                "SELECT last_sequence_no FROM outbox_sequence WHERE id = 1 FOR UPDATE", Long.class);
+
+        List<OutboxEvent> unpublished = jdbcTemplate.query("SELECT " + COLUMNS + " FROM outbox_event "
+                + "WHERE unpublished_sequence_no IS NOT NULL ORDER BY unpublished_sequence_no LIMIT ?",
+                EVENT_ROW_MAPPER, batchSize);
+        if (!unpublished.isEmpty()) return unpublished;
+
+        List<OutboxEvent> pending = jdbcTemplate.query("SELECT " + COLUMNS + " FROM outbox_event "
+                + "WHERE pending_id IS NOT NULL ORDER BY pending_id LIMIT ?", EVENT_ROW_MAPPER, batchSize);
+        if (pending.isEmpty()) return pending;
+
+        long sequenceNo = lastSequenceNo;
+
+        List<OutboxEvent> events = new ArrayList<>(pending.size());
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (OutboxEvent event : pending) {
+            events.add(event.withSequenceNo(++sequenceNo));
+            rows.add(new Object[]{sequenceNo, event.id()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE outbox_event SET sequence_no = ? WHERE id = ?", rows);
+        jdbcTemplate.update("UPDATE outbox_sequence SET last_sequence_no = ? WHERE id = 1", sequenceNo);
+        return events;
+    }
+
+    /**
+     * Marks events as published once the sink has acknowledged them.
+     *
+     * @param events The events claimed with {@link #claimNextBatch}
+     */
+    @Transactional
+    public void markPublished(List<OutboxEvent> events) {
+        Timestamp publishedDate = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate("UPDATE outbox_event SET published_date = ? WHERE id = ?", events.stream()
+                .map(event -> new Object[]{publishedDate, event.id()})
+                .toList());
+    }
+
+    /**
+     * Retrieves the published events after a sequence number, in sequence order. Sequence numbers have no gaps and
+     * batches are published in sequence order, so a consumer that resumes from the last number it read misses
+     * nothing.
+     *
+     * @param afterSequenceNo The last sequence number read, 0 for the start of the stream
+     * @param size            The most events to return
+     * @return The requested slice of events
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<OutboxEvent> getEventsAfter(long afterSequenceNo, int size) {
+        List<OutboxEvent> events = jdbcTemplate.query("SELECT " + COLUMNS + " FROM outbox_event "
+                + "WHERE sequence_no > ? AND published_date IS NOT NULL ORDER BY sequence_no LIMIT ?",
+                EVENT_ROW_MAPPER, afterSequenceNo, size + 1);
+
+        boolean hasNext = events.size() > size;
+        return new SliceImpl<>(hasNext ? events.subList(0, size) : events, PageRequest.ofSize(size), hasNext);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload, e);
+        }
+    }
+}
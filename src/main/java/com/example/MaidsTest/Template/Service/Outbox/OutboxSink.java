@@ -0,0 +1,23 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the events published by {@link OutboxRelay}: the in-memory and file sinks ship with the
+ * application, selected with {@code app.outbox.sink}; a message broker adapter is another implementation.
+ * <p>
+ * {@link #publish} runs outside any transaction, after the batch is stamped with its sequence numbers and before
+ * it is marked published. Throwing leaves the batch unmarked and the relay sends it again on its next run, so
+ * delivery is at least once: a batch the sink accepted may be delivered again if it cannot be marked. Consumers
+ * drop duplicates by event id or sequence number.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes one batch of events, in sequence order. Returns once the batch is durable at the destination.
+     *
+     * @param events The events, each with its sequence number
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
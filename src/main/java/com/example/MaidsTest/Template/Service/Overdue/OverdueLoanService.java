@@ -0,0 +1,124 @@
+package com.example.MaidsTest.Template.Service.Overdue;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Config.LoanProperties;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import com.example.MaidsTest.Template.Repository.Table.BorrowingRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service detecting overdue loans.
+ * <p>
+ * The scan walks the open loans in due date order through the {@code open_due_date} index (V6), from a
+ * watermark (the due date and id of the last loan it flagged) up to now, and flags the loans it finds in
+ * chunks with one conditional UPDATE each. Every run therefore reads only the loans that fell due since the
+ * previous run, never the returned ones nor the ones not yet due. A new loan is due a whole loan period after it
+ * was borrowed, far past the watermark, so no loan can appear behind it. The watermark starts at the beginning of
+ * time: the first run after a restart reads the loans that are already overdue once more, and the conditional
+ * update leaves them as they are.
+ * </p>
+ */
+@Service
+public class OverdueLoanService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueLoanService.class);
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private LoanProperties loanProperties;
+
+    // A lock rather than a monitor, which would pin the carrier of a virtual thread through the JDBC calls
+    private final Lock scanLock = new ReentrantLock();
+
+    // Guarded by scanLock: scans never overlap
+    private Date watermarkDueDate = new Date(0);
+
+    private long watermarkId = 0;
+
+    @Scheduled(fixedDelayString = "${app.loan.overdue-scan-delay-ms:60000}")
+    public void scheduledScan() {
+        if (!scanLock.tryLock()) return;  // A scan is still running: it covers this one
+        try {
+            scan(new Date());
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    /**
+     * Flags the open loans that fell due since the previous scan and no later than the given date.
+     *
+     * @param now The date loans are overdue at
+     * @return The number of loans flagged by this scan
+     */
+    public int scan(Date now) {
+        scanLock.lock();
+        try {
+            return scanUnlocked(now);
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private int scanUnlocked(Date now) {
+        long start = System.nanoTime();
+        int read = 0;
+        int flagged = 0;
+
+        PageRequest chunk = PageRequest.of(0, loanProperties.getOverdueChunkSize());
+        List<Object[]> loans;
+        do {
+            loans = borrowingRecordRepository.findOpenDueBetween(watermarkDueDate, watermarkId, now, chunk);
+            if (loans.isEmpty()) break;
+
+            List<Long> ids = new ArrayList<>(loans.size());
+            for (Object[] loan : loans) {
+                ids.add((Long) loan[0]);
+            }
+            flagged += borrowingRecordRepository.markOverdue(ids, now);
+            read += loans.size();
+
+            Object[] last = loans.get(loans.size() - 1);
+            watermarkId = (Long) last[0];
+            watermarkDueDate = (Date) last[1];
+        }
+        while (loans.size() == chunk.getPageSize());
+
+        if (read > 0) {
+            logger.info("Overdue scan read {} loans and flagged {} in {} ms",
+                    read, flagged, (System.nanoTime() - start) / 1_000_000);
+        }
+        return flagged;
+    }
+
+    /**
+     * Retrieves one page of the open loans past their due date, ordered by record ID.
+     *
+     * @param pageRequest The paging parameters (offset or keyset)
+     * @return The requested slice of overdue loans, projected with the title, author and patron of each
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<CBorrowingRecordDTO> getOverdueLoans(CPageRequest pageRequest) {
+        Date now = new Date();
+        return pageRequest.isKeyset()
+                ? borrowingRecordRepository.findOverdueDtosAfter(now, pageRequest.getAfter(), pageRequest.toPageable())
+                : borrowingRecordRepository.findOverdueDtos(now, pageRequest.toPageable());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Numbers the changes of books for the in-memory indexes that apply them after commit.
+ * <p>
+ * The after-commit listeners of concurrent transactions may run in another order than the commits, so every
+ * {@link BookChangedEvent}, {@link BooksImportedEvent} and availability event carries a number taken from here,
+ * and an index ignores an event older than the last one it applied to the same book. Publishers take the number
+ * while they hold the lock of the book row (or the row they just inserted or deleted), which lasts until their
+ * transaction ends: of two changes of one book, the one that commits later always has the higher number. Rolled
+ * back changes leave gaps, which do not matter. The sequence is local to the instance, like the indexes.
+ * </p>
+ */
+public final class BookChangeSequence {
+
+    private static final AtomicLong last = new AtomicLong();
+
+    private BookChangeSequence() {
+    }
+
+    /**
+     * @return The number of a new change, higher than every number given before
+     */
+    public static long next() {
+        return last.incrementAndGet();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+
+/**
+ * Published by {@code BookService} when a book is saved or deleted, with the indexed fields as they were
+ * written. Listeners see it once the surrounding transaction has committed. The factories number the change, so
+ * they must be called with the book row locked (see {@link BookChangeSequence}).
+ *
+ * @param bookId    The book id
+ * @param title     The saved title, null when deleted
+ * @param author    The saved author, null when deleted
+ * @param available Whether the saved book is available, false when deleted
+ * @param deleted   Whether the book was deleted
+ * @param version   The number of the change
+ */
+public record BookChangedEvent(Long bookId, String title, String author, boolean available, boolean deleted,
+                               long version) {
+
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent(book.getId(), book.getTitle(), book.getAuthor(), book.getAvailable(), false,
+                BookChangeSequence.next());
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(bookId, null, null, false, true, BookChangeSequence.next());
+    }
+}
@@ -0,0 +1,638 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the book titles and authors.
+ * <p>
+ * Titles and authors are normalized (lower case, accents and punctuation removed) and split into terms. Every
+ * distinct term keeps one compressed bitmap of the books whose title contains it and one for the author; the
+ * book id is the bitmap position. Query terms are first expanded against the term dictionary, never against the
+ * books:
+ * - exact, prefix and substring matches, found through a trigram index over the terms
+ * - fuzzy matches within one or two edits, only when a query term has no substring match (typos)
+ * The matched books are the intersection over the query terms, ranked by match kind and field (title before
+ * author), then by id. The cost of a query grows with the number of matched books, not with the catalog.
+ * </p>
+ * <p>
+ * Changes carry the version of their event (see {@link BookChangeSequence}); a change older than the last one
+ * applied to the book is ignored, so an update applied late cannot bring back an older title or author, nor a
+ * deleted book. As in the availability index, only books changed since the build have a version.
+ * </p>
+ * <p>
+ * Searches run concurrently; writes take an exclusive lock.
+ * </p>
+ */
+public class BookSearchIndex {
+
+    /** Score of a match by title, per match kind: exact, prefix, substring, fuzzy. */
+    private static final int[] TITLE_SCORES = {20, 16, 12, 8};
+
+    /** Score of a match by author, per match kind; an author match weighs half a title match. */
+    private static final int[] AUTHOR_SCORES = {10, 8, 6, 4};
+
+    /** Upper bound on the dictionary terms a single query term expands to. */
+    static final int MAX_EXPANSIONS = 256;
+
+    /** Up to this many matched books every one is scored; above, the ranking walks the score levels instead. */
+    static final int SCAN_THRESHOLD = 10_000;
+
+    /** The level walk packs the level of each query term in 3 bits of a long. */
+    private static final int MAX_WALK_TERMS = 21;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final char BOUNDARY = '^';
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::bookId).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Term> terms = new HashMap<>();
+
+    private final List<Term> termsById = new ArrayList<>();
+
+    private final Map<String, RoaringBitmap> termsByGram = new HashMap<>();
+
+    private final Map<Integer, Document> documents = new HashMap<>();
+
+    /** Version of the last change applied, per book changed since the build. */
+    private final Map<Integer, Long> versions = new HashMap<>();
+
+    private final int scanThreshold;
+
+    /**
+     * A matching book and its relevance; higher scores rank first.
+     */
+    public record Hit(long bookId, int score) {
+    }
+
+    public BookSearchIndex() {
+        this(SCAN_THRESHOLD);
+    }
+
+    /** For tests: forces one ranking strategy or the other. */
+    BookSearchIndex(int scanThreshold) {
+        this.scanThreshold = scanThreshold;
+    }
+
+    /**
+     * Adds a book while the index is built, as of version 0.
+     *
+     * @see #put(long, String, String, long)
+     */
+    public void put(long bookId, String title, String author) {
+        put(bookId, title, author, 0);
+    }
+
+    /**
+     * Adds the book to the index, or replaces what was indexed for it, unless a newer change was applied to it.
+     *
+     * @param bookId  The book id
+     * @param title   The book title, may be null
+     * @param author  The book author, may be null
+     * @param version The version of the change
+     * @throws IllegalArgumentException If the id does not fit the index (above {@link Integer#MAX_VALUE})
+     */
+    public void put(long bookId, String title, String author, long version) {
+        int doc = toDocument(bookId);
+        List<String> titleTerms = normalize(title);
+        List<String> authorTerms = normalize(author);
+
+        lock.writeLock().lock();
+        try {
+            if (!advance(doc, version)) return;
+
+            removeDocument(doc);
+
+            String[] indexedTitle = new String[titleTerms.size()];
+            for (int i = 0; i < indexedTitle.length; i++) {
+                Term term = termFor(titleTerms.get(i));
+                term.titleDocs.add(doc);
+                indexedTitle[i] = term.text;
+            }
+
+            String[] indexedAuthor = new String[authorTerms.size()];
+            for (int i = 0; i < indexedAuthor.length; i++) {
+                Term term = termFor(authorTerms.get(i));
+                term.authorDocs.add(doc);
+                indexedAuthor[i] = term.text;
+            }
+
+            documents.put(doc, new Document(indexedTitle, indexedAuthor));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the book from the index, unless a newer change was applied to it; unknown ids are ignored.
+     *
+     * @param bookId  The book id
+     * @param version The version of the change
+     */
+    public void remove(long bookId, long version) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!advance((int) bookId, version)) return;
+
+            removeDocument((int) bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            termsById.clear();
+            termsByGram.clear();
+            documents.clear();
+            versions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed books
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the books whose title or author match every term of the query.
+     *
+     * @param query The free text query
+     * @param limit The maximum number of hits
+     * @return The best hits, most relevant first; empty if the query has no searchable term
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = normalize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Per query term: the matched books split by score, best first
+            List<List<Level>> levels = new ArrayList<>(queryTerms.size());
+            List<RoaringBitmap> matches = new ArrayList<>(queryTerms.size());
+
+            for (String queryTerm : queryTerms) {
+                List<Level> termLevels = match(queryTerm);
+                if (termLevels.isEmpty()) {
+                    return List.of();
+                }
+                levels.add(termLevels);
+                matches.add(FastAggregation.or(termLevels.stream().map(Level::docs).iterator()));
+            }
+
+            matches.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+            RoaringBitmap candidates = matches.size() == 1 ? matches.get(0) : FastAggregation.and(matches.iterator());
+
+            if (candidates.getLongCardinality() <= scanThreshold || levels.size() > MAX_WALK_TERMS) {
+                return rankByScan(candidates, levels, limit);
+            }
+            return rankByLevels(candidates, levels, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into normalized terms: lower case, without accents, on every non letter or digit.
+     * Duplicates are dropped, the order of first occurrence is kept.
+     */
+    static List<String> normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        Set<String> result = new LinkedHashSet<>();
+        for (String part : SEPARATORS.split(folded)) {
+            if (!part.isEmpty()) {
+                result.add(part);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Bounded Levenshtein distance.
+     *
+     * @return the edit distance, or {@code max + 1} as soon as it is known to exceed {@code max}
+     */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Expands one query term against the dictionary.
+     *
+     * @return the matched books split into disjoint levels, highest score first; a book only belongs to the
+     * level of the best score it reaches
+     */
+    private List<Level> match(String queryTerm) {
+        Map<Integer, List<RoaringBitmap>> postings = new TreeMap<>(Comparator.reverseOrder());
+
+        int expanded = 0;
+        for (Term term : substringTerms(queryTerm)) {
+            if (expanded++ == MAX_EXPANSIONS) {
+                break;
+            }
+            int kind = term.text.equals(queryTerm) ? 0 : term.text.startsWith(queryTerm) ? 1 : 2;
+            addPostings(postings, kind, term);
+        }
+
+        if (expanded == 0) {
+            for (Term term : fuzzyTerms(queryTerm)) {
+                addPostings(postings, 3, term);
+            }
+        }
+
+        List<Level> levels = new ArrayList<>(postings.size());
+        RoaringBitmap seen = new RoaringBitmap();
+        for (Map.Entry<Integer, List<RoaringBitmap>> entry : postings.entrySet()) {
+            RoaringBitmap docs = RoaringBitmap.andNot(FastAggregation.or(entry.getValue().iterator()), seen);
+            if (!docs.isEmpty()) {
+                levels.add(new Level(entry.getKey(), docs));
+                seen.or(docs);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Terms containing the query term. Terms of one or two characters only match as a prefix.
+     * The result is ordered exact match first, then prefixes, then the rest.
+     */
+    private List<Term> substringTerms(String queryTerm) {
+        List<String> grams = queryTerm.length() < 3 ? List.of(BOUNDARY + queryTerm) : trigrams(queryTerm);
+
+        List<RoaringBitmap> postings = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            RoaringBitmap termIds = termsByGram.get(gram);
+            if (termIds == null) {
+                return List.of();
+            }
+            postings.add(termIds);
+        }
+
+        RoaringBitmap termIds = postings.size() == 1 ? postings.get(0) : FastAggregation.and(postings.iterator());
+
+        List<Term> result = new ArrayList<>();
+        Term exact = terms.get(queryTerm);
+        if (exact != null) {
+            result.add(exact);
+        }
+
+        List<Term> others = new ArrayList<>();
+        IntIterator iterator = termIds.getIntIterator();
+        while (iterator.hasNext()) {
+            Term term = termsById.get(iterator.next());
+            if (term != exact && term.text.contains(queryTerm)) {
+                (term.text.startsWith(queryTerm) ? result : others).add(term);
+            }
+        }
+        result.addAll(others);
+        return result;
+    }
+
+    /**
+     * Terms within one edit (two for query terms of eight characters or more) of the query term.
+     * Candidates are the terms sharing enough grams with it, since one edit changes at most three grams.
+     */
+    private List<Term> fuzzyTerms(String queryTerm) {
+        if (queryTerm.length() < 4) {
+            return List.of();
+        }
+        int maxEdits = queryTerm.length() < 8 ? 1 : 2;
+
+        List<String> grams = boundedGrams(queryTerm);
+        int minShared = Math.max(1, grams.size() - 3 * maxEdits);
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            RoaringBitmap termIds = termsByGram.get(gram);
+            if (termIds != null) {
+                termIds.forEach((int termId) -> shared.merge(termId, 1, Integer::sum));
+            }
+        }
+
+        List<Term> result = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() < minShared) {
+                continue;
+            }
+            Term term = termsById.get(entry.getKey());
+            if (editDistance(queryTerm, term.text, maxEdits) <= maxEdits) {
+                result.add(term);
+                if (result.size() == MAX_EXPANSIONS) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Scores every matched book and keeps the best ones.
+     */
+    private static List<Hit> rankByScan(RoaringBitmap candidates, List<List<Level>> levels, int limit) {
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING);
+
+        IntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext()) {
+            int doc = iterator.next();
+
+            int score = 0;
+            for (List<Level> termLevels : levels) {
+                for (Level level : termLevels) {
+                    if (level.docs.contains(doc)) {
+                        score += level.score;
+                        break;
+                    }
+                }
+            }
+
+            Hit hit = new Hit(doc, score);
+            if (best.size() < limit) {
+                best.add(hit);
+            } else if (RANKING.compare(hit, best.peek()) > 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+
+        List<Hit> result = new ArrayList<>(best);
+        result.sort(RANKING.reversed());
+        return result;
+    }
+
+    /**
+     * Ranks a large set of matched books without scoring each of them. Every combination of one level per query
+     * term is a disjoint group of books with the same score. The combinations are visited best score first
+     * (a combination is only reached from the better ones), and the walk stops once the limit is reached, so only
+     * the returned books are enumerated.
+     */
+    private static List<Hit> rankByLevels(RoaringBitmap candidates, List<List<Level>> levels, int limit) {
+        int termCount = levels.size();
+        RoaringBitmap[][] docs = new RoaringBitmap[termCount][];
+        int[][] scores = new int[termCount][];
+        int bestScore = 0;
+
+        for (int term = 0; term < termCount; term++) {
+            List<Level> termLevels = levels.get(term);
+            docs[term] = new RoaringBitmap[termLevels.size()];
+            scores[term] = new int[termLevels.size()];
+            for (int level = 0; level < termLevels.size(); level++) {
+                docs[term][level] = RoaringBitmap.and(termLevels.get(level).docs, candidates);
+                scores[term][level] = termLevels.get(level).score;
+            }
+            bestScore += scores[term][0];
+        }
+
+        PriorityQueue<Combination> queue = new PriorityQueue<>(
+                Comparator.comparingInt(Combination::score).reversed());
+        Set<Long> visited = new HashSet<>();
+        queue.add(new Combination(bestScore, 0L));
+        visited.add(0L);
+
+        List<Hit> result = new ArrayList<>(limit);
+        RoaringBitmap[] chosen = new RoaringBitmap[termCount];
+
+        while (!queue.isEmpty() && result.size() < limit) {
+            int score = queue.peek().score();
+
+            // All the combinations with this score; their successors all score lower
+            List<RoaringBitmap> group = new ArrayList<>();
+            while (!queue.isEmpty() && queue.peek().score() == score) {
+                long key = queue.poll().key();
+
+                for (int term = 0; term < termCount; term++) {
+                    chosen[term] = docs[term][level(key, term)];
+                }
+                RoaringBitmap matched = FastAggregation.and(chosen);
+                if (!matched.isEmpty()) {
+                    group.add(matched);
+                }
+
+                for (int term = 0; term < termCount; term++) {
+                    int level = level(key, term);
+                    long next = key + (1L << (3 * term));
+                    if (level + 1 < docs[term].length && visited.add(next)) {
+                        queue.add(new Combination(score - scores[term][level] + scores[term][level + 1], next));
+                    }
+                }
+            }
+
+            // Same score: lowest ids first
+            IntIterator iterator = FastAggregation.or(group.iterator()).getIntIterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                result.add(new Hit(iterator.next(), score));
+            }
+        }
+
+        return result;
+    }
+
+    private static int level(long key, int term) {
+        return (int) (key >>> (3 * term)) & 0b111;
+    }
+
+    private static void addPostings(Map<Integer, List<RoaringBitmap>> postings, int kind, Term term) {
+        if (!term.titleDocs.isEmpty()) {
+            postings.computeIfAbsent(TITLE_SCORES[kind], score -> new ArrayList<>()).add(term.titleDocs);
+        }
+        if (!term.authorDocs.isEmpty()) {
+            postings.computeIfAbsent(AUTHOR_SCORES[kind], score -> new ArrayList<>()).add(term.authorDocs);
+        }
+    }
+
+    private Term termFor(String text) {
+        Term term = terms.get(text);
+        if (term != null) {
+            return term;
+        }
+
+        term = new Term(termsById.size(), text);
+        terms.put(text, term);
+        termsById.add(term);
+        for (String gram : boundedGrams(text)) {
+            termsByGram.computeIfAbsent(gram, key -> new RoaringBitmap()).add(term.id);
+        }
+        return term;
+    }
+
+    // Called with the write lock held: records the version if it is newer than the book's last one
+    private boolean advance(int doc, long version) {
+        Long last = versions.get(doc);
+        if (last != null && last >= version) return false;
+
+        if (version > 0) {
+            versions.put(doc, version);
+        }
+        return true;
+    }
+
+    private void removeDocument(int doc) {
+        Document document = documents.remove(doc);
+        if (document == null) {
+            return;
+        }
+
+        for (String text : document.titleTerms) {
+            Term term = terms.get(text);
+            term.titleDocs.remove(doc);
+            dropIfUnused(term);
+        }
+        for (String text : document.authorTerms) {
+            Term term = terms.get(text);
+            term.authorDocs.remove(doc);
+            dropIfUnused(term);
+        }
+    }
+
+    private void dropIfUnused(Term term) {
+        if (!term.titleDocs.isEmpty() || !term.authorDocs.isEmpty()) {
+            return;
+        }
+
+        // Ids are not reused: the slot is only cleared, so a stale id can never resolve to another term
+        terms.remove(term.text);
+        termsById.set(term.id, null);
+        for (String gram : boundedGrams(term.text)) {
+            RoaringBitmap termIds = termsByGram.get(gram);
+            termIds.remove(term.id);
+            if (termIds.isEmpty()) {
+                termsByGram.remove(gram);
+            }
+        }
+    }
+
+    /** Trigrams of the term, without the boundary marker. */
+    private static List<String> trigrams(String text) {
+        List<String> grams = new ArrayList<>(text.length() - 2);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Grams indexed for a term: the boundary marker with the first one and two characters (prefix lookups of
+     * short query terms) and every trigram of the term (substring lookups).
+     */
+    private static List<String> boundedGrams(String text) {
+        List<String> grams = new ArrayList<>(text.length() + 1);
+        grams.add(BOUNDARY + text.substring(0, 1));
+        if (text.length() > 1) {
+            grams.add(BOUNDARY + text.substring(0, 2));
+        }
+        if (text.length() > 2) {
+            grams.addAll(trigrams(text));
+        }
+        return grams;
+    }
+
+    private static int toDocument(long bookId) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Book id out of the search index range: " + bookId);
+        }
+        return (int) bookId;
+    }
+
+    private static final class Term {
+
+        private final int id;
+
+        private final String text;
+
+        private final RoaringBitmap titleDocs = new RoaringBitmap();
+
+        private final RoaringBitmap authorDocs = new RoaringBitmap();
+
+        private Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    /** Books of one query term matched with the same score. */
+    private record Level(int score, RoaringBitmap docs) {
+    }
+
+    /** One level per query term, packed in {@code key}, and the resulting score. */
+    private record Combination(int score, long key) {
+    }
+
+    /** The terms a book was indexed under, to remove it again. */
+    private record Document(String[] titleTerms, String[] authorTerms) {
+    }
+}
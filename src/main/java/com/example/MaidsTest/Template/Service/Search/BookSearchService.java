@@ -0,0 +1,114 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import com.example.MaidsTest.Template.Aspect.Loggable;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for searching the book catalog by title or author.
+ * <p>
+ * Searches run against the in-memory {@link BookSearchIndex}. The index is built from the database when the
+ * application starts, before the web server accepts requests, and is then kept in sync by the
+ * {@link BookChangedEvent}/{@link BooksImportedEvent} published by {@link BookService}; those are only
+ * applied after the transaction commits, so a rolled back change never becomes searchable. Listeners of concurrent
+ * transactions may run out of commit order: the index ignores an event older than the last one of the book.
+ * </p>
+ */
+@Service
+public class BookSearchService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookSearchService.class);
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    public static final int MAX_LIMIT = 100;
+
+    private final BookSearchIndex index = new BookSearchIndex();
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    /**
+     * Builds the index from the whole catalog.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+
+        index.clear();
+        bookService.exportBooks(this::index);
+
+        logger.info("Book search index built with {} books in {} ms",
+                index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Searches the books by title and author, with prefix, substring and typo tolerant matching.
+     *
+     * @param query The free text query
+     * @param limit The maximum number of books, {@link #DEFAULT_LIMIT} when null, capped at {@link #MAX_LIMIT}
+     * @return The matching books, most relevant first
+     * @throws IllegalArgumentException If the query is blank or the limit lower than one
+     */
+    @Loggable
+    public List<Book> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+
+        List<Long> ids = index.search(query, limit == null ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT)).stream()
+                .map(BookSearchIndex.Hit::bookId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // One primary key lookup for the page of hits, returned in ranking order
+        Map<Long, Book> books = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        return ids.stream()
+                .map(books::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.deleted()) {
+            index.remove(event.bookId(), event.version());
+        } else {
+            index.put(event.bookId(), event.title(), event.author(), event.version());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBooksImported(BooksImportedEvent event) {
+        // The rows are read after the commit: a newer update of one of them may be read here already
+        bookService.exportBooks(event.bookIds(),
+                book -> index.put(book.getId(), book.getTitle(), book.getAuthor(), event.version()));
+    }
+
+    private void index(Book book) {
+        index.put(book.getId(), book.getTitle(), book.getAuthor());
+    }
+}
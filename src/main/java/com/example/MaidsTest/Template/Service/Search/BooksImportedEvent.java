@@ -0,0 +1,17 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import java.util.List;
+
+/**
+ * Published by {@code BookService} after a bulk import. The imported rows are inserted with plain JDBC batches,
+ * so no entity is loaded; the listeners read the books they need by id.
+ *
+ * @param bookIds The ids of the imported books, in insert order
+ * @param version The number of the change (see {@link BookChangeSequence})
+ */
+public record BooksImportedEvent(List<Long> bookIds, long version) {
+
+    public static BooksImportedEvent of(List<Long> bookIds) {
+        return new BooksImportedEvent(bookIds, BookChangeSequence.next());
+    }
+}
@@ -1,22 +1,61 @@
 package com.example.MaidsTest.Template.Service.Table;
 
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Config.ImportProperties;
 import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.API.Request.Book.CBookFilterRequest;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookCopiesDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
 import com.example.MaidsTest.Template.Aspect.Loggable;
 import com.example.MaidsTest.Template.Exception.BookNotFoundException;
 import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BookCopy;
+import com.example.MaidsTest.Template.Repository.Table.BookCopyRepository;
 import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import com.example.MaidsTest.Template.Repository.Table.BookSpecifications;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Audit.AuditLog;
+import com.example.MaidsTest.Template.Service.Audit.AuditUser;
+import com.example.MaidsTest.Template.Service.Hold.BookHoldService;
+import com.example.MaidsTest.Template.Service.Import.BulkImportService;
+import com.example.MaidsTest.Template.Service.Import.ImportResult;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEventType;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService;
+import com.example.MaidsTest.Template.Service.Search.BookChangedEvent;
+import com.example.MaidsTest.Template.Service.Search.BooksImportedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing books.
  * Contains business logic for handling book operations such as retrieving, adding, updating, and deleting books.
- * Implements caching for book retrieval.
+ * Implements caching for book retrieval. Every mutation refreshes or evicts the "book" cache entry,
+ * and the cache manager defers those operations until the surrounding transaction commits.
+ * Every mutation also publishes a {@link BookChangedEvent} (or {@link BooksImportedEvent}) for the search and
+ * availability indexes, appends a domain event to the outbox in the same transaction ({@link OutboxService}) and
+ * is recorded in the {@link AuditLog}. New books are inserted by the {@link AuditUser} of the request, when known.
+ * A book is a title; its physical copies are {@link BookCopy} rows, one per new book.
  */
 @Service
 public class BookService {
@@ -24,6 +63,44 @@ public class BookService {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private BookHoldService bookHoldService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static final int MAX_NEW_COPIES = 100;
+
+    private static final int EXPORT_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_BOOK_SQL =
+            "INSERT INTO book (title, author, pages, price, publication_year, available, insert_date, insert_by) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_COPY_SQL =
+            "INSERT INTO book_copy (book_id, available, insert_date) VALUES (?, TRUE, ?)";
+
     /**
      * Retrieves all books from the repository.
      *
@@ -34,6 +111,102 @@ public class BookService {
         return bookRepository.findAll();
     }
 
+    /**
+     * Retrieves all books, projected straight into their response DTO. The rows never become managed entities,
+     * so there is no dirty-checking snapshot and no mapper copy per book.
+     *
+     * @return List of book DTOs ordered by ID
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public List<CBookDTO> getAllBookDTOs() {
+        return bookRepository.findAllDtos();
+    }
+
+    /**
+     * Retrieves one page of books ordered by ID, projected into their response DTO. The limit is pushed down
+     * to the database, using either offset paging or keyset paging when a cursor is given.
+     *
+     * @param pageRequest The paging parameters
+     * @return The requested slice of book DTOs
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<CBookDTO> getBooks(CPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return bookRepository.findDtosAfter(pageRequest.getAfter(), pageRequest.toPageable());
+        }
+        return bookRepository.findDtos(pageRequest.toPageable());
+    }
+
+    /**
+     * Retrieves one page of the books matching the filters, in the requested order, projected into their
+     * response DTO. The predicates, the order and the limit are all pushed down to a single SQL query.
+     *
+     * @param filterRequest The filter, sort and paging parameters
+     * @return The requested slice of book DTOs
+     * @throws IllegalArgumentException If a range is inverted, a sort field unknown, or a cursor is combined with a sort
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<CBookDTO> findBooks(CBookFilterRequest filterRequest) {
+        filterRequest.validate();
+
+        Specification<Book> specification = Specification
+                .where(BookSpecifications.isAvailable(filterRequest.getAvailable()))
+                .and(BookSpecifications.publishedBetween(filterRequest.getYearFrom(), filterRequest.getYearTo()))
+                .and(BookSpecifications.priceBetween(filterRequest.getMinPrice(), filterRequest.getMaxPrice()))
+                .and(BookSpecifications.pagesBetween(filterRequest.getMinPages(), filterRequest.getMaxPages()))
+                .and(BookSpecifications.idGreaterThan(filterRequest.getAfter()));
+
+        return bookRepository.findDtoSlice(specification, filterRequest.toPageable());
+    }
+
+    /**
+     * Streams every book, in ID order, to the given consumer.
+     * Each book is detached once consumed so the persistence context never grows with the table.
+     *
+     * @param consumer Receives the books one by one
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<Book> consumer) {
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            consume(books, consumer);
+        }
+    }
+
+    /**
+     * Reads the given books, {@value #EXPORT_CHUNK_SIZE} IDs per query, and passes them to the given consumer.
+     *
+     * @param ids      The IDs of the books to export
+     * @param consumer Receives the books one by one
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public void exportBooks(List<Long> ids, Consumer<Book> consumer) {
+        for (int from = 0; from < ids.size(); from += EXPORT_CHUNK_SIZE) {
+            consume(bookRepository.findAllById(ids.subList(from, Math.min(from + EXPORT_CHUNK_SIZE, ids.size())))
+                    .stream(), consumer);
+        }
+    }
+
+    /**
+     * Streams the ID and availability of the books with an ID greater than the given one, in ID order,
+     * without loading the entities.
+     *
+     * @param afterId  The last ID not to export, 0 for all books
+     * @param consumer Receives each book ID with whether the book is available
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public void exportAvailability(Long afterId, BiConsumer<Long, Boolean> consumer) {
+        Set<Long> borrowed = new HashSet<>(bookRepository.findBorrowedIdsAfter(afterId));
+        try (Stream<Long> ids = bookRepository.streamIdsAfter(afterId)) {
+            ids.forEach(id -> consumer.accept(id, !borrowed.contains(id)));
+        }
+    }
+
     /**
      * Retrieves a book by its ID. If not found, throws a BookNotFoundException.
      *
@@ -50,20 +223,127 @@ public class BookService {
     }
 
     /**
-     * Adds a new book to the repository and marks it as available.
+     * Adds a new book to the repository with one free copy, and marks it as available.
      *
      * @param book The book to add
      * @return The saved book object
      */
     @Loggable
+    @Transactional
     public Book addBook(Book book) {
         book.setAvailable(true);  // Ensure the book is available when added
-        return bookRepository.save(book);
+        book.setInsertBy(AuditUser.current());  // Never the client's claim
+        Book savedBook = bookRepository.save(book);
+        bookCopyRepository.save(new BookCopy(savedBook));
+        eventPublisher.publishEvent(BookChangedEvent.saved(savedBook));
+        outboxService.append(OutboxService.Change.book(OutboxEventType.BOOK_CREATED, savedBook));
+        auditLog.record("Book", savedBook.getId(), AuditAction.CREATE, null);
+        return savedBook;
     }
 
     /**
-     * Updates an existing book. The book's title, author, and publication year will be updated.
-     * This method uses cache eviction to clear the cache after updating a book.
+     * Adds copies of a book. The new copies go to the patrons waiting for the book first, like returned copies do;
+     * a book without a free copy becomes available again if some are left over. The book row is locked, so a hold
+     * placed at the same time is either served here or sees the new copies and is rejected.
+     *
+     * @param id    The ID of the book
+     * @param count The number of copies to add, 1 to {@link #MAX_NEW_COPIES}
+     * @return The copy counts of the book after the change
+     * @throws BookNotFoundException    If the book is not found
+     * @throws IllegalArgumentException If the count is out of range
+     */
+    @Loggable
+    @Transactional
+    @CacheEvict(value = "book", key = "#id")
+    public CBookCopiesDTO addCopies(Long id, int count) {
+        if (count < 1 || count > MAX_NEW_COPIES) {
+            throw new IllegalArgumentException("Count must be between 1 and " + MAX_NEW_COPIES);
+        }
+        Book book = bookRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
+
+        List<BookCopy> copies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            copies.add(new BookCopy(book));
+        }
+        bookCopyRepository.saveAll(copies);
+        outboxService.append(OutboxEventType.BOOK_COPIES_ADDED, id, Map.of("bookId", id, "count", count));
+        auditLog.record("Book", id, AuditAction.UPDATE, count + " copies added");
+
+        int lent = bookHoldService.lendToHolds(book, copies).size();
+        if (lent < count && Boolean.FALSE.equals(book.getAvailable())) {
+            book.setAvailable(true);  // Flushed by dirty checking
+            eventPublisher.publishEvent(BookChangedEvent.saved(book));
+        }
+        return getCopies(id);
+    }
+
+    /**
+     * Counts the copies of a book.
+     *
+     * @param id The ID of the book
+     * @return The number of copies and of free copies
+     * @throws BookNotFoundException If the book is not found
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public CBookCopiesDTO getCopies(Long id) {
+        long copies = bookCopyRepository.countByBookIdId(id);
+        if (copies == 0 && !bookRepository.existsById(id)) {
+            throw new BookNotFoundException(EError.BOOK_NOT_FOUND.name());
+        }
+        return new CBookCopiesDTO(id, copies, bookCopyRepository.countByBookIdIdAndAvailableTrue(id));
+    }
+
+    /**
+     * Imports many books at once. Rows are validated in parallel, invalid rows are reported and skipped,
+     * and the valid ones are inserted as available books with batched JDBC inserts. The books, their copies and
+     * the outbox event commit together.
+     *
+     * @param books The books to import
+     * @return The import summary with the per-row errors
+     */
+    @Loggable
+    @Transactional
+    public ImportResult importBooks(List<Book> books) {
+        Timestamp insertDate = new Timestamp(System.currentTimeMillis());
+        Integer userId = AuditUser.current();
+
+        ImportResult importResult = bulkImportService.importRows(books, INSERT_BOOK_SQL, (ps, book) -> {
+            ps.setString(1, book.getTitle());
+            ps.setString(2, book.getAuthor());
+            ps.setObject(3, book.getPages(), Types.INTEGER);
+            ps.setObject(4, book.getPrice(), Types.DOUBLE);
+            ps.setObject(5, book.getPublicationYear(), Types.INTEGER);
+            ps.setBoolean(6, true);  // Imported books are available, as in addBook
+            ps.setTimestamp(7, insertDate);
+            ps.setObject(8, userId, Types.INTEGER);  // Never the client's claim
+        });
+
+        List<Long> ids = importResult.getIds();
+        if (!ids.isEmpty()) {
+            // The ids come from the batches: books inserted meanwhile by other requests are never touched
+            jdbcTemplate.batchUpdate(INSERT_COPY_SQL, ids, importProperties.getBatchSize(), (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setTimestamp(2, insertDate);
+            });
+            eventPublisher.publishEvent(BooksImportedEvent.of(ids));
+            List<OutboxService.Change> changes = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += EXPORT_CHUNK_SIZE) {  // Keeps each payload small
+                changes.add(new OutboxService.Change(OutboxEventType.BOOKS_IMPORTED, null,
+                        Map.of("bookIds", ids.subList(from, Math.min(from + EXPORT_CHUNK_SIZE, ids.size())))));
+            }
+            outboxService.appendAll(changes);
+            auditLog.record("Book", null, AuditAction.CREATE, importResult.getImported() + " books imported, ids "
+                    + ids.get(0) + " to " + ids.get(ids.size() - 1));
+        }
+        return importResult;
+    }
+
+    /**
+     * Updates an existing book. The book's title, author, and publication year will be updated, and only those
+     * columns are written. The book row is locked like borrows and returns lock it to change its availability, so
+     * the book written through to the cache and sent to the indexes once the transaction commits is current.
      *
      * @param id The ID of the book to update
      * @param bookDetails The new details of the book
@@ -71,29 +351,45 @@ public class BookService {
      * @throws BookNotFoundException If the book is not found
      */
     @Loggable
-    @CacheEvict(value = "book", key = "#id")
+    @Transactional
+    @CachePut(value = "book", key = "#id")
     public Book updateBook(Long id, Book bookDetails) {
-        Book book = getBookById(id);  // Retrieve the existing book by ID
+        Book book = bookRepository.findByIdForUpdate(id)  // Load the managed book, not the cached copy
+                .orElseThrow(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
         book.setTitle(bookDetails.getTitle());
         book.setAuthor(bookDetails.getAuthor());
         book.setPublicationYear(bookDetails.getPublicationYear());
-        return bookRepository.save(book);  // Save the updated book
+        eventPublisher.publishEvent(BookChangedEvent.saved(book));
+        outboxService.append(OutboxService.Change.book(OutboxEventType.BOOK_UPDATED, book));
+        auditLog.record("Book", id, AuditAction.UPDATE, null);
+        return book;  // Flushed by dirty checking on commit
     }
 
     /**
      * Deletes a book by its ID. If the book is not found, throws a BookNotFoundException.
+     * The cached entry is evicted once the transaction commits.
      *
      * @param id The ID of the book to delete
      * @throws BookNotFoundException If the book is not found
      */
     @Loggable
+    @Transactional
+    @CacheEvict(value = "book", key = "#id")
     public void deleteBook(Long id) {
-        Optional<Book> book = bookRepository.findById(id);
-
-        if (book.isEmpty()) {
+        // Single DELETE statement; no row deleted means the book does not exist
+        if (bookRepository.deleteBookById(id) == 0) {
             throw new BookNotFoundException(EError.BOOK_NOT_FOUND.name());
         }
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
+        outboxService.append(OutboxEventType.BOOK_DELETED, id, Map.of("bookId", id));
+        auditLog.record("Book", id, AuditAction.DELETE, null);
+    }
 
-        bookRepository.deleteById(id);  // Delete the book from the repository
+    private void consume(Stream<Book> books, Consumer<Book> consumer) {
+        // Detach once consumed so the persistence context never grows with the table
+        books.forEach(book -> {
+            consumer.accept(book);
+            entityManager.detach(book);
+        });
     }
 }
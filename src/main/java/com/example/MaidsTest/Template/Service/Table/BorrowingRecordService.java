@@ -1,24 +1,52 @@
 package com.example.MaidsTest.Template.Service.Table;
 
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Config.LoanProperties;
 import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.API.Request.BorrowingRecord.CBatchBorrowingRequest;
+import com.example.MaidsTest.Template.API.Request.BorrowingRecord.CBorrowingItem;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
 import com.example.MaidsTest.Template.Aspect.Loggable;
 import com.example.MaidsTest.Template.Exception.BookAlreadyBorrowedException;
 import com.example.MaidsTest.Template.Exception.BookNotFoundException;
 import com.example.MaidsTest.Template.Exception.BorrowingRecordNotFoundException;
 import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
 import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BookCopy;
 import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
 import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BookCopyRepository;
 import com.example.MaidsTest.Template.Repository.Table.BookRepository;
 import com.example.MaidsTest.Template.Repository.Table.BorrowingRecordRepository;
 import com.example.MaidsTest.Template.Repository.Table.PatronRepository;
+import com.example.MaidsTest.Template.Service.Availability.BookAvailabilityChangedEvent;
+import com.example.MaidsTest.Template.Service.Availability.BookAvailabilityService;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Audit.AuditEntry;
+import com.example.MaidsTest.Template.Service.Audit.AuditLog;
+import com.example.MaidsTest.Template.Service.Hold.BookHoldService;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEventType;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService.Change;
 import org.springframework.stereotype.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class BorrowingRecordService {
@@ -28,62 +56,386 @@ public class BorrowingRecordService {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
     @Autowired
     private PatronRepository patronRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BookAvailabilityService availabilityService;
+
+    @Autowired
+    private BookHoldService bookHoldService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private LoanProperties loanProperties;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * Borrows any free copy of a book.
+     * <p>
+     * The copy is allocated with {@code SELECT ... FOR UPDATE SKIP LOCKED}: concurrent borrowers of the same title
+     * lock different copies and never wait for each other. The book row is only updated by the borrow that takes
+     * the last free copy, to mark the book unavailable.
+     * </p>
+     *
+     * @param bookId   The ID of the book to borrow
+     * @param patronId The ID of the patron borrowing it
+     * @return The new borrowing record, with its book, patron and copy
+     * @throws BookNotFoundException        If the book does not exist
+     * @throws BookAlreadyBorrowedException If no copy of the book is free
+     * @throws PatronNotFoundException      If the patron does not exist
+     */
     @Transactional
     @Loggable
+    @CacheEvict(value = "book", key = "#bookId")  // Availability changes, evicted after commit
     public BorrowingRecord borrowBook(Long bookId, Long patronId) {
 
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
+        // Known to be borrowed as of the last commit: reject before anything is locked or loaded.
+        if (availabilityService.isBorrowed(bookId)) {
+            throw new BookAlreadyBorrowedException(EError.BOOK_IS_ALREADY_BORROWED.name());
+        }
+
+        BookCopy copy = bookCopyRepository.findFirstByBookIdIdAndAvailableTrueOrderByIdAsc(bookId)
+                .orElseThrow(() -> bookRepository.existsById(bookId)
+                        ? new BookAlreadyBorrowedException(EError.BOOK_IS_ALREADY_BORROWED.name())
+                        : new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
 
+        // Any failure from here on rolls the claim back with the transaction.
         Patron patron = patronRepository.findById(patronId)
                 .orElseThrow(() -> new PatronNotFoundException(EError.PATRON_NOT_FOUND.name()));
 
-        boolean isBookAlreadyBorrowed = borrowingRecordRepository
-                .findByBookIdAndReturnDateIsNull(bookId)
-                .isPresent();
+        copy.setAvailable(false);
+        boolean lastCopy = markBorrowedIfLastCopy(bookId);
 
-        if (isBookAlreadyBorrowed) {
-            throw new BookAlreadyBorrowedException(EError.BOOK_IS_ALREADY_BORROWED.name());
-        }
+        // Already in the persistence context since the book was locked; its availability is lastCopy, not the field
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
 
         BorrowingRecord record = new BorrowingRecord();
         record.setBookId(book);
         record.setPatronId(patron);
+        record.setCopyId(copy);
         record.setBorrowDate(new Date());
+        record.setDueDate(loanProperties.dueDate(record.getBorrowDate()));
 
-        book.setAvailable(false);
-        bookRepository.save(book);
-
-        return borrowingRecordRepository.save(record);
+        BorrowingRecord savedRecord = borrowingRecordRepository.save(record);
+        record(List.of(Change.loan(OutboxEventType.BOOK_BORROWED, savedRecord, !lastCopy)));
+        return savedRecord;
     }
 
+    /**
+     * Returns a copy of a book borrowed by the patron (the oldest open loan if the patron holds several copies).
+     * If patrons hold the book, the copy is lent to the oldest hold in the same transaction and the book stays
+     * as it is; otherwise the copy becomes free.
+     *
+     * @param bookId   The ID of the book to return
+     * @param patronId The ID of the patron who borrowed it
+     * @return The closed borrowing record
+     * @throws BorrowingRecordNotFoundException If the patron has no open loan of the book
+     */
     @Transactional
     @Loggable
+    @CacheEvict(value = "book", key = "#bookId")  // Availability changes, evicted after commit
     public BorrowingRecord returnBook(Long bookId, Long patronId) {
 
-        Optional<BorrowingRecord> recordOpt = borrowingRecordRepository.findByBookIdAndPatronId(bookId, patronId);
+        BorrowingRecord record = borrowingRecordRepository.findOpenByBookIdAndPatronId(bookId, patronId).stream()
+                .findFirst()
+                .orElseThrow(() -> new BorrowingRecordNotFoundException(EError.BORROWING_RECORD_NOT_FOUND.name()));
 
-        if (recordOpt.isEmpty()) {
-            throw new BorrowingRecordNotFoundException(EError.BORROWING_RECORD_NOT_FOUND.name());
+        List<Change> changes = new ArrayList<>(2);
+        if (close(record, new Date(), changes)) {
+            bookRepository.markAvailable(List.of(bookId));
+            eventPublisher.publishEvent(BookAvailabilityChangedEvent.returned(List.of(bookId)));
         }
+        record(changes);
+
+        return record;
+    }
+
+    /**
+     * Borrows several books in one transaction.
+     * <p>
+     * Books the availability index sees as borrowed fail without being loaded. The other books are loaded with one IN query and all patrons with another, then every item
+     * claims a free copy of its book like {@link #borrowBook} does. Items that fail (unknown book or patron, no free copy left,
+     * including after earlier items of the same batch) are reported without rolling back the others. Only the
+     * books whose last copy was taken are updated, in ID order so concurrent batches cannot deadlock.
+     * </p>
+     *
+     * @param items The (bookId, patronId) pairs to borrow
+     * @return One result per item, in request order
+     */
+    @Transactional
+    @Loggable
+    public List<BorrowingResult> borrowBooks(List<CBorrowingItem> items) {
+        validateBatch(items);
 
-        BorrowingRecord record = recordOpt.get();
+        // Books known to be borrowed are not even loaded; they fail below.
+        Set<Long> bookIds = collectIds(items, CBorrowingItem::getBookId);
+        Set<Long> knownBorrowed = bookIds.stream()
+                .filter(availabilityService::isBorrowed)
+                .collect(Collectors.toSet());
+        bookIds.removeAll(knownBorrowed);
 
-        if (record.getReturnDate() != null) {
-            throw new BorrowingRecordNotFoundException(EError.BOOK_IS_ALREADY_RETURNED.name());
+        Map<Long, Book> books = bookRepository.findAllById(bookIds)
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        Map<Long, Patron> patrons = patronRepository.findAllById(collectIds(items, CBorrowingItem::getPatronId))
+                .stream()
+                .collect(Collectors.toMap(Patron::getId, Function.identity()));
+
+        List<BorrowingResult> results = new ArrayList<>(items.size());
+        List<BorrowingRecord> records = new ArrayList<>();
+        Date borrowDate = new Date();
+        Date dueDate = loanProperties.dueDate(borrowDate);
+
+        for (CBorrowingItem item : items) {
+            Book book = books.get(item.getBookId());
+            Patron patron = patrons.get(item.getPatronId());
+
+            if (knownBorrowed.contains(item.getBookId())) {
+                results.add(BorrowingResult.failure(item.getBookId(), item.getPatronId(), EError.BOOK_IS_ALREADY_BORROWED));
+            } else if (book == null) {
+                results.add(BorrowingResult.failure(item.getBookId(), item.getPatronId(), EError.BOOK_NOT_FOUND));
+            } else if (patron == null) {
+                results.add(BorrowingResult.failure(item.getBookId(), item.getPatronId(), EError.PATRON_NOT_FOUND));
+            } else {
+                // The previous claims are flushed before the query, so a title repeated in the batch gets another copy
+                Optional<BookCopy> copy = bookCopyRepository.findFirstByBookIdIdAndAvailableTrueOrderByIdAsc(book.getId());
+                if (copy.isEmpty()) {
+                    results.add(BorrowingResult.failure(item.getBookId(), item.getPatronId(), EError.BOOK_IS_ALREADY_BORROWED));
+                    continue;
+                }
+                copy.get().setAvailable(false);  // Flushed by dirty checking
+
+                BorrowingRecord record = new BorrowingRecord();
+                record.setBookId(book);
+                record.setPatronId(patron);
+                record.setCopyId(copy.get());
+                record.setBorrowDate(borrowDate);
+                record.setDueDate(dueDate);
+                records.add(record);
+
+                results.add(BorrowingResult.success(item.getBookId(), item.getPatronId(), record));
+            }
         }
 
-        record.setReturnDate(new Date());
+        borrowingRecordRepository.saveAll(records);
+        Set<Long> borrowedBookIds = successfulBookIds(results).stream()
+                .distinct()
+                .sorted()
+                .filter(this::markBorrowedIfLastCopy)
+                .collect(Collectors.toSet());
+        evictBooks(results);
 
-        Book book = record.getBookId();
-        book.setAvailable(true);
-        borrowingRecordRepository.save(record);
-        bookRepository.save(book);
+        // The books were loaded before the conditional updates: their availability comes from the updates
+        record(records.stream()
+                .map(record -> Change.loan(OutboxEventType.BOOK_BORROWED, record,
+                        !borrowedBookIds.contains(record.getBookId().getId())))
+                .toList());
 
-        return borrowingRecordRepository.save(record);
+        return results;
     }
 
+    /**
+     * Returns several books in one transaction.
+     * <p>
+     * The books are locked in ID order first, like the hold hand-over of a single return locks its book. The open
+     * borrowing records of all books are then loaded and locked with one IN query (fetching their book, patron and
+     * copy), and closed in memory. Items without a matching open record for the given patron are
+     * reported as failures. Copies of held books go to their holds like in {@link #returnBook}. Record and copy
+     * updates are flushed as JDBC batches, then the freed books are marked available with one UPDATE.
+     * </p>
+     *
+     * @param items The (bookId, patronId) pairs to return
+     * @return One result per item, in request order
+     */
+    @Transactional
+    @Loggable
+    public List<BorrowingResult> returnBooks(List<CBorrowingItem> items) {
+        validateBatch(items);
+
+        Set<Long> bookIds = collectIds(items, CBorrowingItem::getBookId);
+        bookRepository.findAllByIdForUpdate(bookIds);
+
+        Map<Long, List<BorrowingRecord>> openRecords = borrowingRecordRepository
+                .findOpenByBookIdsForUpdate(bookIds)
+                .stream()
+                .collect(Collectors.groupingBy(record -> record.getBookId().getId()));
+
+        List<BorrowingResult> results = new ArrayList<>(items.size());
+        List<Long> freedBookIds = new ArrayList<>();
+        List<Change> changes = new ArrayList<>();
+        Date returnDate = new Date();
+
+        for (CBorrowingItem item : items) {
+            // The patron's oldest open loan of the book; a repeated item in the batch takes the next one.
+            BorrowingRecord record = openRecords.getOrDefault(item.getBookId(), List.of()).stream()
+                    .filter(open -> open.getPatronId().getId().equals(item.getPatronId()) && open.getReturnDate() == null)
+                    .findFirst()
+                    .orElse(null);
+
+            if (record == null) {
+                results.add(BorrowingResult.failure(item.getBookId(), item.getPatronId(), EError.BORROWING_RECORD_NOT_FOUND));
+                continue;
+            }
+
+            if (close(record, returnDate, changes)) {  // Flushed by dirty checking
+                freedBookIds.add(item.getBookId());
+            }
+            results.add(BorrowingResult.success(item.getBookId(), item.getPatronId(), record));
+        }
+
+        if (!freedBookIds.isEmpty()) {
+            bookRepository.markAvailable(freedBookIds.stream().distinct().sorted().toList());
+        }
+        evictBooks(results);
+        eventPublisher.publishEvent(BookAvailabilityChangedEvent.returned(freedBookIds));
+        record(changes);
+
+        return results;
+    }
+
+    /**
+     * Retrieves one page of the loan history of a patron, ordered by record ID.
+     * Each page is a single query; only an empty page costs a second one, to tell an unknown patron apart.
+     *
+     * @param patronId    The patron ID
+     * @param pageRequest The paging parameters (offset or keyset)
+     * @return The requested slice of borrowing records, projected with the title, author and patron of each
+     * @throws PatronNotFoundException If the patron does not exist
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<CBorrowingRecordDTO> getPatronBorrowings(Long patronId, CPageRequest pageRequest) {
+        Slice<CBorrowingRecordDTO> records = pageRequest.isKeyset()
+                ? borrowingRecordRepository.findDtosByPatronIdAfter(patronId, pageRequest.getAfter(), pageRequest.toPageable())
+                : borrowingRecordRepository.findDtosByPatronId(patronId, pageRequest.toPageable());
+
+        if (!records.hasContent() && !patronRepository.existsById(patronId)) {
+            throw new PatronNotFoundException(EError.PATRON_NOT_FOUND.name());
+        }
+        return records;
+    }
+
+    /**
+     * Retrieves one page of the loan history of a book, ordered by record ID.
+     * Each page is a single query; only an empty page costs a second one, to tell an unknown book apart.
+     *
+     * @param bookId      The book ID
+     * @param pageRequest The paging parameters (offset or keyset)
+     * @return The requested slice of borrowing records, projected with the title, author and patron of each
+     * @throws BookNotFoundException If the book does not exist
+     */
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<CBorrowingRecordDTO> getBookBorrowings(Long bookId, CPageRequest pageRequest) {
+        Slice<CBorrowingRecordDTO> records = pageRequest.isKeyset()
+                ? borrowingRecordRepository.findDtosByBookIdAfter(bookId, pageRequest.getAfter(), pageRequest.toPageable())
+                : borrowingRecordRepository.findDtosByBookId(bookId, pageRequest.toPageable());
+
+        if (!records.hasContent() && !bookRepository.existsById(bookId)) {
+            throw new BookNotFoundException(EError.BOOK_NOT_FOUND.name());
+        }
+        return records;
+    }
+
+    private void validateBatch(List<CBorrowingItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        if (items.size() > CBatchBorrowingRequest.MAX_ITEMS) {
+            throw new IllegalArgumentException("At most " + CBatchBorrowingRequest.MAX_ITEMS + " items are allowed");
+        }
+    }
+
+    private Set<Long> collectIds(List<CBorrowingItem> items, Function<CBorrowingItem, Long> idSupplier) {
+        return items.stream()
+                .map(idSupplier)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Marks the book unavailable if the copy just claimed was its last free one. Every borrow locks the book row
+     * and re-checks for a free copy with the conditional update: a plain read first would let two borrows of the
+     * last two copies each see the other's copy as free (neither is committed yet) and both skip the update. Borrows
+     * and returns ({@link BookRepository#markAvailable}) of one book therefore check its copies one at a time. The
+     * claimed copy is flushed before the update, which sees it as taken.
+     *
+     * @return true if the book was marked unavailable
+     */
+    private boolean markBorrowedIfLastCopy(Long bookId) {
+        bookRepository.findByIdForUpdate(bookId);
+        if (bookRepository.markBorrowedIfNoFreeCopy(bookId) == 1) {
+            eventPublisher.publishEvent(BookAvailabilityChangedEvent.borrowed(List.of(bookId)));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Closes the loan and lends its copy to the next hold, or frees the copy when nobody is waiting. The record and
+     * its copy are managed: the updates are flushed by dirty checking. When the copy is freed, the caller marks the
+     * book available with {@link BookRepository#markAvailable}. When it is handed over, the book keeps its flag,
+     * which {@link BookHoldService#handOver} reloaded under the book lock.
+     *
+     * @param changes Receives the outbox changes: the return, then the loan to the hold if there is one
+     * @return true if the copy became free
+     */
+    private boolean close(BorrowingRecord record, Date returnDate, List<Change> changes) {
+        record.setReturnDate(returnDate);
+        Optional<BorrowingRecord> handedOver = bookHoldService.handOver(record, returnDate);
+        if (handedOver.isEmpty()) {
+            record.getCopyId().setAvailable(true);
+        }
+
+        boolean bookAvailable = handedOver.isEmpty() || record.getBookId().getAvailable();
+        changes.add(Change.loan(OutboxEventType.BOOK_RETURNED, record, bookAvailable));
+        handedOver.ifPresent(loan -> changes.add(Change.loan(OutboxEventType.BOOK_BORROWED, loan, bookAvailable)));
+        return handedOver.isEmpty();
+    }
+
+    /**
+     * Appends the loan changes to the outbox and to the audit log, both bound to the current transaction.
+     */
+    private void record(List<Change> changes) {
+        outboxService.appendAll(changes);
+        auditLog.recordAll(changes.stream()
+                .map(change -> AuditEntry.of("BorrowingRecord", change.aggregateId(),
+                        change.type() == OutboxEventType.BOOK_RETURNED ? AuditAction.RETURN : AuditAction.BORROW,
+                        "book " + change.payload().get("bookId") + ", patron " + change.payload().get("patronId")))
+                .toList());
+    }
+
+    private List<Long> successfulBookIds(List<BorrowingResult> results) {
+        return results.stream()
+                .filter(BorrowingResult::isSuccess)
+                .map(BorrowingResult::getBookId)
+                .toList();
+    }
+
+    // Deferred until commit by the transaction aware cache manager.
+    private void evictBooks(List<BorrowingResult> results) {
+        Cache bookCache = cacheManager.getCache("book");
+
+        for (BorrowingResult result : results) {
+            if (result.isSuccess() && bookCache != null) {
+                bookCache.evict(result.getBookId());
+            }
+        }
+    }
 }
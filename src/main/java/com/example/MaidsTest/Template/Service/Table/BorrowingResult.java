@@ -0,0 +1,34 @@
+package com.example.MaidsTest.Template.Service.Table;
+
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of one item of a batch borrow or return: either the affected borrowing record or the error.
+ */
+@Getter
+@AllArgsConstructor
+public class BorrowingResult {
+
+    private final Long bookId;
+
+    private final Long patronId;
+
+    private final BorrowingRecord borrowingRecord;
+
+    private final EError error;
+
+    public static BorrowingResult success(Long bookId, Long patronId, BorrowingRecord borrowingRecord) {
+        return new BorrowingResult(bookId, patronId, borrowingRecord, null);
+    }
+
+    public static BorrowingResult failure(Long bookId, Long patronId, EError error) {
+        return new BorrowingResult(bookId, patronId, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -1,16 +1,31 @@
 package com.example.MaidsTest.Template.Service.Table;
 
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
 import com.example.MaidsTest.Template.Aspect.Loggable;
 import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
 import com.example.MaidsTest.Template.Model.Table.Patron;
 import com.example.MaidsTest.Template.Repository.Table.PatronRepository;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Audit.AuditLog;
+import com.example.MaidsTest.Template.Service.Audit.AuditUser;
+import com.example.MaidsTest.Template.Service.Import.BulkImportService;
+import com.example.MaidsTest.Template.Service.Import.ImportResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class PatronService {
@@ -18,11 +33,49 @@ public class PatronService {
     @Autowired
     PatronRepository patronRepository;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final String INSERT_PATRON_SQL =
+            "INSERT INTO patron (name, phone_number, address, insert_date, insert_by) VALUES (?, ?, ?, ?, ?)";
+
     @Loggable
     public List<Patron> getAllPatrons() {
         return patronRepository.findAll();
     }
 
+    @Loggable
+    @Transactional(readOnly = true)
+    public List<CPatronDTO> getAllPatronDTOs() {
+        return patronRepository.findAllDtos();
+    }
+
+    @Loggable
+    @Transactional(readOnly = true)
+    public Slice<CPatronDTO> getPatrons(CPageRequest pageRequest) {
+        if (pageRequest.isKeyset()) {
+            return patronRepository.findDtosAfter(pageRequest.getAfter(), pageRequest.toPageable());
+        }
+        return patronRepository.findDtos(pageRequest.toPageable());
+    }
+
+    @Loggable
+    @Transactional(readOnly = true)
+    public void exportPatrons(Consumer<Patron> consumer) {
+        try (Stream<Patron> patrons = patronRepository.streamAll()) {
+            patrons.forEach(patron -> {
+                consumer.accept(patron);
+                entityManager.detach(patron);
+            });
+        }
+    }
+
     @Loggable
     @Cacheable("patron")
     public Patron getPatronById(Long id) {
@@ -32,29 +85,53 @@ public class PatronService {
 
     @Loggable
     public Patron addPatron(Patron book) {
-        return patronRepository.save(book);
+        book.setInsertBy(AuditUser.current());  // Never the client's claim
+        Patron savedPatron = patronRepository.save(book);
+        auditLog.record("Patron", savedPatron.getId(), AuditAction.CREATE, null);
+        return savedPatron;
     }
 
     @Loggable
-    @CacheEvict(value = "patron", key = "#id")
+    public ImportResult importPatrons(List<Patron> patrons) {
+        Timestamp insertDate = new Timestamp(System.currentTimeMillis());
+        Integer userId = AuditUser.current();
+
+        ImportResult importResult = bulkImportService.importRows(patrons, INSERT_PATRON_SQL, (ps, patron) -> {
+            ps.setString(1, patron.getName());
+            ps.setString(2, patron.getPhoneNumber());
+            ps.setString(3, patron.getAddress());
+            ps.setTimestamp(4, insertDate);
+            ps.setObject(5, userId, Types.INTEGER);  // Never the client's claim
+        });
+
+        if (importResult.getImported() > 0) {
+            auditLog.record("Patron", null, AuditAction.CREATE, importResult.getImported() + " patrons imported");
+        }
+        return importResult;
+    }
+
+    @Loggable
+    @Transactional
+    @CachePut(value = "patron", key = "#id")
     public Patron updatePatron(Long id, Patron patronDetails) {
-        Patron patron = getPatronById(id);
+        Patron patron = patronRepository.findById(id)
+                .orElseThrow(() -> new PatronNotFoundException("Patron not found"));
 
         patron.setName(patronDetails.getName());
         patron.setAddress(patronDetails.getAddress());
         patron.setPhoneNumber(patronDetails.getPhoneNumber());
-        return patronRepository.save(patron);
+        auditLog.record("Patron", id, AuditAction.UPDATE, null);
+        return patron;
     }
 
     @Loggable
+    @Transactional
+    @CacheEvict(value = "patron", key = "#id")
     public void deletePatron(Long id) {
-        Optional<Patron> patron = patronRepository.findById(id);
-
-        if (patron.isEmpty()) {
+        if (patronRepository.deletePatronById(id) == 0) {
             throw new PatronNotFoundException("Patron with id " + id + " not found");
         }
-
-        patronRepository.deleteById(id);
+        auditLog.record("Patron", id, AuditAction.DELETE, null);
     }
 
 }
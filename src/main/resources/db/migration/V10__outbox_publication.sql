@@ -0,0 +1,6 @@
+-- The relay stamps the sequence_no of a batch in a short transaction and hands the batch to the sink after it
+-- commits, so no lock on outbox_event is held during the sink I/O. A stamped event without published_date was not
+-- acknowledged by the sink yet; the relay sends those again first, in sequence order (generated column as in V8).
+ALTER TABLE outbox_event
+    ADD COLUMN unpublished_sequence_no BIGINT GENERATED ALWAYS AS (CASE WHEN published_date IS NULL THEN sequence_no END);
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event (unpublished_sequence_no);
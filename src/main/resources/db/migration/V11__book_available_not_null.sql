@@ -0,0 +1,7 @@
+-- A book never flagged had a null availability, which the list filter had to match with "available = TRUE OR
+-- available IS NULL": an OR on the leading column of the V3 indexes, which MySQL cannot serve as a single range.
+-- Those books get the flag of their copies (V4) and the column becomes NOT NULL, so the filter is a plain equality.
+UPDATE book b
+SET available = EXISTS (SELECT 1 FROM book_copy c WHERE c.book_id = b.id AND c.available = TRUE)
+WHERE b.available IS NULL;
+ALTER TABLE book MODIFY available BIT NOT NULL;
@@ -0,0 +1,12 @@
+-- The last sequence_no stamped by the relay, in a single row. A relay claims its batch by locking this row first,
+-- before any plain read: a second relay waits for the first to commit, and under REPEATABLE READ its read view is
+-- then taken after that commit. A MAX(sequence_no) read without the lock came from a view that could predate the
+-- other relay's batch and stamp its numbers again.
+CREATE TABLE outbox_sequence (
+    id               INT    NOT NULL,
+    last_sequence_no BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO outbox_sequence (id, last_sequence_no)
+SELECT 1, COALESCE(MAX(sequence_no), 0) FROM outbox_event;
@@ -0,0 +1,36 @@
+-- Baseline schema, matching what ddl-auto=update used to create for the entities in Template/Model/Table.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+CREATE TABLE IF NOT EXISTS book (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    title            VARCHAR(255),
+    author           VARCHAR(255),
+    pages            INT,
+    price            DOUBLE,
+    publication_year INT,
+    available        BIT,
+    insert_date      DATETIME(6),
+    insert_by        INT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS patron (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    name         VARCHAR(255),
+    phone_number VARCHAR(255),
+    address      VARCHAR(255),
+    insert_date  DATETIME(6),
+    insert_by    INT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS borrowing_record (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    book_id     BIGINT      NOT NULL,
+    patron_id   BIGINT      NOT NULL,
+    borrow_date DATETIME(6),
+    return_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_borrowing_record_book FOREIGN KEY (book_id) REFERENCES book (id),
+    CONSTRAINT fk_borrowing_record_patron FOREIGN KEY (patron_id) REFERENCES patron (id)
+);
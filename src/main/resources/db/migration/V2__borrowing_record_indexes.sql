@@ -0,0 +1,14 @@
+-- Indexes for the borrowing_record hot queries:
+--   open loan of a book      (BorrowingRecordRepository.findOpenByBookId / findOpenByBookIdsForUpdate)
+--   loan of a book by patron (BorrowingRecordRepository.findByBookIdAndPatronId)
+--   loans of a patron
+CREATE INDEX idx_borrowing_record_book_return ON borrowing_record (book_id, return_date);
+CREATE INDEX idx_borrowing_record_patron_return ON borrowing_record (patron_id, return_date);
+
+-- At most one open loan (return_date IS NULL) per book.
+-- Neither MySQL nor H2 has partial indexes, so the open loan is projected into a generated column that holds
+-- book_id while the loan is open and NULL once returned; NULLs do not collide in a unique index.
+-- The column is virtual (InnoDB indexes virtual columns), nothing extra is stored per row.
+ALTER TABLE borrowing_record
+    ADD COLUMN open_book_id BIGINT GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN book_id END);
+CREATE UNIQUE INDEX uk_borrowing_record_open_book ON borrowing_record (open_book_id);
@@ -0,0 +1,7 @@
+-- Indexes for the book list filters and sorts (BookService.findBooks, BookSpecifications).
+-- The availability flag leads: it is the most common filter, and InnoDB appends the primary key to every
+-- secondary index, so "available = ? AND <range> ORDER BY <column>, id" is served in index order.
+-- Without an availability filter MySQL 8 can still use them through a skip scan over the two flag values.
+CREATE INDEX idx_book_available_price ON book (available, price);
+CREATE INDEX idx_book_available_year ON book (available, publication_year);
+CREATE INDEX idx_book_available_pages ON book (available, pages);
@@ -0,0 +1,37 @@
+-- Copies: a book row is a title, every physical item on the shelf is a book_copy row.
+-- Borrowing allocates any free copy of the title
+-- (BookCopyRepository.findFirstByBookIdIdAndAvailableTrueOrderByIdAsc, SKIP LOCKED), so concurrent borrows of a
+-- popular title claim different copies instead of queueing on one row.
+-- book.available is kept as "at least one copy is free" for the list filters and the availability index.
+CREATE TABLE book_copy (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    book_id     BIGINT      NOT NULL,
+    available   BIT         NOT NULL,
+    insert_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_book_copy_book FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE
+);
+-- Free copies of a title, in id order (InnoDB appends the primary key)
+CREATE INDEX idx_book_copy_book_available ON book_copy (book_id, available);
+
+-- Every existing book becomes one copy, borrowed if it has an open loan
+INSERT INTO book_copy (book_id, available, insert_date)
+SELECT b.id,
+       NOT EXISTS (SELECT 1 FROM borrowing_record r WHERE r.book_id = b.id AND r.return_date IS NULL),
+       b.insert_date
+FROM book b
+ORDER BY b.id;
+
+-- Loans point at the copy they took; the existing ones at the single copy of their book
+ALTER TABLE borrowing_record ADD COLUMN copy_id BIGINT;
+ALTER TABLE borrowing_record
+    ADD CONSTRAINT fk_borrowing_record_copy FOREIGN KEY (copy_id) REFERENCES book_copy (id);
+UPDATE borrowing_record
+SET copy_id = (SELECT c.id FROM book_copy c WHERE c.book_id = borrowing_record.book_id);
+
+-- At most one open loan per copy instead of per book (same generated column technique as V2)
+DROP INDEX uk_borrowing_record_open_book ON borrowing_record;
+ALTER TABLE borrowing_record DROP COLUMN open_book_id;
+ALTER TABLE borrowing_record
+    ADD COLUMN open_copy_id BIGINT GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN copy_id END);
+CREATE UNIQUE INDEX uk_borrowing_record_open_copy ON borrowing_record (open_copy_id);
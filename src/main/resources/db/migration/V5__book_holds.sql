@@ -0,0 +1,20 @@
+-- Holds: patrons waiting for a title with no free copy. When a copy is returned it goes straight to the oldest
+-- waiting hold (BookHoldService.handOver) instead of becoming free, so waiting patrons are served first come,
+-- first served and do not have to poll the borrow endpoint.
+CREATE TABLE book_hold (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    book_id        BIGINT      NOT NULL,
+    patron_id      BIGINT      NOT NULL,
+    insert_date    DATETIME(6),
+    fulfilled_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_book_hold_book FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE,
+    CONSTRAINT fk_book_hold_patron FOREIGN KEY (patron_id) REFERENCES patron (id) ON DELETE CASCADE
+);
+-- Waiting holds of a title, in queue (id) order
+CREATE INDEX idx_book_hold_book_fulfilled ON book_hold (book_id, fulfilled_date);
+
+-- At most one waiting hold per patron and title (same generated column technique as V2)
+ALTER TABLE book_hold
+    ADD COLUMN open_patron_id BIGINT GENERATED ALWAYS AS (CASE WHEN fulfilled_date IS NULL THEN patron_id END);
+CREATE UNIQUE INDEX uk_book_hold_open ON book_hold (book_id, open_patron_id);
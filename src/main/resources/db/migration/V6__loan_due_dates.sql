@@ -0,0 +1,11 @@
+-- Due dates: every loan is due a fixed period after it was borrowed (app.loan.period-days, 14 days for the
+-- existing loans). The overdue scan (OverdueLoanService) flags open loans past their due date in overdue_date.
+ALTER TABLE borrowing_record ADD COLUMN due_date DATETIME(6);
+ALTER TABLE borrowing_record ADD COLUMN overdue_date DATETIME(6);
+UPDATE borrowing_record SET due_date = TIMESTAMPADD(DAY, 14, borrow_date);
+
+-- Open loans in due date order (same generated column technique as V2): returned loans project to NULL, so the
+-- scan and the overdue list range over the open loans only, however long the loan history grows.
+ALTER TABLE borrowing_record
+    ADD COLUMN open_due_date DATETIME(6) GENERATED ALWAYS AS (CASE WHEN return_date IS NULL THEN due_date END);
+CREATE INDEX idx_borrowing_record_open_due ON borrowing_record (open_due_date);
@@ -0,0 +1,27 @@
+-- Fines: the fine batch (FineBatchJob) sets the fine of every open overdue loan once a day, from the number of
+-- days it is overdue. The amount is recomputed from scratch on every run, so writing a chunk twice is harmless.
+ALTER TABLE borrowing_record ADD COLUMN fine DECIMAL(10, 2);
+
+-- One run per fine date; a run that did not complete is resumed from its checkpoints by the next one
+CREATE TABLE fine_run (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    fine_date    DATE        NOT NULL,
+    status       VARCHAR(16) NOT NULL,
+    insert_date  DATETIME(6),
+    finish_date  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_fine_run_date UNIQUE (fine_date)
+);
+
+-- Loan id ranges of a run, each processed by one worker; last_id is the checkpoint, committed with every chunk
+CREATE TABLE fine_run_partition (
+    run_id       BIGINT  NOT NULL,
+    partition_no INT     NOT NULL,
+    from_id      BIGINT  NOT NULL,
+    to_id        BIGINT  NOT NULL,
+    last_id      BIGINT  NOT NULL,
+    rows_written BIGINT  NOT NULL,
+    completed    BIT     NOT NULL,
+    PRIMARY KEY (run_id, partition_no),
+    CONSTRAINT fk_fine_run_partition_run FOREIGN KEY (run_id) REFERENCES fine_run (id) ON DELETE CASCADE
+);
@@ -0,0 +1,20 @@
+-- Outbox: every change made by BookService and BorrowingRecordService appends an event here in its own transaction,
+-- so an event exists if and only if its change committed. OutboxRelay publishes the pending events in id order and
+-- stamps each with sequence_no, a gap-free publication order that consumers read incrementally (GET /api/events).
+CREATE TABLE outbox_event (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    aggregate_type VARCHAR(32) NOT NULL,
+    aggregate_id   BIGINT,
+    event_type     VARCHAR(32) NOT NULL,
+    payload        TEXT        NOT NULL,
+    insert_date    DATETIME(6) NOT NULL,
+    sequence_no    BIGINT,
+    published_date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_outbox_event_sequence UNIQUE (sequence_no)
+);
+
+-- Pending (not yet published) events, in id order, without scanning the published ones (generated column as in V2)
+ALTER TABLE outbox_event
+    ADD COLUMN pending_id BIGINT GENERATED ALWAYS AS (CASE WHEN sequence_no IS NULL THEN id END);
+CREATE INDEX idx_outbox_event_pending ON outbox_event (pending_id);
@@ -0,0 +1,14 @@
+-- Audit log: who created, changed, deleted, borrowed or returned what. Append-only; AuditLog writes the entries of
+-- committed changes in batches from a background thread, so requests never wait for it.
+CREATE TABLE audit_log (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(32)  NOT NULL,
+    entity_id   BIGINT,
+    action      VARCHAR(16)  NOT NULL,
+    user_id     INT,
+    detail      VARCHAR(255),
+    insert_date DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+-- History of one entity, in id order
+CREATE INDEX idx_audit_log_entity ON audit_log (entity_type, entity_id);
@@ -0,0 +1,146 @@
+package com.example.MaidsTest.Reactive.RestController;
+
+import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.Service.Audit.AuditLog;
+import com.example.MaidsTest.Template.Service.Audit.AuditUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end test of the reactive variant: WebFlux controllers over R2DBC on the in-memory H2 database that Flyway
+ * migrates over JDBC. Runs with {@code mvn -Preactive test}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///maids_test?options=DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.r2dbc.username=sa"
+})
+@ActiveProfiles(ReactiveConfig.PROFILE)
+@AutoConfigureWebTestClient
+public class ReactiveRestControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Test
+    void testBookCrudAndPaging() {
+        long first = addBook("Reactive One");
+        long second = addBook("Reactive Two");
+
+        JsonNode page = get("/api/books?size=1&after=" + (first - 1));
+        assertEquals(ESuccess.GET_ALL_BOOK_SUCCESSFULLY.name(), page.get("successMessage").asText());
+        assertEquals(first, page.get("bookList").get(0).get("id").asLong());
+        assertTrue(page.get("pagination").get("hasNext").asBoolean());
+        assertEquals(first, page.get("pagination").get("nextCursor").asLong());
+
+        JsonNode updated = webTestClient.put().uri("/api/books/{id}", second)
+                .bodyValue(Map.of("title", "Reactive Two, Revised", "author", "Author"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertEquals("Reactive Two, Revised", updated.get("book").get("title").asText());
+
+        webTestClient.delete().uri("/api/books/{id}", second).exchange().expectStatus().isOk();
+        webTestClient.get().uri("/api/books/{id}", second).exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testBorrowAndReturn() {
+        long bookId = addBook("Reactive Loan");
+        long patronId = webTestClient.post().uri("/api/patrons")
+                .bodyValue(Map.of("name", "Reactive Patron", "phoneNumber", "0100"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody()
+                .get("patron").get("id").asLong();
+
+        JsonNode borrowed = webTestClient.post().uri("/api/borrowings/borrow/{bookId}/patron/{patronId}", bookId, patronId)
+                .header(AuditUser.HEADER, "42")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertEquals("Reactive Loan", borrowed.get("borrowingRecord").get("title").asText());
+        assertEquals("Reactive Patron", borrowed.get("borrowingRecord").get("name").asText());
+        assertFalse(get("/api/books/" + bookId).get("book").get("available").asBoolean());
+
+        // Its only copy is taken, a second borrow is rejected
+        webTestClient.post().uri("/api/borrowings/borrow/{bookId}/patron/{patronId}", bookId, patronId)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        JsonNode returned = webTestClient.put().uri("/api/borrowings/return/{bookId}/patron/{patronId}", bookId, patronId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+        assertFalse(returned.get("borrowingRecord").get("returnDate").isNull());
+        assertTrue(get("/api/books/" + bookId).get("book").get("available").asBoolean());
+
+        JsonNode history = get("/api/patrons/" + patronId + "/borrowings?size=10");
+        assertEquals(1, history.get("borrowingRecordList").size());
+        assertEquals(1, get("/api/books/" + bookId + "/borrowings?size=10").get("borrowingRecordList").size());
+
+        // Both changes appended their outbox event and audit entry, like the blocking services
+        long recordId = borrowed.get("borrowingRecord").get("id").asLong();
+        List<String> payloads = jdbcTemplate.queryForList("SELECT payload FROM outbox_event "
+                + "WHERE aggregate_type = 'BorrowingRecord' AND aggregate_id = ? ORDER BY id", String.class, recordId);
+        assertEquals(2, payloads.size());
+        assertTrue(payloads.get(0).contains("\"bookAvailable\":false"));
+        assertTrue(payloads.get(1).contains("\"bookAvailable\":true"));
+
+        auditLog.flush();
+        List<Map<String, Object>> audit = jdbcTemplate.queryForList("SELECT action, user_id FROM audit_log "
+                + "WHERE entity_type = 'BorrowingRecord' AND entity_id = ? ORDER BY id", recordId);
+        assertEquals(List.of("BORROW", "RETURN"), audit.stream().map(row -> row.get("action")).toList());
+        assertEquals(42, ((Number) audit.get(0).get("user_id")).intValue());
+    }
+
+    @Test
+    void testExportStreamsNdjson() {
+        long bookId = addBook("Reactive Export");
+
+        List<CBookDTO> books = webTestClient.get().uri("/api/books/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(CBookDTO.class).returnResult().getResponseBody();
+        assertTrue(books.stream().anyMatch(book -> book.getId() == bookId));
+    }
+
+    private long addBook(String title) {
+        return webTestClient.post().uri("/api/books")
+                .bodyValue(Map.of("title", title, "author", "Author", "pages", 100))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody()
+                .get("book").get("id").asLong();
+    }
+
+    private JsonNode get(String uri) {
+        return webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(JsonNode.class).returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.MaidsTest.Reactive.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the JDBC data source when the application is built with the reactive variant.
+ * <p>
+ * Spring Boot backs its data source auto-configuration off as soon as an R2DBC connection factory exists, but
+ * Flyway, the JPA services and the bulk import still run over JDBC in both modes. The pool is built from the same
+ * {@code spring.datasource.*} properties as the auto-configured one.
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
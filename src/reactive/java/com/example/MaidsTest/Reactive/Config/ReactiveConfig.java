@@ -0,0 +1,57 @@
+package com.example.MaidsTest.Reactive.Config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Configuration of the reactive variant, active with the "reactive" Spring profile.
+ * <p>
+ * The R2DBC transaction manager is deliberately not a bean: the JPA services keep resolving {@code @Transactional}
+ * to the single JPA transaction manager (Spring Boot's R2DBC one is excluded in {@code application.properties}),
+ * and the reactive services demarcate their transactions with this operator instead.
+ * </p>
+ * <p>
+ * The shared response DTOs carry {@link Date} fields, so query results are projected into them with an extra
+ * {@code LocalDateTime} to {@code Date} reading converter.
+ * </p>
+ */
+@Configuration
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveConfig {
+
+    public static final String PROFILE = "reactive";
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(connectionFactory),
+                List.of(LocalDateTimeToDateConverter.INSTANCE));
+    }
+
+    @ReadingConverter
+    enum LocalDateTimeToDateConverter implements Converter<LocalDateTime, Date> {
+        INSTANCE;
+
+        @Override
+        public Date convert(LocalDateTime source) {
+            return Date.from(source.atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.MaidsTest.Reactive.Filter;
+
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Template.Service.Audit.AuditUser;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts the user of the {@value AuditUser#HEADER} header into the Reactor context of the request, under
+ * {@link #CONTEXT_KEY}. The reactive variant has no request-bound thread for {@link AuditUser#current} to read it
+ * from; the reactive services take it from the context when they audit a change.
+ */
+@Component
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveAuditUserFilter implements WebFilter {
+
+    public static final String CONTEXT_KEY = ReactiveAuditUserFilter.class.getName() + ".userId";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Integer userId = AuditUser.parse(exchange.getRequest().getHeaders().getFirst(AuditUser.HEADER));
+        if (userId == null) return chain.filter(exchange);
+
+        return chain.filter(exchange).contextWrite(context -> context.put(CONTEXT_KEY, userId));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.MaidsTest.Reactive.Mapper;
+
+import com.example.MaidsTest.Reactive.Model.ReactiveBook;
+import com.example.MaidsTest.Reactive.Model.ReactivePatron;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+
+/**
+ * Maps the R2DBC rows written by the reactive services to the DTOs shared with the blocking API.
+ * Reads are projected straight into the DTOs by the repositories.
+ */
+public class CReactiveMapper {
+
+    public static CBookDTO parse(ReactiveBook book)
+    {
+        CBookDTO bookDTO = null;
+
+        do
+        {
+            if(book == null) break;
+
+            bookDTO = new CBookDTO(book.getId(), book.getTitle(), book.getAuthor(), book.getPages(),
+                    book.getPrice(), book.getPublicationYear(), book.getAvailable());
+        }
+        while (false);
+
+        return bookDTO;
+    }
+
+    public static CPatronDTO parse(ReactivePatron patron)
+    {
+        CPatronDTO patronDTO = null;
+
+        do
+        {
+            if(patron == null) break;
+
+            patronDTO = new CPatronDTO(patron.getId(), patron.getName(), patron.getPhoneNumber(), patron.getAddress());
+        }
+        while (false);
+
+        return patronDTO;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.MaidsTest.Reactive.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code book} table, used by the reactive variant only.
+ * The JPA entity stays {@link com.example.MaidsTest.Template.Model.Table.Book}; both map the same columns.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("book")
+public class ReactiveBook {
+
+    @Id
+    private Long id;
+
+    @Column("title")
+    private String title;
+
+    @Column("author")
+    private String author;
+
+    @Column("pages")
+    private Integer pages;
+
+    @Column("price")
+    private Double price;
+
+    @Column("publication_year")
+    private Integer publicationYear;
+
+    @Column("available")
+    private Boolean available;
+
+    @Column("insert_date")
+    private LocalDateTime insertDate;
+
+    @Column("insert_by")
+    private Integer insertBy;
+}
@@ -0,0 +1,36 @@
+package com.example.MaidsTest.Reactive.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code book_copy} table, used by the reactive variant only.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("book_copy")
+public class ReactiveBookCopy {
+
+    @Id
+    private Long id;
+
+    @Column("book_id")
+    private Long bookId;
+
+    @Column("available")
+    private Boolean available;
+
+    @Column("insert_date")
+    private LocalDateTime insertDate;
+}
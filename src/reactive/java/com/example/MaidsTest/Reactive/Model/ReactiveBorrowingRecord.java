@@ -0,0 +1,46 @@
+package com.example.MaidsTest.Reactive.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code borrowing_record} table, used by the reactive variant only.
+ * R2DBC has no associations: the book, the patron and the copy are plain foreign key columns, joined in the queries that need them.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("borrowing_record")
+public class ReactiveBorrowingRecord {
+
+    @Id
+    private Long id;
+
+    @Column("book_id")
+    private Long bookId;
+
+    @Column("patron_id")
+    private Long patronId;
+
+    @Column("copy_id")
+    private Long copyId;
+
+    @Column("borrow_date")
+    private LocalDateTime borrowDate;
+
+    @Column("return_date")
+    private LocalDateTime returnDate;
+
+    @Column("due_date")
+    private LocalDateTime dueDate;
+}
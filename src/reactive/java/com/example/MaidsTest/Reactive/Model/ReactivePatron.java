@@ -0,0 +1,43 @@
+package com.example.MaidsTest.Reactive.Model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code patron} table, used by the reactive variant only.
+ * The JPA entity stays {@link com.example.MaidsTest.Template.Model.Table.Patron}; both map the same columns.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table("patron")
+public class ReactivePatron {
+
+    @Id
+    private Long id;
+
+    @Column("name")
+    private String name;
+
+    @Column("phone_number")
+    private String phoneNumber;
+
+    @Column("address")
+    private String address;
+
+    @Column("insert_date")
+    private LocalDateTime insertDate;
+
+    @Column("insert_by")
+    private Integer insertBy;
+}
@@ -0,0 +1,22 @@
+package com.example.MaidsTest.Reactive.Repository;
+
+import com.example.MaidsTest.Reactive.Model.ReactiveBookCopy;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBookCopyRepository extends R2dbcRepository<ReactiveBookCopy, Long> {
+
+    /** Same allocation as the blocking {@code BookCopyRepository.findFirstByBookIdIdAndAvailableTrueOrderByIdAsc}. */
+    @Query("SELECT id FROM book_copy WHERE book_id = :bookId AND available = TRUE ORDER BY id LIMIT 1 "
+            + "FOR UPDATE SKIP LOCKED")
+    Mono<Long> lockFreeCopyId(@Param("bookId") Long bookId);
+
+    @Modifying
+    @Query("UPDATE book_copy SET available = :available WHERE id = :id")
+    Mono<Integer> setAvailable(@Param("id") Long id, @Param("available") boolean available);
+}
@@ -0,0 +1,43 @@
+package com.example.MaidsTest.Reactive.Repository;
+
+import com.example.MaidsTest.Reactive.Model.ReactiveBook;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBookRepository extends R2dbcRepository<ReactiveBook, Long> {
+    String BOOK_DTO = "SELECT id, title, author, pages, price, publication_year, available FROM book";
+
+    /** Every book in id order, projected into {@link CBookDTO}; rows are read as the subscriber requests them. */
+    @Query(BOOK_DTO + " ORDER BY id")
+    Flux<CBookDTO> streamDtos();
+
+    /**
+     * One page of books in id order: rows after the given id (0 for offset paging), skipping {@code offset} rows.
+     * Callers ask for one extra row to know whether a next page exists.
+     */
+    @Query(BOOK_DTO + " WHERE id > :after ORDER BY id LIMIT :limit OFFSET :offset")
+    Flux<CBookDTO> findDtos(@Param("after") long after, @Param("limit") int limit, @Param("offset") long offset);
+
+    /** Same conditional UPDATE as the blocking {@code BookRepository.markBorrowedIfNoFreeCopy}. */
+    @Modifying
+    @Query("UPDATE book SET available = FALSE WHERE id = :id AND NOT EXISTS "
+            + "(SELECT 1 FROM book_copy c WHERE c.book_id = :id AND c.available = TRUE)")
+    Mono<Integer> markBorrowedIfNoFreeCopy(@Param("id") Long id);
+
+    /** Emits 1 if the book was unavailable and now has a free copy again, 0 if it was available already. */
+    @Modifying
+    @Query("UPDATE book SET available = TRUE WHERE id = :id AND available = FALSE")
+    Mono<Integer> markReturned(@Param("id") Long id);
+
+    /** Deletes without loading the row first; emits the number of deleted rows (0 or 1). */
+    @Modifying
+    @Query("DELETE FROM book WHERE id = :id")
+    Mono<Integer> deleteBookById(@Param("id") Long id);
+}
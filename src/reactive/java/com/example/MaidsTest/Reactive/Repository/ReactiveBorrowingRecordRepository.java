@@ -0,0 +1,34 @@
+package com.example.MaidsTest.Reactive.Repository;
+
+import com.example.MaidsTest.Reactive.Model.ReactiveBorrowingRecord;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveBorrowingRecordRepository extends R2dbcRepository<ReactiveBorrowingRecord, Long> {
+    String RECORD_DTO = "SELECT r.id, b.title, b.author, p.name, p.phone_number, r.borrow_date, r.return_date, r.due_date, r.fine "
+            + "FROM borrowing_record r JOIN book b ON b.id = r.book_id JOIN patron p ON p.id = r.patron_id";
+
+    @Query(RECORD_DTO + " WHERE r.id = :id")
+    Mono<CBorrowingRecordDTO> findDtoById(@Param("id") Long id);
+
+    /** First open loan of the book by the patron, if any; a patron may hold several copies of one book. */
+    @Query("SELECT * FROM borrowing_record WHERE book_id = :bookId AND patron_id = :patronId AND return_date IS NULL "
+            + "ORDER BY id LIMIT 1")
+    Mono<ReactiveBorrowingRecord> findOpen(@Param("bookId") Long bookId, @Param("patronId") Long patronId);
+
+    /** One page of the loan history of a patron; same paging as {@link ReactiveBookRepository#findDtos}. */
+    @Query(RECORD_DTO + " WHERE r.patron_id = :patronId AND r.id > :after ORDER BY r.id LIMIT :limit OFFSET :offset")
+    Flux<CBorrowingRecordDTO> findDtosByPatronId(@Param("patronId") Long patronId, @Param("after") long after,
+                                                 @Param("limit") int limit, @Param("offset") long offset);
+
+    /** One page of the loan history of a book; same paging as {@link ReactiveBookRepository#findDtos}. */
+    @Query(RECORD_DTO + " WHERE r.book_id = :bookId AND r.id > :after ORDER BY r.id LIMIT :limit OFFSET :offset")
+    Flux<CBorrowingRecordDTO> findDtosByBookId(@Param("bookId") Long bookId, @Param("after") long after,
+                                               @Param("limit") int limit, @Param("offset") long offset);
+}
@@ -0,0 +1,26 @@
+package com.example.MaidsTest.Reactive.Repository;
+
+import com.example.MaidsTest.Reactive.Model.ReactivePatron;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactivePatronRepository extends R2dbcRepository<ReactivePatron, Long> {
+    String PATRON_DTO = "SELECT id, name, phone_number, address FROM patron";
+
+    @Query(PATRON_DTO + " ORDER BY id")
+    Flux<CPatronDTO> streamDtos();
+
+    @Query(PATRON_DTO + " WHERE id > :after ORDER BY id LIMIT :limit OFFSET :offset")
+    Flux<CPatronDTO> findDtos(@Param("after") long after, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Modifying
+    @Query("DELETE FROM patron WHERE id = :id")
+    Mono<Integer> deletePatronById(@Param("id") Long id);
+}
@@ -0,0 +1,126 @@
+package com.example.MaidsTest.Reactive.RestController;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Model.ReactiveBook;
+import com.example.MaidsTest.Reactive.Service.ReactiveBookService;
+import com.example.MaidsTest.Reactive.Service.ReactiveBorrowingRecordService;
+import com.example.MaidsTest.Template.API.Response.Book.CGetBookResponse;
+import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CGetBorrowingRecordResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPageMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for books, active with the "reactive" Spring profile.
+ * <p>
+ * Serves the same {@code /api/books} contract as
+ * {@link com.example.MaidsTest.Template.RestController.Table.BookRestController} (same paths, parameters and
+ * {@link CGetBookResponse} bodies) on WebFlux and R2DBC. Filters, search and import stay with the blocking variant.
+ * </p>
+ */
+@RestController
+@Profile(ReactiveConfig.PROFILE)
+@RequestMapping("/api/books")
+public class ReactiveBookRestController {
+
+    @Autowired
+    private ReactiveBookService bookService;
+
+    @Autowired
+    private ReactiveBorrowingRecordService borrowingRecordService;
+
+    /**
+     * Endpoint for retrieving books: one page with {@code page}/{@code size} or {@code after}/{@code size},
+     * otherwise all books.
+     *
+     * @param pageRequest The optional paging parameters.
+     * @return A {@link CGetBookResponse} containing a list of books and success information.
+     */
+    @GetMapping
+    public Mono<CGetBookResponse> getAllBooks(@ModelAttribute CPageRequest pageRequest) {
+        if (pageRequest.isPaged()) {
+            return bookService.getBooks(pageRequest).map(books -> {
+                CGetBookResponse apiResponse = toListResponse();
+                apiResponse.setBookList(books.getContent());
+                apiResponse.setPagination(CPageMapper.parse(books, CBookDTO::getId));
+                return apiResponse;
+            });
+        }
+        return bookService.getAllBooks().collectList().map(books -> {
+            CGetBookResponse apiResponse = toListResponse();
+            apiResponse.setBookList(books);
+            return apiResponse;
+        });
+    }
+
+    /**
+     * Endpoint for exporting all books as NDJSON, one book per line. Rows are read from the database only as fast
+     * as the client consumes the response (backpressure from the connection down to the R2DBC cursor).
+     *
+     * @return The books, streamed in ID order.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CBookDTO> exportBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<CGetBookResponse> getBookById(@PathVariable Long id) {
+        return bookService.getBookById(id)
+                .map(book -> toResponse(book, ESuccess.GET_BOOK_SUCCESSFULLY));
+    }
+
+    @GetMapping("/{id}/borrowings")
+    public Mono<CGetBorrowingRecordResponse> getBookBorrowings(@PathVariable Long id, @ModelAttribute CPageRequest pageRequest) {
+        return borrowingRecordService.getBookBorrowings(id, pageRequest).map(records -> {
+            CGetBorrowingRecordResponse apiResponse = new CGetBorrowingRecordResponse();
+            apiResponse.setBorrowingRecordList(records.getContent());
+            apiResponse.setPagination(CPageMapper.parse(records, CBorrowingRecordDTO::getId));
+            apiResponse.setStatus(HttpStatus.OK);
+            apiResponse.setSuccessMessage(ESuccess.GET_ALL_BORROWING_RECORD_SUCCESSFULLY.name());
+            return apiResponse;
+        });
+    }
+
+    @PostMapping
+    public Mono<CGetBookResponse> addBook(@RequestBody ReactiveBook book) {
+        return bookService.addBook(book)
+                .map(addedBook -> toResponse(addedBook, ESuccess.BOOK_ADDED_SUCCESSFULLY));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<CGetBookResponse> updateBook(@PathVariable Long id, @RequestBody ReactiveBook book) {
+        return bookService.updateBook(id, book)
+                .map(updatedBook -> toResponse(updatedBook, ESuccess.BOOK_UPDATED_SUCCESSFULLY));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<CGetBookResponse> deleteBook(@PathVariable Long id) {
+        return bookService.deleteBook(id)
+                .then(Mono.fromSupplier(() -> toResponse(null, ESuccess.BOOK_DELETED_SUCCESSFULLY)));
+    }
+
+    private CGetBookResponse toListResponse() {
+        CGetBookResponse apiResponse = new CGetBookResponse();
+        apiResponse.setStatus(HttpStatus.OK);
+        apiResponse.setSuccessMessage(ESuccess.GET_ALL_BOOK_SUCCESSFULLY.toString());
+        return apiResponse;
+    }
+
+    private CGetBookResponse toResponse(CBookDTO book, ESuccess success) {
+        CGetBookResponse apiResponse = new CGetBookResponse();
+        apiResponse.setBook(book);
+        apiResponse.setStatus(HttpStatus.OK);
+        apiResponse.setSuccessMessage(success.toString());
+        return apiResponse;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.MaidsTest.Reactive.RestController;
+
+import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Service.ReactiveBorrowingRecordService;
+import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CGetBorrowingRecordResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for borrowing and returning books, active with the "reactive" Spring profile.
+ * <p>
+ * Serves the same {@code /api/borrowings} contract as
+ * {@link com.example.MaidsTest.Template.RestController.Table.BorrowingRecordRestController} on WebFlux and R2DBC.
+ * The batch endpoints stay with the blocking variant.
+ * </p>
+ */
+@RestController
+@Profile(ReactiveConfig.PROFILE)
+@RequestMapping("/api/borrowings")
+public class ReactiveBorrowingRecordRestController {
+
+    @Autowired
+    private ReactiveBorrowingRecordService borrowingRecordService;
+
+    @PostMapping("/borrow/{bookId}/patron/{patronId}")
+    public Mono<CGetBorrowingRecordResponse> borrowBook(@PathVariable Long bookId, @PathVariable Long patronId) {
+        return borrowingRecordService.borrowBook(bookId, patronId)
+                .map(record -> toResponse(record, ESuccess.BOOK_BORROWED_SUCCESSFULLY));
+    }
+
+    @PutMapping("/return/{bookId}/patron/{patronId}")
+    public Mono<CGetBorrowingRecordResponse> returnBook(@PathVariable Long bookId, @PathVariable Long patronId) {
+        return borrowingRecordService.returnBook(bookId, patronId)
+                .map(record -> toResponse(record, ESuccess.BOOK_RETURNED_SUCCESSFULLY));
+    }
+
+    private CGetBorrowingRecordResponse toResponse(CBorrowingRecordDTO record, ESuccess success) {
+        CGetBorrowingRecordResponse apiResponse = new CGetBorrowingRecordResponse();
+        apiResponse.setBorrowingRecord(record);
+        apiResponse.setStatus(HttpStatus.OK);
+        apiResponse.setSuccessMessage(success.name());
+        return apiResponse;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.MaidsTest.Reactive.RestController;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Enum.ESuccess;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Model.ReactivePatron;
+import com.example.MaidsTest.Reactive.Service.ReactiveBorrowingRecordService;
+import com.example.MaidsTest.Reactive.Service.ReactivePatronService;
+import com.example.MaidsTest.Template.API.Response.BorrowingRecord.CGetBorrowingRecordResponse;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CPageMapper;
+import com.example.MaidsTest.Template.API.Response.Patron.CGetPatronResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for patrons, active with the "reactive" Spring profile.
+ * <p>
+ * Serves the same {@code /api/patrons} contract as
+ * {@link com.example.MaidsTest.Template.RestController.Table.PatronRestController} on WebFlux and R2DBC.
+ * Import stays with the blocking variant.
+ * </p>
+ */
+@RestController
+@Profile(ReactiveConfig.PROFILE)
+@RequestMapping("/api/patrons")
+public class ReactivePatronRestController {
+
+    @Autowired
+    private ReactivePatronService patronService;
+
+    @Autowired
+    private ReactiveBorrowingRecordService borrowingRecordService;
+
+    /**
+     * Endpoint for retrieving patrons: one page with {@code page}/{@code size} or {@code after}/{@code size},
+     * otherwise all patrons.
+     *
+     * @param pageRequest The optional paging parameters.
+     * @return A {@link CGetPatronResponse} containing a list of patrons and success status.
+     */
+    @GetMapping
+    public Mono<CGetPatronResponse> getAllPatrons(@ModelAttribute CPageRequest pageRequest) {
+        if (pageRequest.isPaged()) {
+            return patronService.getPatrons(pageRequest).map(patrons -> {
+                CGetPatronResponse apiResponse = toListResponse();
+                apiResponse.setPatronList(patrons.getContent());
+                apiResponse.setPagination(CPageMapper.parse(patrons, CPatronDTO::getId));
+                return apiResponse;
+            });
+        }
+        return patronService.getAllPatrons().collectList().map(patrons -> {
+            CGetPatronResponse apiResponse = toListResponse();
+            apiResponse.setPatronList(patrons);
+            return apiResponse;
+        });
+    }
+
+    /**
+     * Endpoint for exporting all patrons as NDJSON, streamed with backpressure like the book export.
+     *
+     * @return The patrons, streamed in ID order.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CPatronDTO> exportPatrons() {
+        return patronService.getAllPatrons();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<CGetPatronResponse> getPatronById(@PathVariable Long id) {
+        return patronService.getPatronById(id)
+                .map(patron -> toResponse(patron, ESuccess.GET_PATRON_SUCCESSFULLY));
+    }
+
+    @GetMapping("/{id}/borrowings")
+    public Mono<CGetBorrowingRecordResponse> getPatronBorrowings(@PathVariable Long id, @ModelAttribute CPageRequest pageRequest) {
+        return borrowingRecordService.getPatronBorrowings(id, pageRequest).map(records -> {
+            CGetBorrowingRecordResponse apiResponse = new CGetBorrowingRecordResponse();
+            apiResponse.setBorrowingRecordList(records.getContent());
+            apiResponse.setPagination(CPageMapper.parse(records, CBorrowingRecordDTO::getId));
+            apiResponse.setStatus(HttpStatus.OK);
+            apiResponse.setSuccessMessage(ESuccess.GET_ALL_BORROWING_RECORD_SUCCESSFULLY.name());
+            return apiResponse;
+        });
+    }
+
+    @PostMapping
+    public Mono<CGetPatronResponse> addPatron(@RequestBody ReactivePatron patron) {
+        return patronService.addPatron(patron)
+                .map(addedPatron -> toResponse(addedPatron, ESuccess.PATRON_ADDED_SUCCESSFULLY));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<CGetPatronResponse> updatePatron(@PathVariable Long id, @RequestBody ReactivePatron patron) {
+        return patronService.updatePatron(id, patron)
+                .map(updatedPatron -> toResponse(updatedPatron, ESuccess.PATRON_UPDATED_SUCCESSFULLY));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<CGetPatronResponse> deletePatron(@PathVariable Long id) {
+        return patronService.deletePatron(id)
+                .then(Mono.fromSupplier(() -> toResponse(null, ESuccess.PATRON_DELETED_SUCCESSFULLY)));
+    }
+
+    private CGetPatronResponse toListResponse() {
+        CGetPatronResponse apiResponse = new CGetPatronResponse();
+        apiResponse.setStatus(HttpStatus.OK);
+        apiResponse.setSuccessMessage(ESuccess.GET_ALL_PATRON_SUCCESSFULLY.name());
+        return apiResponse;
+    }
+
+    private CGetPatronResponse toResponse(CPatronDTO patron, ESuccess success) {
+        CGetPatronResponse apiResponse = new CGetPatronResponse();
+        apiResponse.setPatron(patron);
+        apiResponse.setStatus(HttpStatus.OK);
+        apiResponse.setSuccessMessage(success.name());
+        return apiResponse;
+    }
+}
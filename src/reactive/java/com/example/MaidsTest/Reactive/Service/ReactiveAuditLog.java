@@ -0,0 +1,72 @@
+package com.example.MaidsTest.Reactive.Service;
+
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Filter.ReactiveAuditUserFilter;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Audit.AuditEntry;
+import com.example.MaidsTest.Template.Service.Audit.AuditLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Audits the changes of the reactive services into the same {@link AuditLog} as the blocking ones. The entries are
+ * registered with the surrounding {@code TransactionalOperator} transaction and handed to the log once it commits,
+ * so a rolled back change is not audited; calling this outside of a transaction is an error.
+ */
+@Service
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveAuditLog {
+
+    @Autowired
+    private AuditLog auditLog;
+
+    /**
+     * Records one change; see {@link #recordAll}.
+     */
+    public Mono<Void> record(String entityType, Long entityId, AuditAction action, String detail) {
+        return recordAll(List.of(new Entry(entityType, entityId, action, detail)));
+    }
+
+    /**
+     * Records changes made in the current transaction, made by the user of the request (see
+     * {@link ReactiveAuditUserFilter}).
+     *
+     * @param entries The entries, in the order they are written
+     * @return Completes once the entries are registered with the transaction
+     */
+    public Mono<Void> recordAll(List<Entry> entries) {
+        if (entries.isEmpty()) return Mono.empty();
+
+        return Mono.deferContextual(context -> {
+            Integer userId = context.<Integer>getOrEmpty(ReactiveAuditUserFilter.CONTEXT_KEY).orElse(null);
+            Date insertDate = new Date();
+            List<AuditEntry> auditEntries = entries.stream()
+                    .map(entry -> new AuditEntry(entry.entityType(), entry.entityId(), entry.action(), userId,
+                            entry.detail(), insertDate))
+                    .toList();
+            return TransactionSynchronizationManager.forCurrentTransaction()
+                    .doOnNext(synchronizations -> synchronizations.registerSynchronization(
+                            new TransactionSynchronization() {
+                                @Override
+                                public Mono<Void> afterCommit() {
+                                    // No blocking transaction on this thread: the log buffers them right away
+                                    return Mono.fromRunnable(() -> auditLog.recordAll(auditEntries));
+                                }
+                            }))
+                    .then();
+        });
+    }
+
+    /**
+     * One change to audit; the user and the date are filled in by {@link #recordAll}.
+     */
+    public record Entry(String entityType, Long entityId, AuditAction action, String detail) {
+    }
+}
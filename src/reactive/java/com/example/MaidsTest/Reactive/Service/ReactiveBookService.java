@@ -0,0 +1,143 @@
+package com.example.MaidsTest.Reactive.Service;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Mapper.CReactiveMapper;
+import com.example.MaidsTest.Reactive.Model.ReactiveBook;
+import com.example.MaidsTest.Reactive.Model.ReactiveBookCopy;
+import com.example.MaidsTest.Reactive.Repository.ReactiveBookCopyRepository;
+import com.example.MaidsTest.Reactive.Repository.ReactiveBookRepository;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.Exception.BookNotFoundException;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEventType;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService.Change;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link com.example.MaidsTest.Template.Service.Table.BookService}, backed by R2DBC.
+ * Same rules (new books are available, updates change title, author and publication year), no caching and
+ * no search index: those stay with the blocking variant.
+ */
+@Service
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveBookService {
+
+    @Autowired
+    private ReactiveBookRepository bookRepository;
+
+    @Autowired
+    private ReactiveBookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private ReactiveOutboxService outboxService;
+
+    @Autowired
+    private ReactiveAuditLog auditLog;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    /**
+     * Streams every book in ID order. The rows are fetched as the subscriber requests them.
+     *
+     * @return Flux of book DTOs
+     */
+    public Flux<CBookDTO> getAllBooks() {
+        return bookRepository.streamDtos();
+    }
+
+    /**
+     * Retrieves one page of books ordered by ID, with offset or keyset paging.
+     *
+     * @param pageRequest The paging parameters
+     * @return The requested slice of book DTOs
+     */
+    public Mono<Slice<CBookDTO>> getBooks(CPageRequest pageRequest) {
+        return ReactivePaging.slice(pageRequest, bookRepository::findDtos);
+    }
+
+    /**
+     * @param id The ID of the book
+     * @return The book, or an error with {@link BookNotFoundException} if it does not exist
+     */
+    public Mono<CBookDTO> getBookById(Long id) {
+        return bookRepository.findById(id)
+                .map(CReactiveMapper::parse)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name())));
+    }
+
+    /**
+     * Adds a new book with one free copy, available for borrowing.
+     *
+     * @param book The book to add
+     * @return The saved book
+     */
+    public Mono<CBookDTO> addBook(ReactiveBook book) {
+        book.setId(null);
+        book.setAvailable(true);
+        book.setInsertDate(LocalDateTime.now());
+        return bookRepository.save(book)
+                .flatMap(saved -> bookCopyRepository.save(
+                        new ReactiveBookCopy(null, saved.getId(), true, saved.getInsertDate()))
+                        .then(record(ReactiveOutboxService.book(OutboxEventType.BOOK_CREATED, saved), AuditAction.CREATE))
+                        .thenReturn(saved))
+                .map(CReactiveMapper::parse)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Updates the title, author and publication year of a book.
+     *
+     * @param id          The ID of the book to update
+     * @param bookDetails The new details of the book
+     * @return The updated book, or an error with {@link BookNotFoundException} if it does not exist
+     */
+    public Mono<CBookDTO> updateBook(Long id, ReactiveBook bookDetails) {
+        return bookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(EError.BOOK_NOT_FOUND.name())))
+                .flatMap(book -> {
+                    book.setTitle(bookDetails.getTitle());
+                    book.setAuthor(bookDetails.getAuthor());
+                    book.setPublicationYear(bookDetails.getPublicationYear());
+                    return bookRepository.save(book);
+                })
+                .flatMap(saved -> record(ReactiveOutboxService.book(OutboxEventType.BOOK_UPDATED, saved),
+                        AuditAction.UPDATE).thenReturn(saved))
+                .map(CReactiveMapper::parse)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Deletes a book with a single DELETE statement, and appends the event and audit entry in the same transaction.
+     *
+     * @param id The ID of the book to delete
+     * @return Completes empty, or with {@link BookNotFoundException} if no row was deleted
+     */
+    public Mono<Void> deleteBook(Long id) {
+        return bookRepository.deleteBookById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new BookNotFoundException(EError.BOOK_NOT_FOUND.name()))
+                        : record(new Change(OutboxEventType.BOOK_DELETED, id, Map.of("bookId", id)), AuditAction.DELETE))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Appends the outbox event of a book change and audits it, in the caller's transaction.
+     */
+    private Mono<Void> record(Change change, AuditAction action) {
+        return outboxService.appendAll(List.of(change))
+                .then(auditLog.record("Book", change.aggregateId(), action, null));
+    }
+}
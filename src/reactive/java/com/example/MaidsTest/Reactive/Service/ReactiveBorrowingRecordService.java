@@ -0,0 +1,160 @@
+package com.example.MaidsTest.Reactive.Service;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Config.LoanProperties;
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Model.ReactiveBorrowingRecord;
+import com.example.MaidsTest.Reactive.Repository.ReactiveBookCopyRepository;
+import com.example.MaidsTest.Reactive.Repository.ReactiveBookRepository;
+import com.example.MaidsTest.Reactive.Repository.ReactiveBorrowingRecordRepository;
+import com.example.MaidsTest.Reactive.Repository.ReactivePatronRepository;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.Exception.BookAlreadyBorrowedException;
+import com.example.MaidsTest.Template.Exception.BookNotFoundException;
+import com.example.MaidsTest.Template.Exception.BorrowingRecordNotFoundException;
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEventType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link com.example.MaidsTest.Template.Service.Table.BorrowingRecordService}, backed by R2DBC.
+ * Borrowing locks a free copy with the same {@code FOR UPDATE SKIP LOCKED} and marks the book with the same
+ * conditional UPDATE, so the blocking and the reactive variant can run side by side on one database.
+ */
+@Service
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveBorrowingRecordService {
+
+    @Autowired
+    private ReactiveBorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private ReactiveBookRepository bookRepository;
+
+    @Autowired
+    private ReactiveBookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private ReactivePatronRepository patronRepository;
+
+    @Autowired
+    private ReactiveOutboxService outboxService;
+
+    @Autowired
+    private ReactiveAuditLog auditLog;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Autowired
+    private LoanProperties loanProperties;
+
+    /**
+     * Borrows a book in one transaction: locks a free copy, checks the patron, takes the copy, marks the book
+     * unavailable if that was its last free copy, inserts the record and appends its outbox event and audit entry.
+     *
+     * @param bookId   The ID of the book to borrow
+     * @param patronId The ID of the patron borrowing it
+     * @return The new borrowing record, or an error with {@link BookNotFoundException},
+     *         {@link BookAlreadyBorrowedException} or {@link PatronNotFoundException}
+     */
+    public Mono<CBorrowingRecordDTO> borrowBook(Long bookId, Long patronId) {
+        return bookCopyRepository.lockFreeCopyId(bookId)
+                .switchIfEmpty(Mono.defer(() -> bookRepository.existsById(bookId)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new BookAlreadyBorrowedException(EError.BOOK_IS_ALREADY_BORROWED.name())
+                                : new BookNotFoundException(EError.BOOK_NOT_FOUND.name())))))
+                // Any failure from here on releases the copy with the transaction
+                .flatMap(copyId -> patronRepository.existsById(patronId)
+                        .flatMap(exists -> exists ? Mono.just(copyId)
+                                : Mono.error(new PatronNotFoundException(EError.PATRON_NOT_FOUND.name()))))
+                .flatMap(copyId -> bookCopyRepository.setAvailable(copyId, false)
+                        .then(bookRepository.markBorrowedIfNoFreeCopy(bookId))
+                        .flatMap(marked -> {
+                            LocalDateTime borrowDate = LocalDateTime.now();
+                            return borrowingRecordRepository.save(new ReactiveBorrowingRecord(null, bookId, patronId,
+                                            copyId, borrowDate, null, borrowDate.plusDays(loanProperties.getPeriodDays())))
+                                    .flatMap(record -> record(OutboxEventType.BOOK_BORROWED, record, marked == 0));
+                        }))
+                .flatMap(record -> borrowingRecordRepository.findDtoById(record.getId()))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Returns a borrowed book in one transaction: closes the open record, frees its copy, makes the book available
+     * again if it was not and appends the outbox event and audit entry of the return.
+     *
+     * @param bookId   The ID of the book to return
+     * @param patronId The ID of the patron who borrowed it
+     * @return The closed borrowing record, or an error with {@link BorrowingRecordNotFoundException}
+     */
+    public Mono<CBorrowingRecordDTO> returnBook(Long bookId, Long patronId) {
+        return borrowingRecordRepository.findOpen(bookId, patronId)
+                .switchIfEmpty(Mono.error(() ->
+                        new BorrowingRecordNotFoundException(EError.BORROWING_RECORD_NOT_FOUND.name())))
+                .flatMap(record -> {
+                    record.setReturnDate(LocalDateTime.now());
+                    return borrowingRecordRepository.save(record);
+                })
+                .flatMap(record -> (record.getCopyId() == null ? Mono.<Integer>empty()
+                        : bookCopyRepository.setAvailable(record.getCopyId(), true))
+                        .then(bookRepository.markReturned(bookId))
+                        .then(record(OutboxEventType.BOOK_RETURNED, record, true)))
+                .flatMap(record -> borrowingRecordRepository.findDtoById(record.getId()))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Appends the outbox event of a loan change and audits it, in the caller's transaction.
+     */
+    private Mono<ReactiveBorrowingRecord> record(OutboxEventType type, ReactiveBorrowingRecord record,
+                                                 boolean bookAvailable) {
+        return outboxService.appendAll(List.of(ReactiveOutboxService.loan(type, record, bookAvailable)))
+                .then(auditLog.record("BorrowingRecord", record.getId(),
+                        type == OutboxEventType.BOOK_RETURNED ? AuditAction.RETURN : AuditAction.BORROW,
+                        "book " + record.getBookId() + ", patron " + record.getPatronId()))
+                .thenReturn(record);
+    }
+
+    /**
+     * Retrieves one page of the loan history of a patron, ordered by record ID.
+     * Only an empty page costs a second query, to tell an unknown patron apart.
+     *
+     * @param patronId    The patron ID
+     * @param pageRequest The paging parameters (offset or keyset)
+     * @return The requested slice, or an error with {@link PatronNotFoundException}
+     */
+    public Mono<Slice<CBorrowingRecordDTO>> getPatronBorrowings(Long patronId, CPageRequest pageRequest) {
+        return ReactivePaging.slice(pageRequest,
+                        (after, limit, offset) -> borrowingRecordRepository.findDtosByPatronId(patronId, after, limit, offset))
+                .flatMap(records -> records.hasContent() ? Mono.just(records) : patronRepository.existsById(patronId)
+                        .flatMap(exists -> exists ? Mono.just(records)
+                                : Mono.error(new PatronNotFoundException(EError.PATRON_NOT_FOUND.name()))));
+    }
+
+    /**
+     * Retrieves one page of the loan history of a book, ordered by record ID.
+     * Only an empty page costs a second query, to tell an unknown book apart.
+     *
+     * @param bookId      The book ID
+     * @param pageRequest The paging parameters (offset or keyset)
+     * @return The requested slice, or an error with {@link BookNotFoundException}
+     */
+    public Mono<Slice<CBorrowingRecordDTO>> getBookBorrowings(Long bookId, CPageRequest pageRequest) {
+        return ReactivePaging.slice(pageRequest,
+                        (after, limit, offset) -> borrowingRecordRepository.findDtosByBookId(bookId, after, limit, offset))
+                .flatMap(records -> records.hasContent() ? Mono.just(records) : bookRepository.existsById(bookId)
+                        .flatMap(exists -> exists ? Mono.just(records)
+                                : Mono.error(new BookNotFoundException(EError.BOOK_NOT_FOUND.name()))));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.MaidsTest.Reactive.Service;
+
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Model.ReactiveBook;
+import com.example.MaidsTest.Reactive.Model.ReactiveBorrowingRecord;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxEventType;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService;
+import com.example.MaidsTest.Template.Service.Outbox.OutboxService.Change;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reactive counterpart of {@link OutboxService#appendAll}: inserts the changes into {@code outbox_event} over R2DBC,
+ * on the connection of the surrounding {@code TransactionalOperator} transaction, so an event commits or rolls back
+ * with its change. The payloads have the same fields as those of the blocking services, and the relay of the
+ * blocking variant publishes both alike.
+ */
+@Service
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveOutboxService {
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_event "
+            + "(aggregate_type, aggregate_id, event_type, payload, insert_date) "
+            + "VALUES (:aggregateType, :aggregateId, :eventType, :payload, :insertDate)";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Appends changes to the outbox in list order, in the transaction of the caller.
+     *
+     * @return Completes once every row is inserted
+     */
+    public Mono<Void> appendAll(List<Change> changes) {
+        LocalDateTime insertDate = LocalDateTime.now();
+        return Flux.fromIterable(changes)
+                .concatMap(change -> {
+                    DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(INSERT_SQL)
+                            .bind("aggregateType", change.type().getAggregateType())
+                            .bind("eventType", change.type().name())
+                            .bind("payload", toJson(change.payload()))
+                            .bind("insertDate", insertDate);
+                    insert = change.aggregateId() == null ? insert.bindNull("aggregateId", Long.class)
+                            : insert.bind("aggregateId", change.aggregateId());
+                    return insert.fetch().rowsUpdated();
+                })
+                .then();
+    }
+
+    /** A change of a book, as {@link Change#book} builds it. */
+    public static Change book(OutboxEventType type, ReactiveBook book) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookId", book.getId());
+        payload.put("title", book.getTitle());
+        payload.put("author", book.getAuthor());
+        payload.put("publicationYear", book.getPublicationYear());
+        payload.put("available", book.getAvailable());
+        return new Change(type, book.getId(), payload);
+    }
+
+    /** A change of a loan, as {@link Change#loan} builds it. */
+    public static Change loan(OutboxEventType type, ReactiveBorrowingRecord record, boolean bookAvailable) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("borrowingRecordId", record.getId());
+        payload.put("bookId", record.getBookId());
+        payload.put("patronId", record.getPatronId());
+        payload.put("copyId", record.getCopyId());
+        payload.put("borrowDate", toDate(record.getBorrowDate()));
+        payload.put("dueDate", toDate(record.getDueDate()));
+        payload.put("returnDate", toDate(record.getReturnDate()));
+        payload.put("bookAvailable", bookAvailable);
+        return new Change(type, record.getId(), payload);
+    }
+
+    // The blocking payloads carry java.util.Date, serialized with the application's date format
+    private static Date toDate(LocalDateTime dateTime) {
+        return dateTime == null ? null : Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox payload " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.MaidsTest.Reactive.Service;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Runs the offset or keyset page described by a {@link CPageRequest} against a reactive query taking
+ * {@code (after, limit, offset)}, and collects it into a {@link Slice} like the blocking repositories return.
+ */
+final class ReactivePaging {
+
+    @FunctionalInterface
+    interface PageQuery<T> {
+        Flux<T> find(long after, int limit, long offset);
+    }
+
+    private ReactivePaging() {
+    }
+
+    static <T> Mono<Slice<T>> slice(CPageRequest pageRequest, PageQuery<T> query) {
+        Pageable pageable = pageRequest.toPageable();
+        long after = pageRequest.isKeyset() ? pageRequest.getAfter() : 0L;
+
+        // One extra row tells whether a next page exists, without a count query
+        return query.find(after, pageable.getPageSize() + 1, pageable.getOffset())
+                .collectList()
+                .map(rows -> toSlice(rows, pageable));
+    }
+
+    private static <T> Slice<T> toSlice(List<T> rows, Pageable pageable) {
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.MaidsTest.Reactive.Service;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Reactive.Config.ReactiveConfig;
+import com.example.MaidsTest.Reactive.Mapper.CReactiveMapper;
+import com.example.MaidsTest.Reactive.Model.ReactivePatron;
+import com.example.MaidsTest.Reactive.Repository.ReactivePatronRepository;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Service.Audit.AuditAction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@link com.example.MaidsTest.Template.Service.Table.PatronService}, backed by R2DBC.
+ */
+@Service
+@Profile(ReactiveConfig.PROFILE)
+public class ReactivePatronService {
+
+    @Autowired
+    private ReactivePatronRepository patronRepository;
+
+    @Autowired
+    private ReactiveAuditLog auditLog;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    public Flux<CPatronDTO> getAllPatrons() {
+        return patronRepository.streamDtos();
+    }
+
+    public Mono<Slice<CPatronDTO>> getPatrons(CPageRequest pageRequest) {
+        return ReactivePaging.slice(pageRequest, patronRepository::findDtos);
+    }
+
+    public Mono<CPatronDTO> getPatronById(Long id) {
+        return patronRepository.findById(id)
+                .map(CReactiveMapper::parse)
+                .switchIfEmpty(Mono.error(() -> new PatronNotFoundException(EError.PATRON_NOT_FOUND.name())));
+    }
+
+    public Mono<CPatronDTO> addPatron(ReactivePatron patron) {
+        patron.setId(null);
+        patron.setInsertDate(LocalDateTime.now());
+        return patronRepository.save(patron)
+                .flatMap(saved -> auditLog.record("Patron", saved.getId(), AuditAction.CREATE, null).thenReturn(saved))
+                .map(CReactiveMapper::parse)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<CPatronDTO> updatePatron(Long id, ReactivePatron patronDetails) {
+        return patronRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new PatronNotFoundException(EError.PATRON_NOT_FOUND.name())))
+                .flatMap(patron -> {
+                    patron.setName(patronDetails.getName());
+                    patron.setAddress(patronDetails.getAddress());
+                    patron.setPhoneNumber(patronDetails.getPhoneNumber());
+                    return patronRepository.save(patron);
+                })
+                .flatMap(saved -> auditLog.record("Patron", id, AuditAction.UPDATE, null).thenReturn(saved))
+                .map(CReactiveMapper::parse)
+                .as(transactionalOperator::transactional);
+    }
+
+    public Mono<Void> deletePatron(Long id) {
+        return patronRepository.deletePatronById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new PatronNotFoundException(EError.PATRON_NOT_FOUND.name()))
+                        : auditLog.record("Patron", id, AuditAction.DELETE, null))
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.MaidsTest.Template.Filter;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Service.Audit.AuditUser;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test for the {@link IdempotencyFilter} in front of the REST controllers: a retried request is
+ * answered with the original response and does not run again.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class IdempotencyFilterTest {
+
+    private static final String USER_ID = "12";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testRetriedAddBookIsReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = "{\"title\": \"Idempotent Book\", \"author\": \"Kiosk\"}";
+
+        MvcResult first = mockMvc.perform(post("/api/books").header(IdempotencyFilter.HEADER, key).header(AuditUser.HEADER, USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+
+        MvcResult retry = mockMvc.perform(post("/api/books").header(IdempotencyFilter.HEADER, key).header(AuditUser.HEADER, USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book WHERE title = 'Idempotent Book'",
+                Integer.class));
+
+        // The same key for another request is rejected
+        mockMvc.perform(post("/api/books").header(IdempotencyFilter.HEADER, key).header(AuditUser.HEADER, USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Another Book\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.ERROR").value("IDEMPOTENCY_KEY_REUSED"));
+    }
+
+    @Test
+    void testRetriedBorrowReplaysTheSuccess() throws Exception {
+        Book book = new Book();
+        book.setTitle("Kiosk Book");
+        book = bookService.addBook(book);
+
+        Patron patron = new Patron();
+        patron.setName("Kiosk Patron");
+        patron = patronService.addPatron(patron);
+
+        String url = "/api/borrowings/borrow/" + book.getId() + "/patron/" + patron.getId();
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post(url).header(IdempotencyFilter.HEADER, key).header(AuditUser.HEADER, USER_ID))
+                .andExpect(status().isOk());
+
+        // Without the key the book is already borrowed; with it the retry gets the original success
+        mockMvc.perform(post(url))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(url).header(IdempotencyFilter.HEADER, key).header(AuditUser.HEADER, USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.successMessage").value("BOOK_BORROWED_SUCCESSFULLY"));
+    }
+
+    @Test
+    void testRequestInFlightIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String url = "/api/borrowings/borrow/1/patron/1";
+
+        // What the filter holds while the first request runs
+        cacheManager.getCache("idempotency").put(new IdempotencyFilter.Key(12, key),
+                IdempotentResponse.inFlight("in flight"));
+
+        mockMvc.perform(post(url).header(IdempotencyFilter.HEADER, key).header(AuditUser.HEADER, USER_ID))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testKeyWithoutUserIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = "{\"title\": \"Anonymous Idempotent Book\"}";
+
+        // Without a user every caller would share the key space, and a second caller would get the first's response
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/books").header(IdempotencyFilter.HEADER, key)
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.ERROR").value("IDEMPOTENCY_USER_REQUIRED"));
+        }
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM book WHERE title = 'Anonymous Idempotent Book'", Integer.class));
+        assertNull(cacheManager.getCache("idempotency").get(new IdempotencyFilter.Key(0, key)));
+    }
+}
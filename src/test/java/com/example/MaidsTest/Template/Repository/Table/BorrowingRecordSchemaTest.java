@@ -0,0 +1,87 @@
+package com.example.MaidsTest.Template.Repository.Table;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BookCopy;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the constraints added by the schema migrations on {@code borrowing_record}.
+ */
+@SpringBootTest
+public class BorrowingRecordSchemaTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private PatronRepository patronRepository;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private Book book;
+
+    private BookCopy copy;
+
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Schema Book");
+        book = bookRepository.save(book);
+        copy = bookCopyRepository.save(new BookCopy(book));
+
+        patron = new Patron();
+        patron.setName("Schema Patron");
+        patron = patronRepository.save(patron);
+    }
+
+    @Test
+    void testSecondOpenLoanForSameCopyIsRejected() {
+        borrowingRecordRepository.saveAndFlush(newRecord(copy, null));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> borrowingRecordRepository.saveAndFlush(newRecord(copy, null)));
+    }
+
+    @Test
+    void testOpenLoansOfOtherCopiesOfTheBookAreAccepted() {
+        BookCopy otherCopy = bookCopyRepository.save(new BookCopy(book));
+        borrowingRecordRepository.saveAndFlush(newRecord(copy, null));
+
+        assertDoesNotThrow(() -> borrowingRecordRepository.saveAndFlush(newRecord(otherCopy, null)));
+    }
+
+    @Test
+    void testReturnedLoansDoNotBlockNewLoan() {
+        borrowingRecordRepository.saveAndFlush(newRecord(copy, new Date()));
+        borrowingRecordRepository.saveAndFlush(newRecord(copy, new Date()));
+
+        assertDoesNotThrow(() -> borrowingRecordRepository.saveAndFlush(newRecord(copy, null)));
+    }
+
+    private BorrowingRecord newRecord(BookCopy copy, Date returnDate) {
+        BorrowingRecord record = new BorrowingRecord();
+        record.setBookId(book);
+        record.setPatronId(patron);
+        record.setCopyId(copy);
+        record.setBorrowDate(new Date());
+        record.setReturnDate(returnDate);
+        return record;
+    }
+}
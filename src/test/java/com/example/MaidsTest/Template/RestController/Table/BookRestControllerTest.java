@@ -1,18 +1,21 @@
 package com.example.MaidsTest.Template.RestController.Table;
 
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.API.Response.DTO.Mapper.CBookMapper;
+import com.example.MaidsTest.Template.Exception.BookNotFoundException;
 import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Service.Availability.BookAvailabilityService;
+import com.example.MaidsTest.Template.Service.Hold.BookHoldService;
+import com.example.MaidsTest.Template.Service.Search.BookSearchService;
 import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.Mockito;
-import org.mockito.MockitoAnnotations;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
@@ -31,9 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * the {@link MockMvc} framework and the {@link Mockito} library to mock the {@link BookService}.
  * </p>
  */
-@ExtendWith(MockitoExtension.class)  // Enables automatic mocking with Mockito
 @WebMvcTest(BookRestController.class)  //Runs the test with only the controller in the context
-@Import(BookService.class)  // Imports the BookService to the test context
 public class BookRestControllerTest {
 
     /** MockMvc instance to perform HTTP requests and verify responses. */
@@ -41,8 +42,21 @@ public class BookRestControllerTest {
     private MockMvc mockMvc;
 
     /** Mocked BookService to simulate service layer operations. */
-    @Mock
-    private BookService bookService;  // Use @Mock instead of @MockBean
+    @MockitoBean
+    private BookService bookService;
+
+    /** The other services of the controller, unused by these endpoints. */
+    @MockitoBean
+    private BorrowingRecordService borrowingRecordService;
+
+    @MockitoBean
+    private BookAvailabilityService bookAvailabilityService;
+
+    @MockitoBean
+    private BookHoldService bookHoldService;
+
+    @MockitoBean
+    private BookSearchService bookSearchService;
 
     /** A sample Book object to be used for testing. */
     private Book sampleBook;
@@ -51,14 +65,11 @@ public class BookRestControllerTest {
      * Set up the test environment before each test case.
      * <p>
      * This method:
-     * - Initializes Mockito annotations for mocks.
      * - Sets up a sample book object that will be used for API tests.
      * </p>
      */
     @BeforeEach
     void setUp() {
-        MockitoAnnotations.openMocks(this);
-
         // ✅ Setup a sample book object
         sampleBook = new Book();
         sampleBook.setId(1L);
@@ -69,14 +80,14 @@ public class BookRestControllerTest {
     /**
      * Test the {@code GET /api/books} endpoint.
      * <p>
-     * This test simulates a request to fetch all books. The {@code getAllBooks()} method of the
+     * This test simulates a request to fetch all books. The {@code getAllBookDTOs()} method of the
      * {@link BookService} is mocked to return a list containing a single book (the sampleBook).
      * The test verifies that the response status is OK and that the book's title is correct.
      * </p>
      */
     @Test
     void testGetAllBooks() throws Exception {
-        when(bookService.getAllBooks()).thenReturn(List.of(sampleBook));
+        when(bookService.getAllBookDTOs()).thenReturn(CBookMapper.parse(List.of(sampleBook)));
 
         mockMvc.perform(get("/api/books"))
                 .andExpect(status().isOk())  // Check that the status is OK
@@ -174,15 +185,16 @@ public class BookRestControllerTest {
      * Test the {@code GET /api/books/{id}} endpoint for a non-existent book.
      * <p>
      * This test simulates a request to fetch a book that does not exist. The {@code getBookById(999L)}
-     * method of the {@link BookService} is mocked to return null, simulating a "not found" scenario.
-     * The test verifies that the response status is 404 (Not Found).
+     * method of the {@link BookService} is mocked to throw a {@link BookNotFoundException}, as it does for an
+     * unknown ID. The test verifies that the global exception handler answers 400 with {@code BOOK_NOT_FOUND}.
      * </p>
      */
     @Test
     void testGetBookById_NotFound() throws Exception {
-        when(bookService.getBookById(999L)).thenReturn(null);
+        when(bookService.getBookById(999L)).thenThrow(new BookNotFoundException(EError.BOOK_NOT_FOUND.name()));
 
         mockMvc.perform(get("/api/books/999"))
-                .andExpect(status().isNotFound());  // Check that the status is 404 Not Found
+                .andExpect(status().isBadRequest())  // Check that the status is 400, as for every missing entity
+                .andExpect(jsonPath("$.ERROR").value("BOOK_NOT_FOUND"));
     }
 }
@@ -0,0 +1,94 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the audit log: committed changes are written with the user of the request, rolled back
+ * ones are not, and new books and patrons get the user as {@code insertBy}.
+ */
+@SpringBootTest
+public class AuditLogTest {
+
+    private static final int USER_ID = 42;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AuditUser.HEADER, String.valueOf(USER_ID));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testChangesAreAuditedWithTheRequestUser() {
+        Book book = new Book();
+        book.setTitle("Audited Book");
+        book = bookService.addBook(book);
+
+        Patron patron = new Patron();
+        patron.setName("Audited Patron");
+        patron = patronService.addPatron(patron);
+
+        Book details = new Book();
+        details.setTitle("Audited Book, revised");
+        bookService.updateBook(book.getId(), details);
+        Long recordId = borrowingRecordService.borrowBook(book.getId(), patron.getId()).getId();
+        borrowingRecordService.returnBook(book.getId(), patron.getId());
+        Long bookId = book.getId();
+        assertThrows(PatronNotFoundException.class, () -> borrowingRecordService.borrowBook(bookId, -1L));
+
+        auditLog.flush();  // The flusher may have written some already
+
+        assertEquals(List.of("CREATE", "UPDATE"), actions("Book", bookId));
+        assertEquals(List.of("CREATE"), actions("Patron", patron.getId()));
+        assertEquals(List.of("BORROW", "RETURN"), actions("BorrowingRecord", recordId));
+        assertEquals(USER_ID, jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM audit_log "
+                + "WHERE entity_type = 'BorrowingRecord' AND entity_id = ?", Integer.class, recordId));
+
+        assertEquals(USER_ID, bookService.getBookById(bookId).getInsertBy());
+        assertEquals(USER_ID, patronService.getPatronById(patron.getId()).getInsertBy());
+        assertEquals(0, auditLog.getDropped());
+    }
+
+    private List<String> actions(String entityType, Long entityId) {
+        return jdbcTemplate.queryForList("SELECT action FROM audit_log WHERE entity_type = ? AND entity_id = ? "
+                + "AND user_id = ? ORDER BY id", String.class, entityType, entityId, USER_ID);
+    }
+}
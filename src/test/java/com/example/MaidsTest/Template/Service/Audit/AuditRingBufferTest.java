@@ -0,0 +1,71 @@
+package com.example.MaidsTest.Template.Service.Audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link AuditRingBuffer}: nothing accepted is lost or reordered per producer, and a full buffer
+ * rejects instead of overwriting.
+ */
+public class AuditRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+
+    private static final int ENTRIES_PER_PRODUCER = 20_000;
+
+    @Test
+    void testFullBufferRejects() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(entry(0, i)));
+        }
+        assertFalse(buffer.offer(entry(0, 4)));
+
+        List<AuditEntry> drained = new ArrayList<>();
+        assertEquals(2, buffer.drainTo(drained, 2));
+        assertTrue(buffer.offer(entry(0, 5)));  // A freed slot is reused
+        assertEquals(3, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 5L), drained.stream().map(AuditEntry::entityId).toList());
+    }
+
+    @Test
+    void testConcurrentProducersWithOneConsumer() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            int userId = producer;
+            new Thread(() -> {
+                for (int i = 0; i < ENTRIES_PER_PRODUCER; i++) {
+                    while (!buffer.offer(entry(userId, i))) {
+                        Thread.onSpinWait();  // Full: wait for the consumer, so every entry gets in
+                    }
+                    accepted.incrementAndGet();
+                }
+                done.countDown();
+            }).start();
+        }
+
+        List<AuditEntry> drained = new ArrayList<>();
+        while (done.getCount() > 0 || drained.size() < accepted.get()) {
+            buffer.drainTo(drained, 100);
+        }
+
+        assertEquals(PRODUCERS * ENTRIES_PER_PRODUCER, drained.size());
+        long[] next = new long[PRODUCERS];
+        for (AuditEntry entry : drained) {
+            assertEquals(next[entry.userId()]++, entry.entityId());  // Each producer's entries in its own order
+        }
+    }
+
+    private static AuditEntry entry(int userId, long entityId) {
+        return new AuditEntry("Book", entityId, AuditAction.UPDATE, userId, null, null);
+    }
+}
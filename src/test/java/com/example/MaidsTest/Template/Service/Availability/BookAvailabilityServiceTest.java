@@ -0,0 +1,175 @@
+package com.example.MaidsTest.Template.Service.Availability;
+
+import com.example.MaidsTest.Template.API.Request.BorrowingRecord.CBorrowingItem;
+import com.example.MaidsTest.Template.Exception.BookAlreadyBorrowedException;
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Service.Availability.BookAvailabilityIndex.State;
+import com.example.MaidsTest.Template.Service.Search.BookChangedEvent;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingResult;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the in-memory availability index: it must follow every committed change of a book's
+ * availability, ignore rolled back ones and changes applied after a newer one, and let the borrow path reject
+ * borrowed books without a query.
+ */
+@SpringBootTest
+public class BookAvailabilityServiceTest {
+
+    @Autowired
+    private BookAvailabilityService availabilityService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Book book;
+
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Indexed Book");
+        book = bookService.addBook(book);
+
+        patron = new Patron();
+        patron.setName("Indexed Patron");
+        patron = patronService.addPatron(patron);
+    }
+
+    @Test
+    void testIndexFollowsBorrowReturnAndDelete() {
+        assertEquals(State.AVAILABLE, stateOf(book.getId()));
+
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        assertEquals(State.BORROWED, stateOf(book.getId()));
+        assertTrue(availabilityService.isBorrowed(book.getId()));
+
+        borrowingRecordService.returnBook(book.getId(), patron.getId());
+        assertEquals(State.AVAILABLE, stateOf(book.getId()));
+
+        // A book with loan history cannot be deleted, use a fresh one
+        Book other = new Book();
+        other.setTitle("Deleted Indexed Book");
+        other = bookService.addBook(other);
+        assertEquals(State.AVAILABLE, stateOf(other.getId()));
+
+        bookService.deleteBook(other.getId());
+        assertEquals(State.UNKNOWN, stateOf(other.getId()));
+    }
+
+    @Test
+    void testBorrowedBookIsRejectedWithoutAQuery() {
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Nothing is locked or loaded, not even the free copies
+        assertThrows(BookAlreadyBorrowedException.class,
+                () -> borrowingRecordService.borrowBook(book.getId(), patron.getId()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testOlderChangesAreIgnored() {
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        BookAvailabilityChangedEvent borrowed = BookAvailabilityChangedEvent.borrowed(List.of(book.getId()));
+        borrowingRecordService.returnBook(book.getId(), patron.getId());
+
+        // The borrow applied after the return that followed it, as listeners out of commit order would do
+        eventPublisher.publishEvent(borrowed);
+        assertEquals(State.AVAILABLE, stateOf(book.getId()));
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+
+        // Neither does an update applied after the delete bring the book back
+        Book other = new Book();
+        other.setTitle("Deleted Indexed Book");
+        other = bookService.addBook(other);
+        BookChangedEvent saved = BookChangedEvent.saved(other);
+        bookService.deleteBook(other.getId());
+
+        eventPublisher.publishEvent(saved);
+        assertEquals(State.UNKNOWN, stateOf(other.getId()));
+    }
+
+    @Test
+    void testRolledBackBorrowKeepsBookAvailable() {
+        assertThrows(PatronNotFoundException.class, () -> borrowingRecordService.borrowBook(book.getId(), -1L));
+
+        assertEquals(State.AVAILABLE, stateOf(book.getId()));
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+    }
+
+    @Test
+    void testBatchesAndImportsUpdateTheIndex() {
+        CBorrowingItem item = new CBorrowingItem();
+        item.setBookId(book.getId());
+        item.setPatronId(patron.getId());
+
+        assertTrue(borrowingRecordService.borrowBooks(List.of(item)).get(0).isSuccess());
+        assertEquals(State.BORROWED, stateOf(book.getId()));
+
+        // Rejected from the index, the book is not even loaded
+        BorrowingResult again = borrowingRecordService.borrowBooks(List.of(item)).get(0);
+        assertFalse(again.isSuccess());
+
+        assertTrue(borrowingRecordService.returnBooks(List.of(item)).get(0).isSuccess());
+        assertEquals(State.AVAILABLE, stateOf(book.getId()));
+
+        Book imported = new Book();
+        imported.setTitle("Imported Indexed Book");
+        bookService.importBooks(List.of(imported));
+
+        Long importedId = bookService.getAllBookDTOs().stream()
+                .filter(dto -> "Imported Indexed Book".equals(dto.getTitle()))
+                .reduce((first, second) -> second)
+                .orElseThrow()
+                .getId();
+        assertEquals(State.AVAILABLE, stateOf(importedId));
+    }
+
+    @Test
+    void testBulkLookupKeepsRequestOrder() {
+        Map<Long, State> availability = availabilityService.getAvailability(List.of(-5L, book.getId()));
+
+        assertEquals(List.of(-5L, book.getId()), List.copyOf(availability.keySet()));
+        assertEquals(State.UNKNOWN, availability.get(-5L));
+        assertEquals(State.AVAILABLE, availability.get(book.getId()));
+
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.getAvailability(List.of()));
+    }
+
+    private State stateOf(Long bookId) {
+        return availabilityService.getAvailability(List.of(bookId)).get(bookId);
+    }
+}
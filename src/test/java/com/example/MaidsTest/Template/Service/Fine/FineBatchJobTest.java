@@ -0,0 +1,116 @@
+package com.example.MaidsTest.Template.Service.Fine;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BorrowingRecordRepository;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the fine batch: it must price every open overdue loan of the fine date, run a completed
+ * date only once, and resume a failed run from its checkpoints. The test configuration splits the run into more
+ * partitions and chunks than there are loans.
+ */
+@SpringBootTest
+public class FineBatchJobTest {
+
+    private static final int LOANS = 7;
+
+    @Autowired
+    private FineBatchJob fineBatchJob;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        patron = new Patron();
+        patron.setName("Fined Patron");
+        patron = patronService.addPatron(patron);
+    }
+
+    @Test
+    void testRunFinesOpenOverdueLoansOnceAndResumes() {
+        // Loans due long before the other tests' loans, on consecutive days; the last one is capped
+        LocalDate fineDate = LocalDate.of(2000, 1, 10);
+        List<BorrowingRecord> loans = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            LocalDateTime dueDate = i == LOANS - 1
+                    ? LocalDateTime.of(1999, 1, 1, 10, 0)
+                    : LocalDateTime.of(2000, 1, 1 + i, 10, 0);
+            loans.add(borrow("Fined Book " + i, dueDate));
+        }
+        borrowingRecordService.returnBook(loans.get(0).getBookId().getId(), patron.getId());
+
+        FineRunReport report = fineBatchJob.run(fineDate);
+        assertEquals(LOANS - 1, report.getRows());
+        assertEquals(3, report.getPartitions());
+        assertEquals(0, report.getResumedPartitions());
+        assertTrue(report.getRowsPerSecond() > 0);
+
+        assertNull(fineOf(loans.get(0)));  // Returned
+        assertEquals(new BigDecimal("2.00"), fineOf(loans.get(1)));  // Due Jan 2nd, 8 days
+        assertEquals(new BigDecimal("1.00"), fineOf(loans.get(5)));  // Due Jan 6th, 4 days
+        assertEquals(new BigDecimal("20.00"), fineOf(loans.get(LOANS - 1)));
+
+        // A completed date is not run again
+        assertEquals(0, fineBatchJob.run(fineDate).getRows());
+
+        // A run that failed in its first partition resumes that partition only
+        Long runId = jdbcTemplate.queryForObject("SELECT id FROM fine_run WHERE fine_date = ?", Long.class,
+                java.sql.Date.valueOf(fineDate));
+        jdbcTemplate.update("UPDATE fine_run SET status = 'FAILED' WHERE id = ?", runId);
+        jdbcTemplate.update("UPDATE fine_run_partition SET last_id = from_id, completed = FALSE "
+                + "WHERE run_id = ? AND partition_no = 0", runId);
+        jdbcTemplate.update("UPDATE borrowing_record SET fine = NULL WHERE id = ?", loans.get(1).getId());
+
+        FineRunReport resumed = fineBatchJob.run(fineDate);
+        assertEquals(1, resumed.getResumedPartitions());
+        assertTrue(resumed.getRows() > 0 && resumed.getRows() < LOANS - 1);
+        assertEquals(new BigDecimal("2.00"), fineOf(loans.get(1)));
+    }
+
+    private BorrowingRecord borrow(String title, LocalDateTime dueDate) {
+        Book book = new Book();
+        book.setTitle(title);
+        book = bookService.addBook(book);
+
+        BorrowingRecord loan = borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        jdbcTemplate.update("UPDATE borrowing_record SET due_date = ? WHERE id = ?", Timestamp.valueOf(dueDate), loan.getId());
+        return loan;
+    }
+
+    private BigDecimal fineOf(BorrowingRecord loan) {
+        return borrowingRecordRepository.findById(loan.getId()).orElseThrow().getFine();
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.MaidsTest.Template.Service.Hold;
+
+import com.example.MaidsTest.Base.Enum.EError;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookHoldDTO;
+import com.example.MaidsTest.Template.Exception.BookHoldException;
+import com.example.MaidsTest.Template.Exception.BorrowingRecordNotFoundException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the hold queues: returned and added copies must go to the waiting patrons in the order they
+ * placed their holds, each hold must be served exactly once under concurrent returns, a hold racing a return must
+ * never be left waiting while a copy is free, and a book is only released once nobody is waiting for it.
+ */
+@SpringBootTest
+public class BookHoldServiceTest {
+
+    private static final int COPIES = 8;
+
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private BookHoldService bookHoldService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(COPIES);
+
+        book = new Book();
+        book.setTitle("Held Book");
+        book = bookService.addBook(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testReturnedCopyGoesToOldestHold() {
+        Patron borrower = newPatron("Borrower");
+        Patron first = newPatron("First Holder");
+        Patron second = newPatron("Second Holder");
+
+        borrowingRecordService.borrowBook(book.getId(), borrower.getId());
+        assertEquals(1, bookHoldService.placeHold(book.getId(), first.getId()).getPosition());
+        assertEquals(2, bookHoldService.placeHold(book.getId(), second.getId()).getPosition());
+        assertEquals(2, bookHoldService.getWaitingHolds(book.getId()));
+
+        // The copy goes to the first holder, the book stays unavailable
+        borrowingRecordService.returnBook(book.getId(), borrower.getId());
+        assertEquals(1, bookHoldService.getWaitingHolds(book.getId()));
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+        assertThrows(BorrowingRecordNotFoundException.class,
+                () -> borrowingRecordService.returnBook(book.getId(), second.getId()));
+
+        borrowingRecordService.returnBook(book.getId(), first.getId());
+        assertEquals(0, bookHoldService.getWaitingHolds(book.getId()));
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+
+        // Nobody is waiting any more: the copy is freed
+        borrowingRecordService.returnBook(book.getId(), second.getId());
+        assertTrue(bookService.getBookById(book.getId()).getAvailable());
+        assertEquals(1, bookService.getCopies(book.getId()).getAvailableCopies());
+    }
+
+    @Test
+    void testHoldIsRejectedWhileACopyIsFreeOrAlreadyHeld() {
+        Patron borrower = newPatron("Borrower");
+        Patron holder = newPatron("Holder");
+
+        BookHoldException available = assertThrows(BookHoldException.class,
+                () -> bookHoldService.placeHold(book.getId(), holder.getId()));
+        assertEquals(EError.BOOK_IS_AVAILABLE.name(), available.getMessage());
+
+        borrowingRecordService.borrowBook(book.getId(), borrower.getId());
+        bookHoldService.placeHold(book.getId(), holder.getId());
+
+        BookHoldException held = assertThrows(BookHoldException.class,
+                () -> bookHoldService.placeHold(book.getId(), holder.getId()));
+        assertEquals(EError.BOOK_IS_ALREADY_HELD.name(), held.getMessage());
+        assertEquals(1, bookHoldService.getWaitingHolds(book.getId()));
+    }
+
+    @Test
+    void testAddedCopiesGoToWaitingHolds() {
+        Patron borrower = newPatron("Borrower");
+        Patron first = newPatron("First Holder");
+        Patron second = newPatron("Second Holder");
+
+        borrowingRecordService.borrowBook(book.getId(), borrower.getId());
+        bookHoldService.placeHold(book.getId(), first.getId());
+        bookHoldService.placeHold(book.getId(), second.getId());
+
+        // The new copy goes to the first holder, the book stays unavailable
+        assertEquals(0, bookService.addCopies(book.getId(), 1).getAvailableCopies());
+        assertEquals(1, bookHoldService.getWaitingHolds(book.getId()));
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+        assertNotNull(borrowingRecordService.returnBook(book.getId(), first.getId()).getReturnDate());
+
+        // That return served the second holder; one of the next two copies is left free
+        assertEquals(0, bookHoldService.getWaitingHolds(book.getId()));
+        assertEquals(2, bookService.addCopies(book.getId(), 2).getAvailableCopies());
+        assertTrue(bookService.getBookById(book.getId()).getAvailable());
+    }
+
+    @Test
+    void testHoldRacingReturnIsNeverLeftWaitingForAFreeCopy() throws Exception {
+        Patron borrower = newPatron("Borrower");
+        Patron holder = newPatron("Holder");
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Book raced = new Book();
+            raced.setTitle("Raced Book " + round);
+            Long bookId = bookService.addBook(raced).getId();
+            borrowingRecordService.borrowBook(bookId, borrower.getId());
+
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> returning = executor.submit(() -> {
+                start.await();
+                return borrowingRecordService.returnBook(bookId, borrower.getId());
+            });
+            Future<Boolean> holding = executor.submit(() -> {
+                start.await();
+                try {
+                    bookHoldService.placeHold(bookId, holder.getId());
+                    return true;
+                } catch (BookHoldException ex) {
+                    return false;  // The return committed first: the copy is free
+                }
+            });
+
+            start.countDown();  // Release both at once
+            returning.get(30, TimeUnit.SECONDS);
+            boolean held = holding.get(30, TimeUnit.SECONDS);
+
+            // Either the hold was served by the return, or it was rejected and the copy is free
+            assertEquals(0, bookHoldService.getWaitingHolds(bookId), "round " + round);
+            assertEquals(held ? 0 : 1, bookService.getCopies(bookId).getAvailableCopies(), "round " + round);
+            assertEquals(!held, bookService.getBookById(bookId).getAvailable(), "round " + round);
+        }
+    }
+
+    @Test
+    void testConcurrentReturnsServeEachHoldOnce() throws Exception {
+        bookService.addCopies(book.getId(), COPIES - 1);
+
+        List<Patron> borrowers = new ArrayList<>();
+        List<Long> holdIds = new ArrayList<>();
+        for (int i = 0; i < COPIES; i++) {
+            Patron borrower = newPatron("Borrower " + i);
+            borrowingRecordService.borrowBook(book.getId(), borrower.getId());
+            borrowers.add(borrower);
+        }
+        List<Patron> holders = new ArrayList<>();
+        for (int i = 0; i < COPIES; i++) {
+            Patron holder = newPatron("Holder " + i);
+            CBookHoldDTO hold = bookHoldService.placeHold(book.getId(), holder.getId());
+            holdIds.add(hold.getId());
+            holders.add(holder);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Patron borrower : borrowers) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                borrowingRecordService.returnBook(book.getId(), borrower.getId());
+                return null;
+            }));
+        }
+
+        start.countDown();  // Release all returns at once
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        // Every holder got exactly one of the copies, and no copy was freed
+        assertEquals(0, bookHoldService.getWaitingHolds(book.getId()));
+        assertEquals(0, bookService.getCopies(book.getId()).getAvailableCopies());
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+
+        Set<Long> copyIds = ConcurrentHashMap.newKeySet();
+        for (Patron holder : holders) {
+            BorrowingRecord loan = borrowingRecordService.returnBook(book.getId(), holder.getId());
+            assertTrue(copyIds.add(loan.getCopyId().getId()), "copy lent twice");
+        }
+        assertEquals(COPIES, copyIds.size());
+        assertEquals(COPIES, bookService.getCopies(book.getId()).getAvailableCopies());
+    }
+
+    @Test
+    void testHandOverReportsTheBookFlagCurrentUnderTheLock() {
+        bookService.addCopies(book.getId(), 1);
+        Patron borrower = newPatron("Borrower");
+        Patron last = newPatron("Last Borrower");
+        Patron holder = newPatron("Holder");
+        BorrowingRecord loan = borrowingRecordService.borrowBook(book.getId(), borrower.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Loaded while a copy is still free: the managed book says available
+            assertTrue(bookRepository.findById(book.getId()).orElseThrow().getAvailable());
+
+            // The last copy is taken and a hold placed, both committed by other transactions
+            runElsewhere(() -> borrowingRecordService.borrowBook(book.getId(), last.getId()));
+            runElsewhere(() -> bookHoldService.placeHold(book.getId(), holder.getId()));
+
+            borrowingRecordService.returnBook(book.getId(), borrower.getId());
+        });
+
+        String returned = jdbcTemplate.queryForObject("SELECT payload FROM outbox_event "
+                + "WHERE event_type = 'BOOK_RETURNED' AND aggregate_id = ?", String.class, loan.getId());
+        assertTrue(returned.contains("\"bookAvailable\":false"), returned);
+    }
+
+    private void runElsewhere(Runnable task) {
+        try {
+            executor.submit(task).get(30, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Patron newPatron(String name) {
+        Patron patron = new Patron();
+        patron.setName(name);
+        return patronService.addPatron(patron);
+    }
+}
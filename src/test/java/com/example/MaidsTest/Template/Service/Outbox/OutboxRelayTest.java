@@ -0,0 +1,156 @@
+package com.example.MaidsTest.Template.Service.Outbox;
+
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the outbox: the changes of the services must be appended with their transaction, and the
+ * relay must publish them once, in order, with gap-free sequence numbers. The test configuration publishes in
+ * batches smaller than the events of a test.
+ */
+@SpringBootTest
+public class OutboxRelayTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Book book;
+
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Streamed Book");
+        book = bookService.addBook(book);
+
+        patron = new Patron();
+        patron.setName("Streamed Patron");
+        patron = patronService.addPatron(patron);
+    }
+
+    @Test
+    void testChangesArePublishedOnceInOrder() {
+        Book details = new Book();
+        details.setTitle("Streamed Book, 2nd edition");
+        bookService.updateBook(book.getId(), details);
+        Long recordId = borrowingRecordService.borrowBook(book.getId(), patron.getId()).getId();
+        borrowingRecordService.returnBook(book.getId(), patron.getId());
+
+        assertTrue(outboxRelay.relay() >= 4);
+        assertEquals(0, outboxRelay.relay());  // Nothing left pending
+
+        List<OutboxEvent> published = outboxSink.getEvents();
+        for (int i = 1; i < published.size(); i++) {
+            assertEquals(published.get(i - 1).sequenceNo() + 1, published.get(i).sequenceNo());
+        }
+
+        List<OutboxEvent> events = published.stream()
+                .filter(event -> book.getId().equals(event.aggregateId()) && "Book".equals(event.aggregateType())
+                        || recordId.equals(event.aggregateId()) && "BorrowingRecord".equals(event.aggregateType()))
+                .toList();
+        assertEquals(List.of("BOOK_CREATED", "BOOK_UPDATED", "BOOK_BORROWED", "BOOK_RETURNED"),
+                events.stream().map(OutboxEvent::eventType).toList());
+        assertTrue(events.get(1).payload().contains("\"title\":\"Streamed Book, 2nd edition\""));
+        assertTrue(events.get(2).payload().contains("\"bookAvailable\":false"));
+        assertTrue(events.get(3).payload().contains("\"bookAvailable\":true"));
+
+        // The stream resumes after a sequence number with the same events
+        long before = events.get(0).sequenceNo() - 1;
+        Slice<OutboxEvent> stream = outboxService.getEventsAfter(before, 2);
+        assertTrue(stream.hasNext());
+        assertEquals(events.get(0).id(), stream.getContent().get(0).id());
+        assertEquals(before + 2, stream.getContent().get(1).sequenceNo());
+    }
+
+    @Test
+    void testClaimedBatchIsSentAgainBeforeNewEvents() {
+        outboxRelay.relay();
+
+        // A run that stamped a batch but stopped before the sink acknowledged it
+        bookService.addCopies(book.getId(), 1);
+        List<OutboxEvent> claimed = outboxService.claimNextBatch(4);
+        assertEquals(1, claimed.size());
+        assertTrue(outboxService.getEventsAfter(claimed.get(0).sequenceNo() - 1, 10).isEmpty());  // Not published yet
+
+        bookService.addCopies(book.getId(), 2);
+        assertEquals(2, outboxRelay.relay());
+
+        List<OutboxEvent> published = outboxSink.getEvents();
+        OutboxEvent resent = published.get(published.size() - 2);
+        assertEquals(claimed.get(0).id(), resent.id());
+        assertEquals(claimed.get(0).sequenceNo(), resent.sequenceNo());
+        assertEquals(resent.sequenceNo() + 1, published.get(published.size() - 1).sequenceNo());
+        assertEquals(2, outboxService.getEventsAfter(resent.sequenceNo() - 1, 10).getNumberOfElements());
+    }
+
+    @Test
+    void testConcurrentClaimWaitsAndStampsNothingTwice() throws Exception {
+        outboxRelay.relay();
+        bookService.addCopies(book.getId(), 1);
+
+        CompletableFuture<List<OutboxEvent>> second = new CompletableFuture<>();
+        List<OutboxEvent> first = new TransactionTemplate(transactionManager).execute(status -> {
+            List<OutboxEvent> claimed = outboxService.claimNextBatch(4);
+            // Another relay claims while this one has not committed yet
+            CompletableFuture.runAsync(() -> second.complete(outboxService.claimNextBatch(4)));
+            assertThrows(TimeoutException.class, () -> second.get(500, TimeUnit.MILLISECONDS));
+            return claimed;
+        });
+
+        // It waited for the commit and got the same stamped batch to send, not new numbers for it
+        assertEquals(1, first.size());
+        assertEquals(first, second.get(30, TimeUnit.SECONDS));
+        outboxRelay.relay();
+    }
+
+    @Test
+    void testRolledBackChangeAppendsNothing() {
+        assertThrows(PatronNotFoundException.class, () -> borrowingRecordService.borrowBook(book.getId(), -1L));
+
+        Integer borrowed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event "
+                + "WHERE event_type = 'BOOK_BORROWED' AND payload LIKE ?", Integer.class,
+                "%\"bookId\":" + book.getId() + ",%");
+        assertEquals(0, borrowed);
+    }
+}
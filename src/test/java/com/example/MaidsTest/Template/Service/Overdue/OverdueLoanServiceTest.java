@@ -0,0 +1,138 @@
+package com.example.MaidsTest.Template.Service.Overdue;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BorrowingRecordRepository;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import com.example.MaidsTest.Template.Service.Table.BorrowingRecordService;
+import com.example.MaidsTest.Template.Service.Table.PatronService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the overdue scan: each run must flag exactly the open loans that fell due since the
+ * previous one, skip returned loans, and the overdue list must page through the open loans past their due date.
+ */
+@SpringBootTest
+public class OverdueLoanServiceTest {
+
+    private static final int LOANS = 7;
+
+    @Autowired
+    private OverdueLoanService overdueLoanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    private Patron patron;
+
+    // Past the due date of every loan left open by the other tests
+    private Date now;
+
+    @BeforeEach
+    void setUp() {
+        patron = new Patron();
+        patron.setName("Late Patron");
+        patron = patronService.addPatron(patron);
+
+        now = hoursFrom(new Date(), 24 * 1000);
+        overdueLoanService.scan(now);  // Start from a scan that has seen everything due so far
+    }
+
+    @Test
+    void testScanFlagsOnlyNewlyOverdueLoans() {
+        List<BorrowingRecord> loans = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            loans.add(borrow("Late Book " + i));
+        }
+
+        // The first loans fall due, one of them is returned before the scan
+        for (int i = 0; i < 3; i++) {
+            setDueDate(loans.get(i), hoursFrom(now, 1 + i));
+        }
+        for (int i = 3; i < LOANS; i++) {
+            setDueDate(loans.get(i), hoursFrom(now, 10));
+        }
+        borrowingRecordService.returnBook(loans.get(0).getBookId().getId(), patron.getId());
+        assertEquals(2, overdueLoanService.scan(hoursFrom(now, 5)));
+        assertEquals(0, overdueLoanService.scan(hoursFrom(now, 5)));  // Already flagged
+
+        // The remaining loans fall due later, between two scans
+        assertEquals(LOANS - 3, overdueLoanService.scan(hoursFrom(now, 10)));
+
+        BorrowingRecord flagged = borrowingRecordRepository.findById(loans.get(1).getId()).orElseThrow();
+        assertNotNull(flagged.getOverdueDate());
+        assertNull(borrowingRecordRepository.findById(loans.get(0).getId()).orElseThrow().getOverdueDate());
+    }
+
+    @Test
+    void testOverdueListPagesThroughOpenLoansPastDue() {
+        List<Long> overdueIds = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            BorrowingRecord loan = borrow("Listed Book " + i);
+            if (i % 2 == 0) {
+                setDueDate(loan, hoursFrom(new Date(), -1));
+                overdueIds.add(loan.getId());
+            }
+        }
+
+        CPageRequest pageRequest = new CPageRequest();
+        pageRequest.setSize(2);
+        pageRequest.setAfter(overdueIds.get(0) - 1);
+
+        List<Long> listed = new ArrayList<>();
+        List<CBorrowingRecordDTO> page;
+        do {
+            page = overdueLoanService.getOverdueLoans(pageRequest).getContent();
+            for (CBorrowingRecordDTO dto : page) {
+                listed.add(dto.getId());
+                assertNotNull(dto.getDueDate());
+                pageRequest.setAfter(dto.getId());
+            }
+        }
+        while (page.size() == 2);
+
+        assertEquals(overdueIds, listed);
+    }
+
+    private BorrowingRecord borrow(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book = bookService.addBook(book);
+
+        BorrowingRecord loan = borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        assertEquals(loan.getBorrowDate().getTime() + TimeUnit.DAYS.toMillis(14), loan.getDueDate().getTime());
+        return loan;
+    }
+
+    private void setDueDate(BorrowingRecord loan, Date dueDate) {
+        BorrowingRecord record = borrowingRecordRepository.findById(loan.getId()).orElseThrow();
+        record.setDueDate(dueDate);
+        borrowingRecordRepository.save(record);
+    }
+
+    private static Date hoursFrom(Date date, int hours) {
+        return new Date(date.getTime() + TimeUnit.HOURS.toMillis(hours));
+    }
+}
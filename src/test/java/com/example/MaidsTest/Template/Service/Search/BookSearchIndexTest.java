@@ -0,0 +1,111 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the matching and ranking of the {@link BookSearchIndex}.
+ */
+public class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        fill(index);
+    }
+
+    @Test
+    void testExactPrefixAndSubstringMatch() {
+        assertEquals(List.of(1L), ids("hobbit"));
+        assertEquals(List.of(3L), ids("pott"));    // Prefix
+        assertEquals(List.of(2L), ids("ring"));    // Prefix of "rings"
+        assertEquals(List.of(3L), ids("osoph"));   // Substring
+    }
+
+    @Test
+    void testEveryQueryTermMustMatch() {
+        assertEquals(List.of(2L), ids("lord tolkien"));
+        assertTrue(ids("hobbit rowling").isEmpty());
+    }
+
+    @Test
+    void testCaseAndAccentsAreIgnored() {
+        assertEquals(List.of(4L), ids("MISERABLES"));
+        assertEquals(List.of(4L), ids("misérables"));
+    }
+
+    @Test
+    void testTypoMatchesByEditDistance() {
+        assertEquals(List.of(3L), ids("harru"));
+        assertEquals(List.of(3L), ids("philosofer"));
+    }
+
+    @Test
+    void testTitleMatchesRankBeforeAuthorMatches() {
+        // Book 5 has "tolkien" in the title; 1 and 2 only as author, then by id
+        assertEquals(List.of(5L, 1L, 2L), ids("tolkien"));
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDeletes() {
+        index.put(1, "The Silmarillion", "Tolkien");
+        assertTrue(ids("hobbit").isEmpty());
+        assertEquals(List.of(1L), ids("silmarillion"));
+
+        index.remove(1, 1);
+        assertTrue(ids("silmarillion").isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testOlderChangesAreIgnored() {
+        index.put(1, "The Hobbit, Revised", "Tolkien", 3);
+        index.put(1, "The Hobbit", "Tolkien", 2);  // Applied late
+        assertEquals(List.of(1L), ids("revised"));
+
+        index.remove(2, 5);
+        index.put(2, "The Lord of the Rings", "Tolkien", 4);  // Applied after the delete
+        assertTrue(ids("rings").isEmpty());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(List.of(5L), ids("tolkien", 1));
+    }
+
+    @Test
+    void testLevelWalkRanksLikeScan() {
+        // Threshold 0: every query goes through the level walk used for large result sets
+        BookSearchIndex walkIndex = new BookSearchIndex(0);
+        fill(walkIndex);
+
+        for (String query : List.of("tolkien", "the", "the tolkien", "t", "harru", "rings tolkien", "o")) {
+            for (int limit : List.of(1, 2, 10)) {
+                assertEquals(index.search(query, limit), walkIndex.search(query, limit), query + " / " + limit);
+            }
+        }
+    }
+
+    private static void fill(BookSearchIndex index) {
+        index.put(1, "The Hobbit", "Tolkien");
+        index.put(2, "The Lord of the Rings", "Tolkien");
+        index.put(3, "Harry Potter and the Philosopher's Stone", "Rowling");
+        index.put(4, "Les Misérables", "Hugo");
+        index.put(5, "Tolkien: A Biography", "Carpenter");
+    }
+
+    private List<Long> ids(String query) {
+        return ids(query, 10);
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.search(query, limit).stream().map(BookSearchIndex.Hit::bookId).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.MaidsTest.Template.Service.Search;
+
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Service.Import.ImportResult;
+import com.example.MaidsTest.Template.Service.Table.BookService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the search index follows the book mutations made through {@link BookService}.
+ */
+@SpringBootTest
+public class BookSearchServiceTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void testIndexFollowsAddUpdateAndDelete() {
+        Book book = bookService.addBook(newBook("Quixotic Voyages", "Cervantes"));
+        assertEquals(List.of(book.getId()), ids("quixotic"));
+
+        bookService.updateBook(book.getId(), newBook("Zanzibar Chronicles", "Cervantes"));
+        assertTrue(ids("quixotic").isEmpty());
+        assertEquals(List.of(book.getId()), ids("zanzibar"));
+
+        bookService.deleteBook(book.getId());
+        assertTrue(ids("zanzibar").isEmpty());
+    }
+
+    @Test
+    void testRolledBackUpdateIsNotIndexed() {
+        Book book = bookService.addBook(newBook("Xylophone Methods", "Orff"));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            bookService.updateBook(book.getId(), newBook("Marimba Methods", "Orff"));
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertTrue(ids("marimba").isEmpty());
+        assertEquals(List.of(book.getId()), ids("xylophone"));
+    }
+
+    @Test
+    void testImportedBooksAreIndexed() {
+        bookService.importBooks(List.of(newBook("Quasar Atlas", "Hubble"), newBook("Quasar Survey", "Hubble")));
+
+        assertEquals(2, ids("quasar").size());
+    }
+
+    @Test
+    void testImportTouchesOnlyItsOwnBooks() {
+        Book claimed = newBook("Pulsar Timing", "Bell");
+        claimed.setInsertBy(42);  // Not trusted without an X-User-Id header
+
+        ImportResult result = bookService.importBooks(List.of(newBook("Pulsar Catalog", "Bell"), claimed));
+        Book added = bookService.addBook(newBook("Pulsar Glitches", "Bell"));  // After the import: its own copy
+
+        assertEquals(2, result.getIds().size());
+        assertEquals(Set.of(result.getIds().get(0), result.getIds().get(1), added.getId()), Set.copyOf(ids("pulsar")));
+        for (Long id : result.getIds()) {
+            assertEquals(1, bookService.getCopies(id).getCopies());
+            assertNull(bookService.getBookById(id).getInsertBy());
+        }
+        assertEquals(1, bookService.getCopies(added.getId()).getCopies());
+    }
+
+    private List<Long> ids(String query) {
+        return bookSearchService.search(query, null).stream().map(Book::getId).toList();
+    }
+
+    private static Book newBook(String title, String author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
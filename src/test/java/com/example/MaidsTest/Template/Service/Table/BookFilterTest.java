@@ -0,0 +1,138 @@
+package com.example.MaidsTest.Template.Service.Table;
+
+import com.example.MaidsTest.Template.API.Request.Book.CBookFilterRequest;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the book list filters and sorts of {@link BookService#findBooks}.
+ * <p>
+ * The books of each test get a page count no other test uses, and every filter includes that page range,
+ * so the results do not depend on what other tests left in the shared database.
+ * </p>
+ */
+@SpringBootTest
+public class BookFilterTest {
+
+    private static final AtomicInteger NEXT_PAGES = new AtomicInteger(50_000);
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> ids;
+
+    private int pages;
+
+    @BeforeEach
+    void setUp() {
+        pages = NEXT_PAGES.getAndIncrement();
+        ids = new ArrayList<>();
+
+        // price, publicationYear, available
+        ids.add(save(25.0, 2012, true));   // 0
+        ids.add(save(35.0, 2015, true));   // 1 - too expensive
+        ids.add(save(10.0, 2018, true));   // 2
+        ids.add(save(20.0, 2005, true));   // 3 - too old
+        ids.add(save(15.0, 2020, false));  // 4 - borrowed
+        ids.add(save(29.0, 2010, true));   // 5
+    }
+
+    @Test
+    void testFiltersAndSortArePushedIntoOneQuery() {
+        CBookFilterRequest request = filter();
+        request.setAvailable(true);
+        request.setYearFrom(2010);
+        request.setYearTo(2020);
+        request.setMaxPrice(30.0);
+        request.setSort("-price");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<CBookDTO> books = bookService.findBooks(request);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(ids.get(5), ids.get(0), ids.get(2)), books.map(CBookDTO::getId).getContent());
+        assertFalse(books.hasNext());
+    }
+
+    @Test
+    void testUnavailableFilterAndPaging() {
+        CBookFilterRequest request = filter();
+        request.setAvailable(false);
+        assertEquals(List.of(ids.get(4)), bookService.findBooks(request).map(CBookDTO::getId).getContent());
+
+        CBookFilterRequest page = filter();
+        page.setSort("year");
+        page.setSize(2);
+        page.setPage(1);
+
+        Slice<CBookDTO> books = bookService.findBooks(page);
+        assertEquals(List.of(ids.get(0), ids.get(1)), books.map(CBookDTO::getId).getContent());
+        assertTrue(books.hasNext());
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() {
+        CBookFilterRequest invertedRange = filter();
+        invertedRange.setMinPrice(30.0);
+        invertedRange.setMaxPrice(10.0);
+        assertThrows(IllegalArgumentException.class, () -> bookService.findBooks(invertedRange));
+
+        CBookFilterRequest unknownSort = filter();
+        unknownSort.setSort("author");
+        assertThrows(IllegalArgumentException.class, () -> bookService.findBooks(unknownSort));
+
+        CBookFilterRequest cursorWithSort = filter();
+        cursorWithSort.setSort("price");
+        cursorWithSort.setAfter(1L);
+        assertThrows(IllegalArgumentException.class, () -> bookService.findBooks(cursorWithSort));
+    }
+
+    /** A filter restricted to the books of the current test. */
+    private CBookFilterRequest filter() {
+        CBookFilterRequest request = new CBookFilterRequest();
+        request.setMinPages(pages);
+        request.setMaxPages(pages);
+        return request;
+    }
+
+    private Long save(double price, int publicationYear, boolean available) {
+        Book book = new Book();
+        book.setTitle("Filtered Book");
+        book.setPages(pages);
+        book.setPrice(price);
+        book.setPublicationYear(publicationYear);
+        book = bookService.addBook(book);
+
+        if (!available) {
+            book.setAvailable(false);
+            bookRepository.save(book);
+        }
+        return book.getId();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.MaidsTest.Template.Service.Table;
+
+import com.example.MaidsTest.Template.Exception.BookAlreadyBorrowedException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.BorrowingRecord;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import com.example.MaidsTest.Template.Repository.Table.BorrowingRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for {@link BorrowingRecordService#borrowBook(Long, Long)}.
+ * <p>
+ * Many patrons race to borrow the same book at the same instant. With a single copy exactly one of them must win,
+ * every other one must get a {@link BookAlreadyBorrowedException}, and exactly one open
+ * borrowing record may exist afterwards. With several copies every copy goes to exactly one winner. A return racing
+ * the borrow of the last free copy must leave the book available, since the returned copy is free, and borrows taking
+ * every copy at once must leave it borrowed.
+ * </p>
+ */
+@SpringBootTest
+public class BorrowBookConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ROUNDS = 20;
+
+    private static final int COPIES = 5;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BorrowingRecordRepository borrowingRecordRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private ExecutorService executor;
+
+    private final List<Patron> patrons = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < THREADS; i++) {
+            Patron patron = new Patron();
+            patron.setName("Patron " + i);
+            patron.setPhoneNumber("0123456789");
+            patron.setAddress("Address");
+            patrons.add(patronService.addPatron(patron));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testExactlyOneConcurrentBorrowWins() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Book book = new Book();
+            book.setTitle("Contended Book " + round);
+            Long bookId = bookService.addBook(book).getId();
+
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger winners = new AtomicInteger();
+            AtomicInteger losers = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (Patron patron : patrons) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        borrowingRecordService.borrowBook(bookId, patron.getId());
+                        winners.incrementAndGet();
+                    } catch (BookAlreadyBorrowedException ex) {
+                        losers.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();  // Release all borrowers at once
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);  // Any unexpected exception fails the test here
+            }
+
+            assertEquals(1, winners.get(), "round " + round);
+            assertEquals(THREADS - 1, losers.get(), "round " + round);
+            assertEquals(1, borrowingRecordRepository.findOpenByBookId(bookId).size());
+            assertFalse(bookService.getBookById(bookId).getAvailable());
+        }
+    }
+
+    @Test
+    void testReturnRacingLastCopyBorrowLeavesBookAvailable() throws Exception {
+        Patron returner = patrons.get(0);
+        Patron borrower = patrons.get(1);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Book book = new Book();
+            book.setTitle("Returned Book " + round);
+            Long bookId = bookService.addBook(book).getId();
+            bookService.addCopies(bookId, 1);
+            borrowingRecordService.borrowBook(bookId, returner.getId());  // The other copy is the last free one
+
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> returning = executor.submit(() -> {
+                start.await();
+                return borrowingRecordService.returnBook(bookId, returner.getId());
+            });
+            Future<?> borrowing = executor.submit(() -> {
+                start.await();
+                return borrowingRecordService.borrowBook(bookId, borrower.getId());
+            });
+
+            start.countDown();  // Release both at once
+            returning.get(30, TimeUnit.SECONDS);
+            borrowing.get(30, TimeUnit.SECONDS);
+
+            assertEquals(1, borrowingRecordRepository.findOpenByBookId(bookId).size(), "round " + round);
+            assertEquals(1, bookService.getCopies(bookId).getAvailableCopies(), "round " + round);
+            assertTrue(bookService.getBookById(bookId).getAvailable(), "round " + round);
+        }
+    }
+
+    @Test
+    void testBorrowsOfEveryCopyLeaveBookBorrowed() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Book book = new Book();
+            book.setTitle("Emptied Book " + round);
+            Long bookId = bookService.addBook(book).getId();
+            bookService.addCopies(bookId, COPIES - 1);
+
+            // As many borrowers as copies: each takes a copy while the others' copies are not committed yet
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Patron patron : patrons.subList(0, COPIES)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return borrowingRecordService.borrowBook(bookId, patron.getId());
+                }));
+            }
+
+            start.countDown();  // Release all borrowers at once
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(0, bookService.getCopies(bookId).getAvailableCopies(), "round " + round);
+            assertFalse(bookRepository.findById(bookId).orElseThrow().getAvailable(), "round " + round);
+        }
+    }
+
+    @Test
+    void testConcurrentBorrowsTakeDistinctCopies() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            Book book = new Book();
+            book.setTitle("Popular Book " + round);
+            Long bookId = bookService.addBook(book).getId();
+            bookService.addCopies(bookId, COPIES - 1);
+
+            CountDownLatch start = new CountDownLatch(1);
+            Set<Long> copyIds = ConcurrentHashMap.newKeySet();
+            AtomicInteger losers = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (Patron patron : patrons) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        BorrowingRecord record = borrowingRecordService.borrowBook(bookId, patron.getId());
+                        assertTrue(copyIds.add(record.getCopyId().getId()), "copy allocated twice");
+                    } catch (BookAlreadyBorrowedException ex) {
+                        losers.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();  // Release all borrowers at once
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(COPIES, copyIds.size(), "round " + round);
+            assertEquals(THREADS - COPIES, losers.get(), "round " + round);
+            assertEquals(0, bookService.getCopies(bookId).getAvailableCopies());
+            assertFalse(bookService.getBookById(bookId).getAvailable());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.MaidsTest.Template.Service.Table;
+
+import com.example.MaidsTest.Template.Exception.BookAlreadyBorrowedException;
+import com.example.MaidsTest.Template.Exception.BookNotFoundException;
+import com.example.MaidsTest.Template.Exception.PatronNotFoundException;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for the coherence of the "book" and "patron" caches.
+ * <p>
+ * Each test first warms the cache through the {@code getXById} read path, then runs a mutation
+ * through the service layer and verifies that the next cached read reflects the committed state.
+ * </p>
+ */
+@SpringBootTest
+public class CacheCoherenceTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Book book;
+
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setTitle("Cached Book");
+        book.setAuthor("Author");
+        book = bookService.addBook(book);
+
+        patron = new Patron();
+        patron.setName("Patron");
+        patron.setPhoneNumber("0123456789");
+        patron.setAddress("Address");
+        patron = patronService.addPatron(patron);
+    }
+
+    @Test
+    void testBorrowAndReturnRefreshAvailability() {
+        assertTrue(bookService.getBookById(book.getId()).getAvailable());
+        assertNotNull(cacheManager.getCache("book").get(book.getId()));  // The read above populated the cache
+
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+
+        borrowingRecordService.returnBook(book.getId(), patron.getId());
+        assertTrue(bookService.getBookById(book.getId()).getAvailable());
+    }
+
+    @Test
+    void testFailedBorrowKeepsCachedEntry() {
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+
+        assertThrows(BookAlreadyBorrowedException.class,
+                () -> borrowingRecordService.borrowBook(book.getId(), patron.getId()));
+
+        // The rolled back borrow must neither evict nor corrupt the entry.
+        assertNotNull(cacheManager.getCache("book").get(book.getId()));
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+    }
+
+    @Test
+    void testUpdateBookWritesThrough() {
+        bookService.getBookById(book.getId());
+
+        Book details = new Book();
+        details.setTitle("Renamed Book");
+        details.setAuthor("Author");
+        bookService.updateBook(book.getId(), details);
+
+        assertEquals("Renamed Book", bookService.getBookById(book.getId()).getTitle());
+    }
+
+    @Test
+    void testUpdateRacingBorrowKeepsAvailability() throws Exception {
+        bookService.getBookById(book.getId());
+
+        Book details = new Book();
+        details.setTitle("Renamed Book");
+
+        // The update reads the book, then its transaction stays open while the borrow takes the only copy
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch updated = new CountDownLatch(1);
+        try {
+            Future<?> borrow = executor.submit(() -> {
+                updated.await();
+                return borrowingRecordService.borrowBook(book.getId(), patron.getId());
+            });
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bookService.updateBook(book.getId(), details);
+                updated.countDown();
+                try {
+                    Thread.sleep(500);  // A borrow not blocked by the update commits meanwhile
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            borrow.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The update must neither write back nor cache the availability it read before the borrow
+        Book cached = bookService.getBookById(book.getId());
+        assertEquals("Renamed Book", cached.getTitle());
+        assertFalse(cached.getAvailable());
+        cacheManager.getCache("book").evict(book.getId());
+        assertFalse(bookService.getBookById(book.getId()).getAvailable());
+    }
+
+    @Test
+    void testDeleteBookEvicts() {
+        bookService.getBookById(book.getId());
+
+        bookService.deleteBook(book.getId());
+
+        assertNull(cacheManager.getCache("book").get(book.getId()));
+        assertThrows(BookNotFoundException.class, () -> bookService.getBookById(book.getId()));
+    }
+
+    @Test
+    void testUpdateAndDeletePatron() {
+        patronService.getPatronById(patron.getId());
+
+        Patron details = new Patron();
+        details.setName("Renamed Patron");
+        details.setPhoneNumber("0123456789");
+        details.setAddress("Address");
+        patronService.updatePatron(patron.getId(), details);
+        assertEquals("Renamed Patron", patronService.getPatronById(patron.getId()).getName());
+
+        patronService.deletePatron(patron.getId());
+        assertThrows(PatronNotFoundException.class, () -> patronService.getPatronById(patron.getId()));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.MaidsTest.Template.Service.Table;
+
+import com.example.MaidsTest.Base.API.Request.CPageRequest;
+import com.example.MaidsTest.Template.API.Response.DTO.CBookDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CBorrowingRecordDTO;
+import com.example.MaidsTest.Template.API.Response.DTO.CPatronDTO;
+import com.example.MaidsTest.Template.Model.Table.Book;
+import com.example.MaidsTest.Template.Model.Table.Patron;
+import com.example.MaidsTest.Template.Repository.Table.BookRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of SQL statements sent by each service operation behind the REST endpoints.
+ * <p>
+ * Statements are counted with the Hibernate statistics ({@code hibernate.generate_statistics} is enabled in the
+ * test configuration). A change in any of these numbers means a query was added to or removed from the path,
+ * and the expected value should only be updated on purpose. The outbox rows appended by the mutations go through
+ * {@code JdbcTemplate}, outside of these statistics, as one extra INSERT per operation.
+ * </p>
+ */
+@SpringBootTest
+public class QueryCountTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PatronService patronService;
+
+    @Autowired
+    private BorrowingRecordService borrowingRecordService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Book book;
+
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        book = new Book();
+        book.setTitle("Counted Book");
+        book = bookService.addBook(book);
+
+        patron = new Patron();
+        patron.setName("Counted Patron");
+        patron = patronService.addPatron(patron);
+    }
+
+    @Test
+    void testGetBookById() {
+        assertEquals(1, countStatements(() -> bookService.getBookById(book.getId())));  // Cache miss
+        assertEquals(0, countStatements(() -> bookService.getBookById(book.getId())));  // Cache hit
+    }
+
+    @Test
+    void testUpdateBook() {
+        Book details = new Book();
+        details.setTitle("Updated");
+
+        // SELECT FOR UPDATE + UPDATE of the changed columns
+        assertEquals(2, countStatements(() -> bookService.updateBook(book.getId(), details)));
+    }
+
+    @Test
+    void testDeleteBook() {
+        // DELETE only
+        assertEquals(1, countStatements(() -> bookService.deleteBook(book.getId())));
+    }
+
+    @Test
+    void testUpdatePatron() {
+        Patron details = new Patron();
+        details.setName("Updated");
+
+        // SELECT + UPDATE
+        assertEquals(2, countStatements(() -> patronService.updatePatron(patron.getId(), details)));
+    }
+
+    @Test
+    void testDeletePatron() {
+        // DELETE only
+        assertEquals(1, countStatements(() -> patronService.deletePatron(patron.getId())));
+    }
+
+    @Test
+    void testBorrowAndReturnBook() {
+        // SELECT free copy (SKIP LOCKED) + SELECT patron + UPDATE copy + SELECT book FOR UPDATE
+        // + conditional UPDATE of the book (its last copy) + INSERT record
+        assertEquals(6, countStatements(() -> borrowingRecordService.borrowBook(book.getId(), patron.getId())));
+
+        // SELECT record with its book, patron and copy + SELECT book FOR UPDATE (hold hand-over) + UPDATE record
+        // + UPDATE copy + UPDATE book
+        assertEquals(5, countStatements(() -> borrowingRecordService.returnBook(book.getId(), patron.getId())));
+    }
+
+    @Test
+    void testBorrowWithFreeCopiesLeftKeepsTheBookAvailable() {
+        bookService.addCopies(book.getId(), 1);
+
+        // SELECT free copy (SKIP LOCKED) + SELECT patron + UPDATE copy + SELECT book FOR UPDATE
+        // + conditional UPDATE of the book (matches no row) + INSERT record
+        assertEquals(6, countStatements(() -> borrowingRecordService.borrowBook(book.getId(), patron.getId())));
+        assertTrue(bookRepository.findById(book.getId()).orElseThrow().getAvailable());
+
+        // SELECT record with its book, patron and copy + SELECT book FOR UPDATE (hold hand-over) + UPDATE record
+        // + UPDATE copy + UPDATE book
+        assertEquals(5, countStatements(() -> borrowingRecordService.returnBook(book.getId(), patron.getId())));
+    }
+
+    @Test
+    void testLoanHistoryPageIsOneQuery() {
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+        borrowingRecordService.returnBook(book.getId(), patron.getId());
+        borrowingRecordService.borrowBook(book.getId(), patron.getId());
+
+        CPageRequest pageRequest = new CPageRequest();
+        pageRequest.setSize(10);
+
+        // One SELECT with the book and patron joined, projected straight into the DTO
+        assertEquals(1, countStatements(() -> {
+            Slice<CBorrowingRecordDTO> records = borrowingRecordService.getPatronBorrowings(patron.getId(), pageRequest);
+            List<CBorrowingRecordDTO> dtos = records.getContent();
+            assertEquals(2, dtos.size());
+            assertEquals("Counted Book", dtos.get(0).getTitle());
+        }));
+
+        assertEquals(1, countStatements(() -> {
+            Slice<CBorrowingRecordDTO> records = borrowingRecordService.getBookBorrowings(book.getId(), pageRequest);
+            List<CBorrowingRecordDTO> dtos = records.getContent();
+            assertEquals("Counted Patron", dtos.get(1).getName());
+        }));
+    }
+
+    @Test
+    void testListPagesAreProjectedWithoutLoadingEntities() {
+        CPageRequest pageRequest = new CPageRequest();
+        pageRequest.setSize(10);
+        pageRequest.setAfter(book.getId() - 1);
+
+        // One SELECT of the DTO columns; no row becomes a managed entity
+        assertEquals(1, countStatements(() -> {
+            Slice<CBookDTO> books = bookService.getBooks(pageRequest);
+            assertEquals(book.getId(), books.getContent().get(0).getId());
+            assertEquals("Counted Book", books.getContent().get(0).getTitle());
+        }));
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        pageRequest.setAfter(patron.getId() - 1);
+        assertEquals(1, countStatements(() -> {
+            Slice<CPatronDTO> patrons = patronService.getPatrons(pageRequest);
+            assertEquals(patron.getId(), patrons.getContent().get(0).getId());
+            assertEquals("Counted Patron", patrons.getContent().get(0).getName());
+        }));
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}